@@ -0,0 +1,24 @@
+package net.zerobuilder.examples.beans;
+
+import net.zerobuilder.BeanBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// large setterless collections
+@BeanBuilder
+public class Catalog {
+
+  private final List<String> entries = new ArrayList<>();
+  private final Set<String> tags = new HashSet<>();
+
+  public List<String> getEntries() {
+    return entries;
+  }
+
+  public Set<String> getTags() {
+    return tags;
+  }
+}
@@ -0,0 +1,30 @@
+package net.zerobuilder.examples.beans.more;
+
+import net.zerobuilder.BeanBuilder;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// setterless collection that stands in for a lazily loaded association
+@BeanBuilder(lazyCollections = true)
+public class LazyHotel {
+
+  private String name;
+  private final Set<String> reviews = new LinkedHashSet<>();
+
+  // counts the reads of the collection, like the round trips of a lazy load
+  int loads;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public Set<String> getReviews() {
+    loads++;
+    return reviews;
+  }
+}
@@ -0,0 +1,32 @@
+package net.zerobuilder.examples.generics;
+
+import net.zerobuilder.Builder;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// generics builders with a single mutable step implementation
+final class MutableEntry<S extends CharSequence> {
+
+  private final S prefix;
+
+  MutableEntry(S prefix) {
+    this.prefix = prefix;
+  }
+
+  @Builder(mutable = true)
+  <K extends Comparable<K>, V> Map.Entry<K, String> entry(K key, V value) {
+    return new SimpleEntry<>(key, prefix + String.valueOf(value));
+  }
+
+  @Builder(mutable = true)
+  static <K, V> Map<K, V> multiKey(List<K> keys, V value) {
+    Map<K, V> m = new HashMap<>();
+    for (K key : keys) {
+      m.put(key, value);
+    }
+    return m;
+  }
+}
@@ -0,0 +1,15 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.RecordBuilder;
+import net.zerobuilder.RecordUpdater;
+
+// updater patches, for queueing changes of a few components
+// see AccountTest
+@RecordBuilder
+@RecordUpdater(patches = true)
+record Account(
+    String owner,
+    long balance,
+    String currency,
+    boolean frozen) {
+}
@@ -0,0 +1,34 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.Updater;
+
+import java.io.IOException;
+
+// lazy updater
+// see DocumentTest
+final class Document {
+
+  private final String title;
+  private final String body;
+
+  int reads;
+
+  @Updater(lazy = true)
+  Document(String title, String body) {
+    this.title = title;
+    this.body = body;
+  }
+
+  String getTitle() {
+    reads++;
+    return title;
+  }
+
+  String getBody() throws IOException {
+    reads++;
+    if (body == null) {
+      throw new IOException("not loaded");
+    }
+    return body;
+  }
+}
@@ -0,0 +1,17 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.RecordBuilder;
+import net.zerobuilder.RecordUpdater;
+
+import java.util.List;
+
+// identity preserving updater
+// see EventTest
+@RecordBuilder
+@RecordUpdater(preserveIdentity = true)
+record Event(
+    String id,
+    long timestamp,
+    double value,
+    List<String> tags) {
+}
@@ -0,0 +1,12 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.RecordBuilder;
+
+// batch builder, for creating many records from columns
+// see ExecutionTest
+@RecordBuilder(batch = true)
+record Execution(
+    String symbol,
+    long quantity,
+    double price) {
+}
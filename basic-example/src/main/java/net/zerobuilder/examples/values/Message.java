@@ -1,10 +1,10 @@
 package net.zerobuilder.examples.values;
 
+import java.util.Objects;
 import net.zerobuilder.Builder;
-import net.zerobuilder.Recycle;
 import net.zerobuilder.Updater;
 
-// direct field access
+// direct field access, reuse
 // see MessageTest
 final class Message {
 
@@ -13,8 +13,8 @@ final class Message {
   final String recipient;
   final String subject;
 
-  @Builder
-  @Updater
+  @Builder(reuse = true)
+  @Updater(reuse = true)
   Message(String sender,
           String body,
           String recipient,
@@ -22,6 +22,6 @@ final class Message {
     this.sender = sender;
     this.body = body;
     this.recipient = recipient;
-    this.subject = subject;
+    this.subject = Objects.requireNonNull(subject);
   }
 }
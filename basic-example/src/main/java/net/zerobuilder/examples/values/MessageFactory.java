@@ -1,7 +1,6 @@
 package net.zerobuilder.examples.values;
 
 import net.zerobuilder.Builder;
-import net.zerobuilder.Recycle;
 import net.zerobuilder.Updater;
 
 // non-static goal
@@ -15,7 +14,7 @@ final class MessageFactory {
     this.sender = sender;
   }
 
-  @Builder
+  @Builder(reuse = true)
   Message create(String body, String recipient, String subject) {
     return MessageFactory_MessageBuilders.messageBuilder()
         .sender(sender)
@@ -31,7 +30,7 @@ final class MessageFactory {
     final String subject;
 
     @Builder
-    @Updater
+    @Updater(reuse = true)
     Message(String sender, String body, String recipient, String subject) {
       this.sender = sender;
       this.body = body;
@@ -0,0 +1,13 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.RecordBuilder;
+
+// interning builder: equal components return the same instance
+// see QuoteTest
+@RecordBuilder(intern = true)
+record Quote(
+    String symbol,
+    String venue,
+    long price,
+    int size) {
+}
@@ -0,0 +1,13 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.RecordBuilder;
+
+// slot builder, for setting the components by name
+// see ReadingTest
+@RecordBuilder(slots = true)
+record Reading(
+    String sensor,
+    long timestamp,
+    double value,
+    boolean calibrated) {
+}
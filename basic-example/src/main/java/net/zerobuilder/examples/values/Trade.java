@@ -0,0 +1,13 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.RecordBuilder;
+
+// columnar container, one array per component
+// see TradeTest
+@RecordBuilder(columns = true)
+record Trade(
+    String symbol,
+    long time,
+    double price,
+    short size) {
+}
@@ -0,0 +1,69 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.RecordBuilder;
+
+// a wide record with one step interface per component
+// see CompactTest
+@RecordBuilder
+record Wide(
+    String c00,
+    int c01,
+    long c02,
+    String c03,
+    int c04,
+    long c05,
+    String c06,
+    int c07,
+    long c08,
+    String c09,
+    int c10,
+    long c11,
+    String c12,
+    int c13,
+    long c14,
+    String c15,
+    int c16,
+    long c17,
+    String c18,
+    int c19,
+    long c20,
+    String c21,
+    int c22,
+    long c23,
+    String c24,
+    int c25,
+    long c26,
+    String c27,
+    int c28,
+    long c29,
+    String c30,
+    int c31,
+    long c32,
+    String c33,
+    int c34,
+    long c35,
+    String c36,
+    int c37,
+    long c38,
+    String c39,
+    int c40,
+    long c41,
+    String c42,
+    int c43,
+    long c44,
+    String c45,
+    int c46,
+    long c47,
+    String c48,
+    int c49,
+    long c50,
+    String c51,
+    int c52,
+    long c53,
+    String c54,
+    int c55,
+    long c56,
+    String c57,
+    int c58,
+    long c59) {
+}
@@ -0,0 +1,51 @@
+package net.zerobuilder.examples.beans;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static net.zerobuilder.examples.beans.CatalogBuilders.catalogBuilder;
+import static net.zerobuilder.examples.beans.CatalogBuilders.catalogUpdater;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CatalogTest {
+
+  @Test
+  public void collections() {
+    Catalog catalog = catalogBuilder()
+        .entries(List.of("a", "b", "c"))
+        .tags(Set.of("x", "y"));
+    assertEquals(List.of("a", "b", "c"), catalog.getEntries());
+    assertEquals(Set.of("x", "y"), catalog.getTags());
+  }
+
+  @Test
+  public void iterables() {
+    List<String> entries = List.of("a", "b", "c");
+    Set<String> tags = Set.of("x", "y");
+    Catalog catalog = catalogBuilder()
+        .entries(entries::iterator)
+        .tags(tags::iterator);
+    assertEquals(entries, catalog.getEntries());
+    assertEquals(tags, catalog.getTags());
+  }
+
+  @Test
+  public void updater() {
+    Catalog catalog = catalogBuilder()
+        .entries(List.of("a", "b"))
+        .tags(Set.of("x"));
+    Catalog copy = catalogUpdater(catalog)
+        .tags(List.of("y", "z"))
+        .done();
+    assertEquals(List.of("a", "b"), copy.getEntries());
+    assertEquals(Set.of("y", "z"), copy.getTags());
+    Iterable<String> iterable = List.of("c")::iterator;
+    Catalog copy2 = catalogUpdater(copy)
+        .entries(iterable)
+        .done();
+    assertEquals(List.of("c"), copy2.getEntries());
+    assertEquals(Set.of("y", "z"), copy2.getTags());
+  }
+}
@@ -0,0 +1,40 @@
+package net.zerobuilder.examples.beans.more;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static net.zerobuilder.examples.beans.more.LazyHotelBuilders.lazyHotelBuilder;
+import static net.zerobuilder.examples.beans.more.LazyHotelBuilders.lazyHotelUpdater;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LazyHotelTest {
+
+  @Test
+  public void scalarUpdateDoesNotLoad() {
+    LazyHotel hotel = lazyHotelBuilder()
+        .name("Bath Travelodge")
+        .reviews(List.of("clean", "quiet"));
+    hotel.loads = 0;
+    LazyHotel renamed = lazyHotelUpdater(hotel)
+        .name("Bath Lodge")
+        .done();
+    assertEquals(0, hotel.loads);
+    assertEquals("Bath Lodge", renamed.getName());
+    assertTrue(renamed.getReviews().isEmpty());
+  }
+
+  @Test
+  public void collectionStep() {
+    LazyHotel hotel = lazyHotelBuilder()
+        .name("Bath Travelodge")
+        .reviews(List.of("clean"));
+    LazyHotel updated = lazyHotelUpdater(hotel)
+        .reviews(hotel.getReviews())
+        .done();
+    assertEquals("Bath Travelodge", updated.getName());
+    assertEquals(Set.of("clean"), updated.getReviews());
+  }
+}
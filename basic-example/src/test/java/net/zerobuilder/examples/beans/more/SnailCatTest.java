@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 
 import static net.zerobuilder.examples.beans.more.SnailCatBuilders.snailCatBuilder;
 import static net.zerobuilder.examples.beans.more.SnailCatBuilders.snailCatUpdater;
+import static net.zerobuilder.examples.beans.more.SnailCatBuilders.withAge;
+import static net.zerobuilder.examples.beans.more.SnailCatBuilders.withExecutive;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -32,4 +34,16 @@ class SnailCatTest {
     assertEquals(List.of("entry0", "entry1"), updated.notes());
     assertTrue(updated.isExecutive());
   }
+
+  @Test
+  void testWithers() {
+    SnailCat<String> peter = snailCatBuilder()
+        .name("Peter")
+        .age(36)
+        .notes(List.of("entry"))
+        .executive(false);
+    SnailCat<String> updated = withExecutive(withAge(peter, 37), true);
+    assertEquals(36, peter.age());
+    assertEquals(new SnailCat<>("Peter", 37, List.of("entry"), true), updated);
+  }
 }
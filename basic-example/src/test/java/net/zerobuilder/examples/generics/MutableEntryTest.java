@@ -0,0 +1,29 @@
+package net.zerobuilder.examples.generics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MutableEntryTest {
+
+  @Test
+  void entry() {
+    MutableEntry<String> instance = new MutableEntry<>("x");
+    Map.Entry<Integer, String> entry = MutableEntryBuilders.entryBuilder(instance)
+        .key(1)
+        .value(2L);
+    assertEquals(1, entry.getKey());
+    assertEquals("x2", entry.getValue());
+  }
+
+  @Test
+  void multiKey() {
+    Map<String, Integer> map = MutableEntryBuilders.mapBuilder()
+        .keys(List.of("a", "b"))
+        .value(1);
+    assertEquals(Map.of("a", 1, "b", 1), map);
+  }
+}
@@ -0,0 +1,39 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.examples.values.AccountBuilders.AccountPatch;
+import org.junit.jupiter.api.Test;
+
+import static net.zerobuilder.examples.values.AccountBuilders.accountUpdater;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AccountTest {
+
+  private final Account alice = new Account("alice", 10L, "EUR", false);
+  private final Account bob = new Account("bob", 20L, "USD", false);
+
+  @Test
+  public void apply() {
+    AccountPatch patch = accountUpdater(alice).balance(15L).patch();
+    assertEquals(new Account("alice", 15L, "EUR", false), patch.apply(alice));
+    assertEquals(new Account("bob", 15L, "USD", false), patch.apply(bob));
+  }
+
+  @Test
+  public void emptyPatch() {
+    AccountPatch patch = accountUpdater(alice).patch();
+    assertEquals(bob, patch.apply(bob));
+  }
+
+  @Test
+  public void merge() {
+    AccountPatch first = accountUpdater(alice).balance(1L).currency("CHF").patch();
+    AccountPatch second = accountUpdater(alice).balance(2L).frozen(true).patch();
+    assertEquals(new Account("bob", 2L, "CHF", true), first.merge(second).apply(bob));
+    assertEquals(new Account("bob", 1L, "CHF", true), second.merge(first).apply(bob));
+  }
+
+  @Test
+  public void updaterStillBuilds() {
+    assertEquals(new Account("carol", 10L, "EUR", false), accountUpdater(alice).owner("carol").build());
+  }
+}
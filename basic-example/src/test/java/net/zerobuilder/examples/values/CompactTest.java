@@ -0,0 +1,278 @@
+package net.zerobuilder.examples.values;
+
+import org.junit.jupiter.api.Test;
+
+import static net.zerobuilder.examples.values.CompactWideBuilders.compactWideBuilder;
+import static net.zerobuilder.examples.values.WideBuilders.wideBuilder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompactTest {
+
+  @Test
+  void sameValues() {
+    Wide wide = wideBuilder()
+        .c00("s0")
+        .c01(1)
+        .c02(2L)
+        .c03("s3")
+        .c04(4)
+        .c05(5L)
+        .c06("s6")
+        .c07(7)
+        .c08(8L)
+        .c09("s9")
+        .c10(10)
+        .c11(11L)
+        .c12("s12")
+        .c13(13)
+        .c14(14L)
+        .c15("s15")
+        .c16(16)
+        .c17(17L)
+        .c18("s18")
+        .c19(19)
+        .c20(20L)
+        .c21("s21")
+        .c22(22)
+        .c23(23L)
+        .c24("s24")
+        .c25(25)
+        .c26(26L)
+        .c27("s27")
+        .c28(28)
+        .c29(29L)
+        .c30("s30")
+        .c31(31)
+        .c32(32L)
+        .c33("s33")
+        .c34(34)
+        .c35(35L)
+        .c36("s36")
+        .c37(37)
+        .c38(38L)
+        .c39("s39")
+        .c40(40)
+        .c41(41L)
+        .c42("s42")
+        .c43(43)
+        .c44(44L)
+        .c45("s45")
+        .c46(46)
+        .c47(47L)
+        .c48("s48")
+        .c49(49)
+        .c50(50L)
+        .c51("s51")
+        .c52(52)
+        .c53(53L)
+        .c54("s54")
+        .c55(55)
+        .c56(56L)
+        .c57("s57")
+        .c58(58)
+        .c59(59L);
+    CompactWide compact = compactWideBuilder()
+        .set("s0")
+        .set(1)
+        .set(2L)
+        .set("s3")
+        .set(4)
+        .set(5L)
+        .set("s6")
+        .set(7)
+        .set(8L)
+        .set("s9")
+        .set(10)
+        .set(11L)
+        .set("s12")
+        .set(13)
+        .set(14L)
+        .set("s15")
+        .set(16)
+        .set(17L)
+        .set("s18")
+        .set(19)
+        .set(20L)
+        .set("s21")
+        .set(22)
+        .set(23L)
+        .set("s24")
+        .set(25)
+        .set(26L)
+        .set("s27")
+        .set(28)
+        .set(29L)
+        .set("s30")
+        .set(31)
+        .set(32L)
+        .set("s33")
+        .set(34)
+        .set(35L)
+        .set("s36")
+        .set(37)
+        .set(38L)
+        .set("s39")
+        .set(40)
+        .set(41L)
+        .set("s42")
+        .set(43)
+        .set(44L)
+        .set("s45")
+        .set(46)
+        .set(47L)
+        .set("s48")
+        .set(49)
+        .set(50L)
+        .set("s51")
+        .set(52)
+        .set(53L)
+        .set("s54")
+        .set(55)
+        .set(56L)
+        .set("s57")
+        .set(58)
+        .set(59L);
+    assertEquals(wide.toString(), compact.toString().replace("CompactWide", "Wide"));
+  }
+
+  @Test
+  void classCount() {
+    // builders class, impl, contract and one interface per component
+    assertEquals(63, WideBuilders.class.getNestMembers().length);
+    // builders class and impl
+    assertEquals(2, CompactWideBuilders.class.getNestMembers().length);
+  }
+
+  @Test
+  void finalStepOnlyOnce() {
+    var step = compactWideBuilder()
+        .set("s0")
+        .set(1)
+        .set(2L)
+        .set("s3")
+        .set(4)
+        .set(5L)
+        .set("s6")
+        .set(7)
+        .set(8L)
+        .set("s9")
+        .set(10)
+        .set(11L)
+        .set("s12")
+        .set(13)
+        .set(14L)
+        .set("s15")
+        .set(16)
+        .set(17L)
+        .set("s18")
+        .set(19)
+        .set(20L)
+        .set("s21")
+        .set(22)
+        .set(23L)
+        .set("s24")
+        .set(25)
+        .set(26L)
+        .set("s27")
+        .set(28)
+        .set(29L)
+        .set("s30")
+        .set(31)
+        .set(32L)
+        .set("s33")
+        .set(34)
+        .set(35L)
+        .set("s36")
+        .set(37)
+        .set(38L)
+        .set("s39")
+        .set(40)
+        .set(41L)
+        .set("s42")
+        .set(43)
+        .set(44L)
+        .set("s45")
+        .set(46)
+        .set(47L)
+        .set("s48")
+        .set(49)
+        .set(50L)
+        .set("s51")
+        .set(52)
+        .set(53L)
+        .set("s54")
+        .set(55)
+        .set(56L)
+        .set("s57")
+        .set(58);
+    step.set(59L);
+    assertThrows(IllegalStateException.class, () -> step.set(59L));
+  }
+
+  @Test
+  void reusedStep() {
+    var step = compactWideBuilder().set("s0");
+    step.set(1)
+        .set(2L)
+        .set("s3")
+        .set(4)
+        .set(5L)
+        .set("s6")
+        .set(7)
+        .set(8L)
+        .set("s9")
+        .set(10)
+        .set(11L)
+        .set("s12")
+        .set(13)
+        .set(14L)
+        .set("s15")
+        .set(16)
+        .set(17L)
+        .set("s18")
+        .set(19)
+        .set(20L)
+        .set("s21")
+        .set(22)
+        .set(23L)
+        .set("s24")
+        .set(25)
+        .set(26L)
+        .set("s27")
+        .set(28)
+        .set(29L)
+        .set("s30")
+        .set(31)
+        .set(32L)
+        .set("s33")
+        .set(34)
+        .set(35L)
+        .set("s36")
+        .set(37)
+        .set(38L)
+        .set("s39")
+        .set(40)
+        .set(41L)
+        .set("s42")
+        .set(43)
+        .set(44L)
+        .set("s45")
+        .set(46)
+        .set(47L)
+        .set("s48")
+        .set(49)
+        .set(50L)
+        .set("s51")
+        .set(52)
+        .set(53L)
+        .set("s54")
+        .set(55)
+        .set(56L)
+        .set("s57")
+        .set(58)
+        .set(59L);
+    // all arguments are set, so the reused reference is rejected
+    assertThrows(IllegalStateException.class, () -> step.set(1));
+  }
+}
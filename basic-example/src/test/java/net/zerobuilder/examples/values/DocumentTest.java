@@ -0,0 +1,42 @@
+package net.zerobuilder.examples.values;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static net.zerobuilder.examples.values.DocumentBuilders.documentUpdater;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DocumentTest {
+
+  @Test
+  void noReadsBeforeBuild() {
+    Document document = new Document("a", "b");
+    documentUpdater(document).title("c");
+    assertEquals(0, document.reads);
+  }
+
+  @Test
+  void onlyUnchangedValuesAreRead() throws IOException {
+    Document document = new Document("a", "b");
+    Document updated = documentUpdater(document).title("c").build();
+    assertEquals(1, document.reads);
+    assertEquals("c", updated.getTitle());
+    assertEquals("b", updated.getBody());
+  }
+
+  @Test
+  void overwriteEverything() throws IOException {
+    Document document = new Document("a", null);
+    Document updated = documentUpdater(document).title("c").body("d").build();
+    assertEquals(0, document.reads);
+    assertEquals("d", updated.getBody());
+  }
+
+  @Test
+  void exceptionInBuild() {
+    Document document = new Document("a", null);
+    assertThrows(IOException.class, () -> documentUpdater(document).title("c").build());
+  }
+}
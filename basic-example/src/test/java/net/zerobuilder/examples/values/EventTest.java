@@ -0,0 +1,62 @@
+package net.zerobuilder.examples.values;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static net.zerobuilder.examples.values.EventBuilders.eventBuilder;
+import static net.zerobuilder.examples.values.EventBuilders.eventUpdater;
+import static net.zerobuilder.examples.values.EventBuilders.withTimestamp;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EventTest {
+
+  private final Event event = eventBuilder()
+      .id("a")
+      .timestamp(1L)
+      .value(Double.NaN)
+      .tags(List.of("x"));
+
+  @Test
+  void noUpdate() {
+    assertSame(event, eventUpdater(event).build());
+  }
+
+  @Test
+  void sameValues() {
+    Event updated = eventUpdater(event)
+        .id(new String("a"))
+        .timestamp(1L)
+        .value(Double.NaN)
+        .tags(List.of("x"))
+        .build();
+    assertSame(event, updated);
+  }
+
+  @Test
+  void changedValue() {
+    Event updated = eventUpdater(event)
+        .id("a")
+        .timestamp(2L)
+        .build();
+    assertNotSame(event, updated);
+    assertEquals("a", updated.id());
+    assertEquals(2L, updated.timestamp());
+    assertEquals(List.of("x"), updated.tags());
+  }
+
+  @Test
+  void signedZero() {
+    Event zero = eventUpdater(event).value(0.0).build();
+    assertNotSame(zero, eventUpdater(zero).value(-0.0).build());
+  }
+
+  @Test
+  void wither() {
+    Event updated = withTimestamp(event, 2L);
+    assertEquals(new Event("a", 2L, Double.NaN, List.of("x")), updated);
+    assertEquals(1L, event.timestamp());
+  }
+}
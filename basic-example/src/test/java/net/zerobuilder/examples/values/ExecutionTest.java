@@ -0,0 +1,59 @@
+package net.zerobuilder.examples.values;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static net.zerobuilder.examples.values.ExecutionBuilders.ExecutionBatch.PARALLEL_THRESHOLD;
+import static net.zerobuilder.examples.values.ExecutionBuilders.executionBatch;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExecutionTest {
+
+  @Test
+  public void columns() {
+    Execution[] executions = executionBatch(2)
+        .symbol(List.of("ACME", "INIT"))
+        .quantity(new long[]{100L, 200L})
+        .price(new double[]{1.5, 2.5})
+        .toArray();
+    assertArrayEquals(new Execution[]{
+        new Execution("ACME", 100L, 1.5),
+        new Execution("INIT", 200L, 2.5)}, executions);
+  }
+
+  @Test
+  public void parallel() {
+    int n = 2 * PARALLEL_THRESHOLD + 1;
+    List<String> symbols = new ArrayList<>(Collections.nCopies(n, "ACME"));
+    long[] quantities = new long[n];
+    double[] prices = new double[n];
+    for (int i = 0; i < n; i++) {
+      quantities[i] = i;
+      prices[i] = i * 0.5;
+    }
+    List<Execution> executions = executionBatch(n)
+        .symbol(symbols)
+        .quantity(quantities)
+        .price(prices)
+        .parallel()
+        .toList();
+    assertEquals(n, executions.size());
+    for (int i = 0; i < n; i++) {
+      assertEquals(new Execution("ACME", i, i * 0.5), executions.get(i));
+    }
+    assertThrows(UnsupportedOperationException.class, () -> executions.remove(0));
+  }
+
+  @Test
+  public void wrongLength() {
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> executionBatch(2)
+        .symbol(List.of("ACME", "INIT"))
+        .quantity(new long[]{100L}));
+    assertEquals("quantity: expected 2 rows, got 1", e.getMessage());
+  }
+}
@@ -2,9 +2,17 @@ package net.zerobuilder.examples.values;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static net.zerobuilder.examples.values.MessageBuilders.messageBuilder;
 import static net.zerobuilder.examples.values.MessageBuilders.messageUpdater;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class MessageTest {
 
@@ -24,4 +32,132 @@ class MessageTest {
         .build();
     assertEquals("Goodbye", message.body);
   }
+
+  @Test
+  void reuse() {
+    MessageBuilders.MessageBuilder.Sender builder = messageBuilder();
+    Message alice = builder.sender("Alice")
+        .body("Hi")
+        .recipient("Bob")
+        .subject("test");
+    assertSame(builder, messageBuilder());
+    Message carol = messageBuilder()
+        .sender("Carol")
+        .body("Ho")
+        .recipient("Dave")
+        .subject("again");
+    assertEquals("Alice", alice.sender);
+    assertEquals("Hi", alice.body);
+    assertEquals("Bob", alice.recipient);
+    assertEquals("test", alice.subject);
+    assertEquals("Carol", carol.sender);
+    assertEquals("Ho", carol.body);
+    assertEquals("Dave", carol.recipient);
+    assertEquals("again", carol.subject);
+  }
+
+  @Test
+  void reuseUpdater() {
+    Message alice = messageBuilder().sender("Alice").body("Hi").recipient("Bob").subject("test");
+    Message carol = messageBuilder().sender("Carol").body("Ho").recipient("Dave").subject("again");
+    MessageBuilders.MessageUpdater updater = messageUpdater(alice);
+    Message updatedAlice = updater.body("Bye").build();
+    assertSame(updater, messageUpdater(carol));
+    Message updatedCarol = messageUpdater(carol).subject("re: again").build();
+    assertEquals("Alice", updatedAlice.sender);
+    assertEquals("Bye", updatedAlice.body);
+    assertEquals("test", updatedAlice.subject);
+    assertEquals("Carol", updatedCarol.sender);
+    assertEquals("Ho", updatedCarol.body);
+    assertEquals("Dave", updatedCarol.recipient);
+    assertEquals("re: again", updatedCarol.subject);
+  }
+
+  @Test
+  void released() {
+    MessageBuilders.MessageBuilder.Subject step = messageBuilder()
+        .sender("Alice")
+        .body("Hi")
+        .recipient("Bob");
+    Message message = step.subject("test");
+    assertThrows(IllegalStateException.class, () -> step.subject("again"));
+    MessageBuilders.MessageUpdater updater = messageUpdater(message);
+    updater.build();
+    assertThrows(IllegalStateException.class, updater::build);
+  }
+
+  @Test
+  void releasedStep() {
+    MessageBuilders.MessageBuilder.Body step = messageBuilder()
+        .sender("Alice");
+    step.body("Hi")
+        .recipient("Bob")
+        .subject("test");
+    assertThrows(IllegalStateException.class, () -> step.body("again"));
+    MessageBuilders.MessageUpdater updater = messageUpdater(new Message("Alice", "Hi", "Bob", "test"));
+    updater.build();
+    assertThrows(IllegalStateException.class, () -> updater.body("again"));
+  }
+
+  @Test
+  void releasedAfterThrow() {
+    MessageBuilders.MessageBuilder.Sender builder = messageBuilder();
+    MessageBuilders.MessageBuilder.Subject step = builder
+        .sender("Alice")
+        .body("Hi")
+        .recipient("Bob");
+    assertThrows(NullPointerException.class, () -> step.subject(null));
+    assertThrows(IllegalStateException.class, () -> step.subject("test"));
+    assertSame(builder, messageBuilder());
+    MessageBuilders.MessageUpdater updater = messageUpdater(new Message("Alice", "Hi", "Bob", "test"));
+    updater.subject(null);
+    assertThrows(NullPointerException.class, updater::build);
+    assertThrows(IllegalStateException.class, updater::build);
+    assertSame(updater, messageUpdater(new Message("Carol", "Ho", "Dave", "again")));
+  }
+
+  @Test
+  void nested() {
+    Message message = messageBuilder()
+        .sender(messageBuilder()
+            .sender("a")
+            .body("b")
+            .recipient("c")
+            .subject("Alice").subject)
+        .body("Hi")
+        .recipient("Bob")
+        .subject("test");
+    assertEquals("Alice", message.sender);
+    assertEquals("Hi", message.body);
+    assertEquals("Bob", message.recipient);
+    assertEquals("test", message.subject);
+  }
+
+  @Test
+  void concurrent() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Message>> futures = new ArrayList<>();
+      for (int i = 0; i < 10_000; i++) {
+        String s = Integer.toString(i);
+        futures.add(executor.submit(() -> messageUpdater(messageBuilder()
+            .sender(s)
+            .body(s)
+            .recipient(s)
+            .subject(s))
+            .subject(s + "!")
+            .build()));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        String s = Integer.toString(i);
+        Message message = futures.get(i).get();
+        assertEquals(s, message.sender);
+        assertEquals(s, message.body);
+        assertEquals(s, message.recipient);
+        assertEquals(s + "!", message.subject);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
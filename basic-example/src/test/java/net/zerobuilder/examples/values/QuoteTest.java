@@ -0,0 +1,37 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.Interner;
+import org.junit.jupiter.api.Test;
+
+import static net.zerobuilder.examples.values.QuoteBuilders.quoteBuilder;
+import static net.zerobuilder.examples.values.QuoteBuilders.quoteBuilderStats;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuoteTest {
+
+  @Test
+  public void sameInstance() {
+    Interner.Stats before = quoteBuilderStats();
+    Quote a = quoteBuilder().symbol("ACME").venue("XNAS").price(10150L).size(100);
+    Quote b = quoteBuilder().symbol("ACME").venue("XNAS").price(10150L).size(100);
+    Quote c = quoteBuilder().symbol("ACME").venue("XNAS").price(10150L).size(200);
+    assertSame(a, b);
+    assertNotSame(a, c);
+    assertEquals(new Quote("ACME", "XNAS", 10150L, 200), c);
+    Interner.Stats after = quoteBuilderStats();
+    assertTrue(after.hits() - before.hits() >= 1);
+    assertEquals(3, after.hits() + after.misses() - before.hits() - before.misses());
+  }
+
+  @Test
+  public void equalArguments() {
+    String symbol = new String("ACME");
+    Quote a = quoteBuilder().symbol("ACME").venue("XNYS").price(1L).size(1);
+    Quote b = quoteBuilder().symbol(symbol).venue("XNYS").price(1L).size(1);
+    assertSame(a, b);
+    assertSame(a.symbol(), b.symbol());
+  }
+}
@@ -0,0 +1,54 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.examples.values.ReadingBuilders.ReadingSlots;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static net.zerobuilder.examples.values.ReadingBuilders.readingSlots;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ReadingTest {
+
+  @Test
+  public void byName() {
+    Map<String, Object> json = new LinkedHashMap<>();
+    json.put("value", 21.5);
+    json.put("calibrated", true);
+    json.put("sensor", "t1");
+    json.put("timestamp", 1000L);
+    ReadingSlots slots = readingSlots();
+    json.forEach((name, value) -> slots.set(ReadingSlots.slot(name), value));
+    assertEquals(new Reading("t1", 1000L, 21.5, true), slots.build());
+  }
+
+  @Test
+  public void primitives() {
+    Reading reading = readingSlots()
+        .setDouble(ReadingSlots.slot("value"), 1.5)
+        .setLong(ReadingSlots.slot("timestamp"), 2L)
+        .setBoolean(ReadingSlots.slot("calibrated"), false)
+        .set(ReadingSlots.slot("sensor"), "t2")
+        .build();
+    assertEquals(new Reading("t2", 2L, 1.5, false), reading);
+  }
+
+  @Test
+  public void unknownName() {
+    assertEquals(-1, ReadingSlots.slot("unknown"));
+    assertThrows(IllegalArgumentException.class, () -> readingSlots().set(-1, "x"));
+    assertThrows(IllegalArgumentException.class, () -> readingSlots().setLong(ReadingSlots.slot("value"), 1L));
+  }
+
+  @Test
+  public void missingSlot() {
+    ReadingSlots slots = readingSlots()
+        .set(ReadingSlots.slot("sensor"), "t1")
+        .setLong(ReadingSlots.slot("timestamp"), 1L)
+        .setBoolean(ReadingSlots.slot("calibrated"), true);
+    IllegalStateException e = assertThrows(IllegalStateException.class, slots::build);
+    assertEquals("missing slot: value", e.getMessage());
+  }
+}
@@ -0,0 +1,64 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.examples.values.TradeBuilders.TradeColumns;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static net.zerobuilder.examples.values.TradeBuilders.tradeColumns;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TradeTest {
+
+  @Test
+  public void appendAndRead() {
+    TradeColumns trades = tradeColumns(1);
+    trades.append().symbol("ACME").time(1L).price(10.5).size((short) 100);
+    trades.append().symbol("INIT").time(2L).price(20.0).size((short) 200);
+    assertEquals(2, trades.size());
+    assertEquals("INIT", trades.symbol(1));
+    assertEquals(1L, trades.time(0));
+    assertEquals(new Trade("ACME", 1L, 10.5, (short) 100), trades.get(0));
+    assertThrows(IndexOutOfBoundsException.class, () -> trades.get(2));
+  }
+
+  @Test
+  public void growth() {
+    TradeColumns trades = tradeColumns(0);
+    for (int i = 0; i < 1000; i++) {
+      trades.append().symbol("S" + i).time(i).price(i * 0.5).size((short) i);
+    }
+    assertEquals(1000, trades.size());
+    assertEquals(new Trade("S999", 999L, 499.5, (short) 999), trades.get(999));
+  }
+
+  @Test
+  public void incompleteRow() {
+    TradeColumns trades = tradeColumns(4);
+    trades.append().symbol("ACME").time(1L);
+    assertEquals(0, trades.size());
+    trades.append().symbol("INIT").time(2L).price(1.0).size((short) 1);
+    assertEquals(new Trade("INIT", 2L, 1.0, (short) 1), trades.get(0));
+  }
+
+  @Test
+  public void spliterators() {
+    TradeColumns trades = tradeColumns(16);
+    for (int i = 0; i < 10_000; i++) {
+      trades.append().symbol(i % 2 == 0 ? "ACME" : "INIT").time(i).price(1.0).size((short) (i % 10));
+    }
+    assertEquals(49_995_000L, StreamSupport.longStream(trades.timeSpliterator(), true).sum());
+    assertEquals(10_000.0, StreamSupport.doubleStream(trades.priceSpliterator(), true).sum());
+    assertEquals(45_000, StreamSupport.intStream(trades.sizeSpliterator(), true).sum());
+    assertEquals(List.of("ACME", "INIT"), StreamSupport.stream(trades.symbolSpliterator(), true)
+        .distinct()
+        .sorted()
+        .collect(Collectors.toList()));
+    assertEquals(5_000L, StreamSupport.stream(trades.spliterator(), true)
+        .filter(trade -> trade.symbol().equals("ACME"))
+        .count());
+  }
+}
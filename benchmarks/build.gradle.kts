@@ -0,0 +1,38 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+// 22 for java.lang.foreign, used by the flyweight benchmark
+java {
+    sourceCompatibility = JavaVersion.VERSION_22
+    targetCompatibility = JavaVersion.VERSION_22
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    jmhImplementation(project(":zerobuilder"))
+    jmhImplementation(project(":basic-example"))
+    jmhAnnotationProcessor(project(":compiler"))
+    jmhAnnotationProcessor(project(":zerobuilder"))
+}
+
+// ./gradlew :benchmarks:jmh
+// ./gradlew :benchmarks:jmh -PjmhIncludes=ValuesBenchmark
+jmh {
+    // mode, forks and iterations are set per benchmark class
+    jmhVersion = "1.37"
+    timeUnit = "us"
+    profilers = listOf("gc", "cl")
+    resultFormat = "JSON"
+    if (project.hasProperty("jmhIncludes")) {
+        includes = listOf(project.property("jmhIncludes").toString())
+    }
+}
@@ -0,0 +1,68 @@
+package net.zerobuilder.examples.beans;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static net.zerobuilder.examples.beans.ManagerBuilders.managerBuilder;
+import static net.zerobuilder.examples.beans.ManagerBuilders.managerUpdater;
+
+// bean builder and bean updater, compared to hand-written code
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BeansBenchmark {
+
+  private String name = "foo";
+  private int id = 12;
+  private int salary = 13;
+
+  private final Manager manager = managerBuilder()
+      .name("foo")
+      .boss(null)
+      .id(12)
+      .salary(13);
+
+  @Benchmark
+  public Manager setters() {
+    Manager result = new Manager();
+    result.setName(name);
+    result.setBoss(null);
+    result.setId(id);
+    result.setSalary(salary);
+    return result;
+  }
+
+  @Benchmark
+  public Manager beanBuilder() {
+    return managerBuilder()
+        .name(name)
+        .boss(null)
+        .id(id)
+        .salary(salary);
+  }
+
+  @Benchmark
+  public Manager copy() {
+    Manager result = new Manager();
+    result.setName(manager.getName());
+    result.setBoss(manager.getBoss());
+    result.setId(manager.getId());
+    result.setSalary(salary);
+    return result;
+  }
+
+  @Benchmark
+  public Manager beanUpdater() {
+    return managerUpdater(manager)
+        .salary(salary)
+        .done();
+  }
+}
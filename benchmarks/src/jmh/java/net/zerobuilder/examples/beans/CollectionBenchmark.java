@@ -0,0 +1,82 @@
+package net.zerobuilder.examples.beans;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static net.zerobuilder.examples.beans.CatalogBuilders.catalogBuilder;
+import static net.zerobuilder.examples.beans.CatalogBuilders.catalogUpdater;
+
+// setterless collections: bulk addAll for a Collection argument, element loop for a plain Iterable
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CollectionBenchmark {
+
+  @Param({"10000", "100000"})
+  private int size;
+
+  private List<String> entries;
+  private Set<String> tags;
+  private Catalog catalog;
+
+  @Setup
+  public void setup() {
+    entries = new ArrayList<>(size);
+    tags = new HashSet<>();
+    for (int i = 0; i < size; i++) {
+      entries.add("entry" + i);
+      tags.add("tag" + i);
+    }
+    catalog = catalogBuilder()
+        .entries(entries)
+        .tags(tags);
+  }
+
+  @Benchmark
+  public Catalog builderCollection() {
+    return catalogBuilder()
+        .entries(entries)
+        .tags(tags);
+  }
+
+  @Benchmark
+  public Catalog builderIterable() {
+    return catalogBuilder()
+        .entries(entries::iterator)
+        .tags(tags::iterator);
+  }
+
+  @Benchmark
+  public Catalog updaterCopy() {
+    return catalogUpdater(catalog).done();
+  }
+
+  @Benchmark
+  public Catalog updaterCollection() {
+    return catalogUpdater(catalog)
+        .entries(entries)
+        .done();
+  }
+
+  @Benchmark
+  public Catalog updaterIterable() {
+    return catalogUpdater(catalog)
+        .entries(entries::iterator)
+        .done();
+  }
+}
@@ -0,0 +1,28 @@
+package net.zerobuilder.examples.generics;
+
+import net.zerobuilder.Builder;
+import net.zerobuilder.GoalName;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map;
+
+// the same goal, with and without a mutable builder
+// see GenericsBenchmark
+final class ChainOrMutable {
+
+  @Builder
+  @GoalName("chain")
+  static <K, V, W> Map.Entry<K, Map.Entry<V, W>> chain(K key, V value, W extra) {
+    return triple(key, value, extra);
+  }
+
+  @Builder(mutable = true)
+  @GoalName("mutable")
+  static <K, V, W> Map.Entry<K, Map.Entry<V, W>> mutable(K key, V value, W extra) {
+    return triple(key, value, extra);
+  }
+
+  static <K, V, W> Map.Entry<K, Map.Entry<V, W>> triple(K key, V value, W extra) {
+    return new SimpleEntry<>(key, new SimpleEntry<>(value, extra));
+  }
+}
@@ -0,0 +1,62 @@
+package net.zerobuilder.examples.generics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+
+import static net.zerobuilder.examples.generics.ChainOrMutableBuilders.chainBuilder;
+import static net.zerobuilder.examples.generics.ChainOrMutableBuilders.mutableBuilder;
+import static net.zerobuilder.examples.generics.MapEntryBuilders.entryBuilder;
+
+// generics builders: one object per step, compared to a single mutable object
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GenericsBenchmark {
+
+  private String key = "a";
+  private Integer value = 1;
+  private Long extra = 2L;
+
+  @Benchmark
+  public Map.Entry<String, Integer> entryDirect() {
+    return MapEntry.entry(key, value);
+  }
+
+  @Benchmark
+  public Map.Entry<String, Integer> entryBuilder() {
+    return entryBuilder()
+        .key(key)
+        .value(value);
+  }
+
+  @Benchmark
+  public Map.Entry<String, Map.Entry<Integer, Long>> tripleDirect() {
+    return ChainOrMutable.triple(key, value, extra);
+  }
+
+  @Benchmark
+  public Map.Entry<String, Map.Entry<Integer, Long>> tripleChain() {
+    return chainBuilder()
+        .key(key)
+        .value(value)
+        .extra(extra);
+  }
+
+  @Benchmark
+  public Map.Entry<String, Map.Entry<Integer, Long>> tripleMutable() {
+    return mutableBuilder()
+        .key(key)
+        .value(value)
+        .extra(extra);
+  }
+}
@@ -0,0 +1,48 @@
+package net.zerobuilder.examples.instaup;
+
+import net.zerobuilder.examples.instaup.ApexFactory.Apex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+
+import static net.zerobuilder.examples.instaup.ApexFactoryBuilders.apexBuilder;
+import static net.zerobuilder.examples.instaup.ApexFactoryBuilders.apexUpdaterFactory;
+
+// goals that are instance methods
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class InstanceFactoryBenchmark {
+
+  private String appendix = "c";
+
+  private final ApexFactory<String> factory = new ApexFactory<>("a");
+  private final Apex<String> apex = factory.apex("b");
+
+  @Benchmark
+  public Apex<String> direct() {
+    return factory.apex(appendix);
+  }
+
+  @Benchmark
+  public Apex<String> builder() {
+    return apexBuilder(factory).appendix(appendix);
+  }
+
+  @Benchmark
+  public Apex<String> updater() throws SQLException {
+    return apexUpdaterFactory(factory)
+        .updater(apex)
+        .appendix(appendix)
+        .build();
+  }
+}
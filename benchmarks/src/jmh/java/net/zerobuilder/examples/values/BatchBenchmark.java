@@ -0,0 +1,79 @@
+package net.zerobuilder.examples.values;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.zerobuilder.examples.values.ExecutionBuilders.executionBatch;
+import static net.zerobuilder.examples.values.ExecutionBuilders.executionBuilder;
+
+// materializing query results: one builder per row, compared to the batch builder, sequential and parallel
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BatchBenchmark {
+
+  private static final String[] SYMBOLS = {"ACME", "INIT", "GLOBEX", "UMBRELLA"};
+
+  @Param({"1000", "100000"})
+  private int rows;
+
+  private List<String> symbols;
+  private long[] quantities;
+  private double[] prices;
+
+  @Setup
+  public void setup() {
+    symbols = new ArrayList<>(rows);
+    quantities = new long[rows];
+    prices = new double[rows];
+    for (int i = 0; i < rows; i++) {
+      symbols.add(SYMBOLS[i & 3]);
+      quantities[i] = i;
+      prices[i] = 100.0 + (i & 0xff);
+    }
+  }
+
+  @Benchmark
+  public Execution[] builderPerRow() {
+    Execution[] result = new Execution[rows];
+    for (int i = 0; i < rows; i++) {
+      result[i] = executionBuilder()
+          .symbol(symbols.get(i))
+          .quantity(quantities[i])
+          .price(prices[i]);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Execution[] batch() {
+    return executionBatch(rows)
+        .symbol(symbols)
+        .quantity(quantities)
+        .price(prices)
+        .toArray();
+  }
+
+  @Benchmark
+  public Execution[] batchParallel() {
+    return executionBatch(rows)
+        .symbol(symbols)
+        .quantity(quantities)
+        .price(prices)
+        .parallel()
+        .toArray();
+  }
+}
@@ -0,0 +1,114 @@
+package net.zerobuilder.examples.values;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static net.zerobuilder.examples.values.TradeBuilders.tradeBuilder;
+import static net.zerobuilder.examples.values.TradeBuilders.tradeColumns;
+
+// a list of trades compared to the columnar container:
+// the scan benchmarks sum one column, sequentially and with a parallel stream
+// after the setup, the heap retained by each layout is printed
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ColumnsBenchmark {
+
+  private static final String[] SYMBOLS = {"ACME", "INIT", "GLOBEX", "UMBRELLA"};
+
+  @Param({"1000000"})
+  private int count;
+
+  private List<Trade> list;
+  private TradeBuilders.TradeColumns columns;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    long baseline = usedHeap();
+    list = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      list.add(tradeBuilder().symbol(SYMBOLS[i & 3]).time(i).price(100.0 + (i & 0xff)).size((short) i));
+    }
+    long afterList = usedHeap();
+    columns = tradeColumns(16);
+    for (int i = 0; i < count; i++) {
+      columns.append().symbol(SYMBOLS[i & 3]).time(i).price(100.0 + (i & 0xff)).size((short) i);
+    }
+    System.out.printf("%nlist: %d KiB, columns: %d KiB%n",
+        (afterList - baseline) >> 10, (usedHeap() - afterList) >> 10);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    list = null;
+    columns = null;
+  }
+
+  @Benchmark
+  public double listScan() {
+    double sum = 0;
+    for (Trade trade : list) {
+      sum += trade.price();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double columnScan() {
+    double sum = 0;
+    for (int i = 0; i < columns.size(); i++) {
+      sum += columns.price(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double listParallel() {
+    return list.parallelStream().mapToDouble(Trade::price).sum();
+  }
+
+  @Benchmark
+  public double columnParallel() {
+    return StreamSupport.doubleStream(columns.priceSpliterator(), true).sum();
+  }
+
+  @Benchmark
+  public List<Trade> listAppend() {
+    List<Trade> trades = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      trades.add(tradeBuilder().symbol(SYMBOLS[i & 3]).time(i).price(100.0).size((short) i));
+    }
+    return trades;
+  }
+
+  @Benchmark
+  public TradeBuilders.TradeColumns columnAppend() {
+    TradeBuilders.TradeColumns trades = tradeColumns(16);
+    for (int i = 0; i < count; i++) {
+      trades.append().symbol(SYMBOLS[i & 3]).time(i).price(100.0).size((short) i);
+    }
+    return trades;
+  }
+
+  private static long usedHeap() {
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+}
@@ -0,0 +1,184 @@
+package net.zerobuilder.examples.values;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static net.zerobuilder.examples.values.CompactWideBuilders.compactWideBuilder;
+import static net.zerobuilder.examples.values.WideBuilders.wideBuilder;
+
+// a record with 60 components: one step interface per component, compared to the compact builder
+// the cold benchmarks measure the first build in a fresh JVM, including class loading
+// class counts are reported by the classloader profiler (-prof cl)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(20)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class CompactBenchmark {
+
+  private String s = "s";
+  private int i = 1;
+  private long l = 2L;
+
+  @Benchmark
+  public Wide coldWide() {
+    return wide();
+  }
+
+  @Benchmark
+  public CompactWide coldCompact() {
+    return compact();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @Fork(1)
+  @Warmup(iterations = 3)
+  @Measurement(iterations = 5)
+  public Wide warmWide() {
+    return wide();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @Fork(1)
+  @Warmup(iterations = 3)
+  @Measurement(iterations = 5)
+  public CompactWide warmCompact() {
+    return compact();
+  }
+
+  private Wide wide() {
+    return wideBuilder()
+        .c00(s)
+        .c01(i)
+        .c02(l)
+        .c03(s)
+        .c04(i)
+        .c05(l)
+        .c06(s)
+        .c07(i)
+        .c08(l)
+        .c09(s)
+        .c10(i)
+        .c11(l)
+        .c12(s)
+        .c13(i)
+        .c14(l)
+        .c15(s)
+        .c16(i)
+        .c17(l)
+        .c18(s)
+        .c19(i)
+        .c20(l)
+        .c21(s)
+        .c22(i)
+        .c23(l)
+        .c24(s)
+        .c25(i)
+        .c26(l)
+        .c27(s)
+        .c28(i)
+        .c29(l)
+        .c30(s)
+        .c31(i)
+        .c32(l)
+        .c33(s)
+        .c34(i)
+        .c35(l)
+        .c36(s)
+        .c37(i)
+        .c38(l)
+        .c39(s)
+        .c40(i)
+        .c41(l)
+        .c42(s)
+        .c43(i)
+        .c44(l)
+        .c45(s)
+        .c46(i)
+        .c47(l)
+        .c48(s)
+        .c49(i)
+        .c50(l)
+        .c51(s)
+        .c52(i)
+        .c53(l)
+        .c54(s)
+        .c55(i)
+        .c56(l)
+        .c57(s)
+        .c58(i)
+        .c59(l);
+  }
+
+  private CompactWide compact() {
+    return compactWideBuilder()
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l)
+        .set(s)
+        .set(i)
+        .set(l);
+  }
+}
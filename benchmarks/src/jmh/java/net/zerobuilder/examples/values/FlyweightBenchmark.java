@@ -0,0 +1,93 @@
+package net.zerobuilder.examples.values;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static net.zerobuilder.examples.values.TickBuilders.tickBuilder;
+import static net.zerobuilder.examples.values.TickBuilders.tickFlyweight;
+
+// a batch of ticks, written and then summed: an array of records compared to a flyweight over off-heap memory
+// after each iteration, the heap retained by the records (not counting the array) and the size of the segment are printed
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FlyweightBenchmark {
+
+  @Param({"100000", "1000000"})
+  private int count;
+
+  private Tick[] retained;
+  private Arena arena;
+  private TickBuilders.TickFlyweight ticks;
+  private long baseline;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    retained = new Tick[count];
+    baseline = usedHeap();
+    arena = Arena.ofConfined();
+    MemorySegment segment = TickBuilders.TickFlyweight.allocate(arena, count);
+    ticks = tickFlyweight(segment);
+  }
+
+  @Benchmark
+  public double records() {
+    for (int i = 0; i < count; i++) {
+      retained[i] = tickBuilder()
+          .time(i)
+          .price(100.0 + (i & 0xff))
+          .size(i & 0x3ff);
+    }
+    double notional = 0;
+    for (Tick tick : retained) {
+      notional += tick.price() * tick.size();
+    }
+    return notional;
+  }
+
+  @Benchmark
+  public double flyweight() {
+    for (int i = 0; i < count; i++) {
+      ticks.write(i)
+          .time(i)
+          .price(100.0 + (i & 0xff))
+          .size(i & 0x3ff);
+    }
+    double notional = 0;
+    for (long i = 0; i < count; i++) {
+      ticks.at(i);
+      notional += ticks.price() * ticks.size();
+    }
+    return notional;
+  }
+
+  @TearDown(Level.Iteration)
+  public void report() {
+    System.out.printf("%nretained heap: %d KiB, segment: %d KiB%n",
+        (usedHeap() - baseline) >> 10, (ticks.count() * TickBuilders.TickFlyweight.BYTES) >> 10);
+    Arrays.fill(retained, null);
+    arena.close();
+  }
+
+  private static long usedHeap() {
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+}
@@ -0,0 +1,87 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.Interner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static net.zerobuilder.examples.values.QuoteBuilders.quoteBuilder;
+import static net.zerobuilder.examples.values.QuoteBuilders.quoteBuilderStats;
+
+// footprint of an interning builder: each invocation builds and retains a batch of quotes,
+// drawn from a small number of distinct combinations
+// after each iteration, the retained heap, the number of distinct instances and the interner stats are printed
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class InternBenchmark {
+
+  private static final int BATCH = 100_000;
+  private static final String[] SYMBOLS = {"ACME", "INIT", "GLOBEX", "UMBRELLA"};
+  private static final String[] VENUES = {"XNAS", "XNYS", "BATS", "ARCX"};
+
+  @Param({"64", "4096"})
+  private int distinct;
+
+  private final Quote[] retained = new Quote[BATCH];
+  private long baseline;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    Arrays.fill(retained, null);
+    baseline = usedHeap();
+  }
+
+  @Benchmark
+  public Quote[] constructor() {
+    for (int i = 0; i < BATCH; i++) {
+      int k = i % distinct;
+      retained[i] = new Quote(SYMBOLS[k & 3], VENUES[(k >> 2) & 3], 10_000L + k, 100);
+    }
+    return retained;
+  }
+
+  @Benchmark
+  public Quote[] interned() {
+    for (int i = 0; i < BATCH; i++) {
+      int k = i % distinct;
+      retained[i] = quoteBuilder()
+          .symbol(SYMBOLS[k & 3])
+          .venue(VENUES[(k >> 2) & 3])
+          .price(10_000L + k)
+          .size(100);
+    }
+    return retained;
+  }
+
+  @TearDown(Level.Iteration)
+  public void report() {
+    Set<Quote> identities = Collections.newSetFromMap(new IdentityHashMap<>());
+    Collections.addAll(identities, retained);
+    Interner.Stats stats = quoteBuilderStats();
+    System.out.printf("%nretained: %d KiB, distinct instances: %d, hit rate: %.3f, evictions: %d%n",
+        (usedHeap() - baseline) >> 10, identities.size(), stats.hitRate(), stats.evictions());
+  }
+
+  private static long usedHeap() {
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+}
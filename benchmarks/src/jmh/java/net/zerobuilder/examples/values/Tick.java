@@ -0,0 +1,8 @@
+package net.zerobuilder.examples.values;
+
+import net.zerobuilder.RecordBuilder;
+
+// a market data tick, stored either as a heap object or in a flyweight segment
+@RecordBuilder(flyweight = true)
+public record Tick(long time, double price, int size) {
+}
@@ -0,0 +1,93 @@
+package net.zerobuilder.examples.values;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+
+import static net.zerobuilder.examples.values.EventBuilders.eventBuilder;
+import static net.zerobuilder.examples.values.EventBuilders.eventUpdater;
+import static net.zerobuilder.examples.values.EventBuilders.withTimestamp;
+import static net.zerobuilder.examples.values.MessageBuilders.messageBuilder;
+import static net.zerobuilder.examples.values.MessageBuilders.messageUpdater;
+
+// value classes and records, compared to hand-written code
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ValuesBenchmark {
+
+  private String sender = "Alice";
+  private String body = "Hi";
+  private String recipient = "Bob";
+  private String subject = "test";
+  private long timestamp = 2L;
+
+  private final Message message = new Message("Alice", "Hi", "Bob", "test");
+  private final Event event = new Event("a", 1L, 0.5, List.of("x"));
+
+  @Benchmark
+  public Message messageConstructor() {
+    return new Message(sender, body, recipient, subject);
+  }
+
+  @Benchmark
+  public Message messageBuilder() {
+    return messageBuilder()
+        .sender(sender)
+        .body(body)
+        .recipient(recipient)
+        .subject(subject);
+  }
+
+  @Benchmark
+  public Message messageCopy() {
+    return new Message(message.sender, body, message.recipient, message.subject);
+  }
+
+  @Benchmark
+  public Message messageUpdater() {
+    return messageUpdater(message)
+        .body(body)
+        .build();
+  }
+
+  @Benchmark
+  public Event recordConstructor() {
+    return new Event(sender, timestamp, 0.5, List.of());
+  }
+
+  @Benchmark
+  public Event recordBuilder() {
+    return eventBuilder()
+        .id(sender)
+        .timestamp(timestamp)
+        .value(0.5)
+        .tags(List.of());
+  }
+
+  @Benchmark
+  public Event recordCopy() {
+    return new Event(event.id(), timestamp, event.value(), event.tags());
+  }
+
+  @Benchmark
+  public Event recordUpdater() {
+    return eventUpdater(event)
+        .timestamp(timestamp)
+        .build();
+  }
+
+  @Benchmark
+  public Event recordWither() {
+    return withTimestamp(event, timestamp);
+  }
+}
@@ -28,6 +28,7 @@ dependencies {
     implementation(zerobuilder)
     implementation("com.palantir.javapoet:javapoet:0.18.0")
     testImplementation("io.github.jbock-java:compile-testing:0.19.12")
+    testImplementation(gradleTestKit())
     testImplementation(platform("org.junit:junit-bom:6.1.2"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
@@ -41,6 +42,21 @@ tasks.withType<Jar> {
 
 tasks.named<Test>("test") {
     useJUnitPlatform()
+    // used by IncrementalProcessingTest
+    systemProperty("zerobuilder.processorPath", sourceSets.main.get().runtimeClasspath.asPath)
+    // used by ReproducibilityTest
+    systemProperty("zerobuilder.testClasspath", sourceSets.test.get().runtimeClasspath.asPath)
+    systemProperty("zerobuilder.basicExample", rootProject.file("basic-example/src/main/java").path)
+}
+
+// ./gradlew :compiler:compileBenchmark
+// ./gradlew :compiler:compileBenchmark --args="--types=15000 --update-baseline"
+tasks.register<JavaExec>("compileBenchmark") {
+    description = "Compiles a synthetic codebase with the processor, see CompileBenchmark"
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass = "net.zerobuilder.compiler.random.CompileBenchmark"
+    systemProperty("zerobuilder.baseline", file("compile-benchmark.properties").path)
+    maxHeapSize = "4g"
 }
 
 // https://vanniktech.github.io/gradle-maven-publish-plugin/central/
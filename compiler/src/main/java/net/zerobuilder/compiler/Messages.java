@@ -28,6 +28,27 @@ public final class Messages {
     public static final String REUSE_GENERICS =
         "A goal with type variables cannot be recycled.";
 
+    public static final String FLYWEIGHT_GENERICS =
+        "A record with type variables cannot have a flyweight.";
+
+    public static final String FLYWEIGHT_COMPONENT_TYPE =
+        "A flyweight component must be primitive.";
+
+    public static final String FLYWEIGHT_COMPONENT_NAME =
+        "This name is reserved by the flyweight: ";
+
+    public static final String FLYWEIGHT_SOURCE_VERSION =
+        "A flyweight uses java.lang.foreign, which needs source version 22 or later.";
+
+    public static final String COLUMNS_GENERICS =
+        "A record with type variables cannot have columns.";
+
+    public static final String COLUMNS_COMPONENT_NAME =
+        "This name is reserved by the columns: ";
+
+    public static final String BATCH_PARAMETER_NAME =
+        "This name is reserved by the batch: ";
+
     public static final String STEP_OUT_OF_BOUNDS =
         "The step position must be less than the number of arguments.";
 
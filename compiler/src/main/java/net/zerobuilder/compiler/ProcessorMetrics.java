@@ -0,0 +1,137 @@
+package net.zerobuilder.compiler;
+
+import com.palantir.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Timings and counts, collected if the {@link ZeroProcessor#METRICS} option is set.
+ * The generate timings are measured on the worker threads,
+ * so their sum may be larger than the wall time.
+ * The write timings include rendering, which is streamed into the filer.
+ */
+final class ProcessorMetrics {
+
+  private static final int SLOWEST = 5;
+
+  /**
+   * Timings in nanoseconds.
+   */
+  record TypeMetrics(String type,
+                     long analyse, long generate, long write,
+                     int goals, int stepInterfaces, int nestedTypes) {
+
+    long total() {
+      return analyse + generate + write;
+    }
+  }
+
+  /**
+   * Generate timing and counts for a single type.
+   */
+  record GenerateMetrics(long generate, int stepInterfaces, int nestedTypes) {
+  }
+
+  private final List<TypeMetrics> types = new ArrayList<>();
+  private long wall;
+
+  void add(TypeMetrics metrics) {
+    types.add(metrics);
+  }
+
+  void addWall(long nanos) {
+    wall += nanos;
+  }
+
+  static int countInterfaces(List<TypeSpec> typeSpecs) {
+    int count = 0;
+    for (TypeSpec typeSpec : typeSpecs) {
+      if (typeSpec.kind() == TypeSpec.Kind.INTERFACE) {
+        count++;
+      }
+      count += countInterfaces(typeSpec.typeSpecs());
+    }
+    return count;
+  }
+
+  static int countTypes(List<TypeSpec> typeSpecs) {
+    int count = 0;
+    for (TypeSpec typeSpec : typeSpecs) {
+      count += 1 + countTypes(typeSpec.typeSpecs());
+    }
+    return count;
+  }
+
+  private long sum(ToLongFunction<TypeMetrics> f) {
+    return types.stream().mapToLong(f).sum();
+  }
+
+  private static long millis(long nanos) {
+    return NANOSECONDS.toMillis(nanos);
+  }
+
+  private static long micros(long nanos) {
+    return NANOSECONDS.toMicros(nanos);
+  }
+
+  /**
+   * @return summary for the {@code NOTE} message
+   */
+  String summary() {
+    StringBuilder sb = new StringBuilder()
+        .append("zerobuilder: ").append(types.size()).append(" types, ")
+        .append(sum(TypeMetrics::goals)).append(" goals, ")
+        .append(sum(TypeMetrics::stepInterfaces)).append(" step interfaces, ")
+        .append(sum(TypeMetrics::nestedTypes)).append(" nested types")
+        .append(System.lineSeparator())
+        .append("  wall ").append(millis(wall)).append(" ms")
+        .append(", analyse ").append(millis(sum(TypeMetrics::analyse))).append(" ms")
+        .append(", generate ").append(millis(sum(TypeMetrics::generate))).append(" ms")
+        .append(", write ").append(millis(sum(TypeMetrics::write))).append(" ms");
+    types.stream()
+        .sorted(Comparator.comparingLong(TypeMetrics::total).reversed())
+        .limit(SLOWEST)
+        .forEach(type -> sb.append(System.lineSeparator())
+            .append("  ").append(type.type).append(' ')
+            .append(micros(type.total())).append(" us"));
+    return sb.toString();
+  }
+
+  /**
+   * @return machine-readable report, timings in microseconds
+   */
+  String toJson() {
+    StringBuilder sb = new StringBuilder()
+        .append("{\n")
+        .append("  \"types\": ").append(types.size()).append(",\n")
+        .append("  \"goals\": ").append(sum(TypeMetrics::goals)).append(",\n")
+        .append("  \"stepInterfaces\": ").append(sum(TypeMetrics::stepInterfaces)).append(",\n")
+        .append("  \"nestedTypes\": ").append(sum(TypeMetrics::nestedTypes)).append(",\n")
+        .append("  \"wallMicros\": ").append(micros(wall)).append(",\n")
+        .append("  \"analyseMicros\": ").append(micros(sum(TypeMetrics::analyse))).append(",\n")
+        .append("  \"generateMicros\": ").append(micros(sum(TypeMetrics::generate))).append(",\n")
+        .append("  \"writeMicros\": ").append(micros(sum(TypeMetrics::write))).append(",\n")
+        .append("  \"perType\": [");
+    for (int i = 0; i < types.size(); i++) {
+      TypeMetrics type = types.get(i);
+      sb.append(i == 0 ? "\n" : ",\n")
+          .append("    {\"type\": \"").append(escape(type.type)).append('"')
+          .append(", \"analyseMicros\": ").append(micros(type.analyse))
+          .append(", \"generateMicros\": ").append(micros(type.generate))
+          .append(", \"writeMicros\": ").append(micros(type.write))
+          .append(", \"goals\": ").append(type.goals)
+          .append(", \"stepInterfaces\": ").append(type.stepInterfaces)
+          .append(", \"nestedTypes\": ").append(type.nestedTypes)
+          .append('}');
+    }
+    return sb.append(types.isEmpty() ? "]\n" : "\n  ]\n").append("}\n").toString();
+  }
+
+  private static String escape(String s) {
+    return s.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+}
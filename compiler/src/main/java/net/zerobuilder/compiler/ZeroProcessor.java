@@ -4,52 +4,91 @@ import com.palantir.javapoet.AnnotationSpec;
 import com.palantir.javapoet.ClassName;
 import com.palantir.javapoet.JavaFile;
 import com.palantir.javapoet.TypeSpec;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
-import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
-import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
-import net.zerobuilder.BeanBuilder;
-import net.zerobuilder.Builder;
-import net.zerobuilder.RecordBuilder;
-import net.zerobuilder.RecordUpdater;
-import net.zerobuilder.Updater;
+import net.zerobuilder.compiler.ProcessorMetrics.GenerateMetrics;
+import net.zerobuilder.compiler.ProcessorMetrics.TypeMetrics;
 import net.zerobuilder.compiler.analyse.Analyser;
+import net.zerobuilder.compiler.analyse.Analyser.Goal;
+import net.zerobuilder.compiler.analyse.AnnotationIndex;
 import net.zerobuilder.compiler.analyse.ValidationException;
-import net.zerobuilder.compiler.common.LessTypes;
-import net.zerobuilder.compiler.generate.DtoGeneratorInput.AbstractGoalInput;
+import net.zerobuilder.compiler.common.LessElements;
 import net.zerobuilder.compiler.generate.DtoGeneratorOutput.GeneratorOutput;
 import net.zerobuilder.compiler.generate.Generator;
 
 import static java.util.stream.Collectors.toSet;
-import static javax.lang.model.util.ElementFilter.constructorsIn;
-import static javax.lang.model.util.ElementFilter.methodsIn;
-import static javax.lang.model.util.ElementFilter.typesIn;
 import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.Diagnostic.Kind.NOTE;
+import static javax.tools.Diagnostic.Kind.WARNING;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
 import static net.zerobuilder.compiler.Messages.JavadocMessages.generatedAnnotations;
+import static net.zerobuilder.compiler.generate.DtoGeneratorInput.getContext;
+import static net.zerobuilder.compiler.generate.DtoGeneratorOutput.facade;
+import static net.zerobuilder.compiler.generate.ZeroUtil.transform;
 
 public final class ZeroProcessor extends AbstractProcessor {
 
+  /**
+   * Processor option: Set to {@code false} to generate all files on the processing thread.
+   */
+  static final String PARALLEL = "zerobuilder.parallel";
+
+  /**
+   * Processor option: Set to {@code true} to report timings and counts,
+   * as a {@code NOTE} and in the file {@link #METRICS_FILE} in the class output.
+   */
+  static final String METRICS = "zerobuilder.metrics";
+
+  static final String METRICS_FILE = "META-INF/zerobuilder/metrics.json";
+
+  /**
+   * Processor option: Set to {@code true} to generate a separate top-level class for each goal.
+   * The {@code Builders} class then only delegates to these classes.
+   */
+  static final String SPLIT = "zerobuilder.split";
+
+  /**
+   * Size of the buffer between the renderer and the filer.
+   * The rendered source is never held in memory as a whole.
+   */
+  static final int WRITE_BUFFER_SIZE = 8192;
+
   private final Set<TypeElement> done = new HashSet<>();
 
+  private ProcessorMetrics metrics;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    if ("true".equals(processingEnv.getOptions().get(METRICS))) {
+      metrics = new ProcessorMetrics();
+    }
+  }
+
   @Override
   public Set<String> getSupportedAnnotationTypes() {
-    return Stream.of(
-            Builder.class,
-            Updater.class,
-            BeanBuilder.class,
-            RecordBuilder.class,
-            RecordUpdater.class)
+    return AnnotationIndex.ANNOTATIONS.stream()
         .map(Class::getName)
         .collect(toSet());
   }
@@ -59,60 +98,212 @@ public final class ZeroProcessor extends AbstractProcessor {
     return SourceVersion.latestSupported();
   }
 
+  @Override
+  public Set<String> getSupportedOptions() {
+    return Set.of(PARALLEL, METRICS, SPLIT);
+  }
+
   @Override
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+    long start = System.nanoTime();
+    try {
+      return processRound(env);
+    } finally {
+      if (metrics != null) {
+        metrics.addWall(System.nanoTime() - start);
+        if (env.processingOver()) {
+          reportMetrics();
+        }
+      }
+    }
+  }
+
+  private boolean processRound(RoundEnvironment env) {
     List<AnnotationSpec> generatedAnnotations = generatedAnnotations();
-    Set<TypeElement> types = new LinkedHashSet<>();
-    for (Class<? extends Annotation> c : List.of(Builder.class, Updater.class)) {
-      Stream.concat(
-              methodsIn(env.getElementsAnnotatedWith(c)).stream(),
-              constructorsIn(env.getElementsAnnotatedWith(c)).stream())
-          .map(ExecutableElement::getEnclosingElement)
-          .map(Element::asType)
-          .map(LessTypes::asTypeElement)
-          .forEach(types::add);
+    boolean split = "true".equals(processingEnv.getOptions().get(SPLIT));
+    AnnotationIndex index = AnnotationIndex.create(env);
+    // analysis phase: element access must stay on this thread
+    Optional<List<Analysed>> maybeAnalysed = LessElements.withMemberCache(() -> analyse(index, split));
+    if (maybeAnalysed.isEmpty()) {
+      return false;
     }
-    types.addAll(typesIn(env.getElementsAnnotatedWith(BeanBuilder.class)));
-    types.addAll(typesIn(env.getElementsAnnotatedWith(RecordBuilder.class)));
-    types.addAll(typesIn(env.getElementsAnnotatedWith(RecordUpdater.class)));
-    for (TypeElement enclosingElement : types) {
-      try {
-        if (!done.add(enclosingElement)) {
-          continue;
-        }
-        List<AbstractGoalInput> generatorInput = Analyser.analyse(enclosingElement);
-        GeneratorOutput generatorOutput = Generator.generate(generatorInput);
-        TypeSpec typeSpec = generatorOutput.typeSpec(generatedAnnotations);
+    List<Analysed> analysed = maybeAnalysed.get();
+    // generate, possibly in parallel; render and write in the original order
+    ExecutorService pool = isParallel(analysed.size()) ?
+        Executors.newFixedThreadPool(Math.min(analysed.size(), Runtime.getRuntime().availableProcessors())) :
+        null;
+    try {
+      Executor executor = pool == null ? Runnable::run : pool;
+      List<CompletableFuture<Generated>> generated = new ArrayList<>(analysed.size());
+      for (Analysed a : analysed) {
+        generated.add(CompletableFuture.supplyAsync(() -> generate(a, generatedAnnotations, split), executor));
+      }
+      for (int i = 0; i < analysed.size(); i++) {
+        TypeElement enclosingElement = analysed.get(i).type;
         try {
-          write(generatorOutput.generatedType(), typeSpec);
+          Generated g = generated.get(i).join();
+          long start = System.nanoTime();
+          for (Source source : g.sources) {
+            write(source);
+          }
+          if (metrics != null) {
+            metrics.add(new TypeMetrics(enclosingElement.getQualifiedName().toString(),
+                analysed.get(i).analyseNanos, g.metrics.generate(), System.nanoTime() - start,
+                analysed.get(i).goals.size(), g.metrics.stepInterfaces(), g.metrics.nestedTypes()));
+          }
+        } catch (CompletionException e) {
+          return error(enclosingElement, e.getCause());
         } catch (IOException e) {
           String message = "Error processing "
               + ClassName.get(enclosingElement) + ": " + e.getMessage();
           processingEnv.getMessager().printMessage(ERROR, message, enclosingElement);
           return false;
         }
+      }
+    } finally {
+      if (pool != null) {
+        pool.shutdownNow();
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return empty in case of an unexpected error
+   */
+  private Optional<List<Analysed>> analyse(AnnotationIndex index, boolean split) {
+    List<Analysed> analysed = new ArrayList<>(index.types().size());
+    for (TypeElement enclosingElement : index.types()) {
+      try {
+        if (!done.add(enclosingElement)) {
+          continue;
+        }
+        long start = System.nanoTime();
+        List<Goal> goals = Analyser.analyse(enclosingElement, index, split,
+            processingEnv.getSourceVersion());
+        analysed.add(new Analysed(enclosingElement, Analyser.generatedType(enclosingElement), goals,
+            System.nanoTime() - start));
       } catch (ValidationException e) {
         processingEnv.getMessager().printMessage(e.kind, e.getMessage(), e.about);
       } catch (RuntimeException e) {
-        e.printStackTrace(); // keep
-        String message = "Error processing "
-            + ClassName.get(enclosingElement) + ": " + e.getMessage();
-        processingEnv.getMessager().printMessage(ERROR, message, enclosingElement);
-        return false;
+        error(enclosingElement, e);
+        return Optional.empty();
       }
     }
+    return Optional.of(analysed);
+  }
+
+  private boolean isParallel(int size) {
+    return size >= 2
+        && Runtime.getRuntime().availableProcessors() >= 2
+        && !"false".equals(processingEnv.getOptions().get(PARALLEL));
+  }
+
+  private boolean error(TypeElement enclosingElement, Throwable e) {
+    e.printStackTrace(); // keep
+    String message = "Error processing "
+        + ClassName.get(enclosingElement) + ": " + e.getMessage();
+    processingEnv.getMessager().printMessage(ERROR, message, enclosingElement);
     return false;
   }
 
-  private void write(ClassName generatedType, TypeSpec typeSpec) throws IOException {
+  /**
+   * Does not access any elements, so it may run on any thread.
+   */
+  private static Generated generate(Analysed analysed, List<AnnotationSpec> generatedAnnotations, boolean split) {
+    long start = System.nanoTime();
+    List<Source> sources = split ?
+        splitSources(analysed, generatedAnnotations) :
+        List.of(source(Generator.generate(transform(analysed.goals, Goal::input)).typeSpec(generatedAnnotations),
+            analysed.generatedType, analysed.type));
+    int stepInterfaces = 0;
+    int nestedTypes = 0;
+    for (Source source : sources) {
+      stepInterfaces += ProcessorMetrics.countInterfaces(source.javaFile.typeSpec().typeSpecs());
+      nestedTypes += ProcessorMetrics.countTypes(source.javaFile.typeSpec().typeSpecs());
+    }
+    GenerateMetrics metrics = new GenerateMetrics(System.nanoTime() - start, stepInterfaces, nestedTypes);
+    return new Generated(sources, metrics);
+  }
+
+  /**
+   * One class per goal, originating from the goal method or constructor,
+   * preceded by the delegating {@code Builders} class.
+   */
+  private static List<Source> splitSources(Analysed analysed, List<AnnotationSpec> generatedAnnotations) {
+    Map<ClassName, List<Goal>> goalsByType = new LinkedHashMap<>();
+    for (Goal goal : analysed.goals) {
+      goalsByType.computeIfAbsent(getContext(goal.input()).generatedType, type -> new ArrayList<>())
+          .add(goal);
+    }
+    List<GeneratorOutput> parts = new ArrayList<>(goalsByType.size());
+    List<Source> partSources = new ArrayList<>(goalsByType.size());
+    for (List<Goal> goals : goalsByType.values()) {
+      GeneratorOutput part = Generator.generate(transform(goals, Goal::input));
+      if (part.methods().isEmpty()) {
+        continue;
+      }
+      parts.add(part);
+      partSources.add(source(part.typeSpec(generatedAnnotations), part.generatedType(), goals.getFirst().element()));
+    }
+    List<Source> sources = new ArrayList<>(partSources.size() + 1);
+    sources.add(source(facade(analysed.generatedType, parts, generatedAnnotations),
+        analysed.generatedType, analysed.type));
+    sources.addAll(partSources);
+    return sources;
+  }
+
+  static Source source(TypeSpec typeSpec, ClassName generatedType, Element originatingElement) {
     JavaFile javaFile = JavaFile.builder(generatedType.packageName(), typeSpec)
         .skipJavaLangImports(true)
         .build();
+    return new Source(generatedType, javaFile, originatingElement);
+  }
+
+  private void reportMetrics() {
+    processingEnv.getMessager().printMessage(NOTE, metrics.summary());
+    try {
+      FileObject file = processingEnv.getFiler().createResource(CLASS_OUTPUT, "", METRICS_FILE);
+      try (Writer writer = file.openWriter()) {
+        writer.write(metrics.toJson());
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(WARNING, "Could not write " + METRICS_FILE + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Writes a generated source file.
+   * The processor is isolating: Each file has a single originating element,
+   * which is either the annotated type or, in split mode, the goal itself,
+   * even if the goals depend on inherited members.
+   * See {@code META-INF/gradle/incremental.annotation.processors}.
+   */
+  void write(Source source) throws IOException {
     JavaFileObject sourceFile = processingEnv.getFiler()
-        .createSourceFile(generatedType.toString(),
-            javaFile.typeSpec().originatingElements().toArray(new Element[0]));
+        .createSourceFile(source.generatedType.toString(), source.originatingElement);
     try (Writer writer = sourceFile.openWriter()) {
-      writer.write(javaFile.toString());
+      render(source.javaFile, writer);
     }
   }
+
+  /**
+   * Streams the source into {@code writer}, through a buffer of
+   * {@link #WRITE_BUFFER_SIZE} characters.
+   * Does not close {@code writer}.
+   */
+  static void render(JavaFile javaFile, Writer writer) throws IOException {
+    BufferedWriter out = new BufferedWriter(writer, WRITE_BUFFER_SIZE);
+    javaFile.writeTo(out);
+    out.flush();
+  }
+
+  private record Analysed(TypeElement type, ClassName generatedType, List<Goal> goals, long analyseNanos) {
+  }
+
+  private record Generated(List<Source> sources, GenerateMetrics metrics) {
+  }
+
+  record Source(ClassName generatedType, JavaFile javaFile, Element originatingElement) {
+  }
 }
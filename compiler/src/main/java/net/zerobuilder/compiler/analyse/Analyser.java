@@ -2,18 +2,17 @@ package net.zerobuilder.compiler.analyse;
 
 import com.palantir.javapoet.ClassName;
 import com.palantir.javapoet.TypeName;
-import com.palantir.javapoet.TypeVariableName;
 import java.util.ArrayList;
 import java.util.List;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.DeclaredType;
-import net.zerobuilder.Builder;
-import net.zerobuilder.RecordBuilder;
-import net.zerobuilder.RecordUpdater;
-import net.zerobuilder.Updater;
+import net.zerobuilder.compiler.analyse.AnnotationIndex.Entry;
 import net.zerobuilder.compiler.analyse.DtoGoalElement.AbstractGoalElement;
 import net.zerobuilder.compiler.analyse.DtoGoalElement.BeanGoalElement;
+import net.zerobuilder.compiler.analyse.DtoGoalElement.ContextFactory;
 import net.zerobuilder.compiler.analyse.DtoGoalElement.ModuleChoice;
 import net.zerobuilder.compiler.analyse.DtoGoalElement.RegularGoalElement;
 import net.zerobuilder.compiler.analyse.DtoGoalElement.RegularProjectableGoalElement;
@@ -33,13 +32,16 @@ import net.zerobuilder.modules.updater.RegularUpdater;
 import net.zerobuilder.modules.updater.bean.BeanUpdater;
 
 import static javax.lang.model.element.ElementKind.CONSTRUCTOR;
-import static javax.lang.model.element.ElementKind.METHOD;
 import static javax.lang.model.element.Modifier.STATIC;
 import static net.zerobuilder.compiler.Messages.ErrorMessages.BEAN_SUBGOALS;
 import static net.zerobuilder.compiler.analyse.DtoGoalElement.createBeanGoalElements;
 import static net.zerobuilder.compiler.analyse.DtoGoalElement.createRegular;
 import static net.zerobuilder.compiler.analyse.MoreValidations.checkAccessLevel;
+import static net.zerobuilder.compiler.analyse.MoreValidations.checkBatch;
+import static net.zerobuilder.compiler.analyse.MoreValidations.checkColumns;
+import static net.zerobuilder.compiler.analyse.MoreValidations.checkFlyweight;
 import static net.zerobuilder.compiler.analyse.MoreValidations.checkNameConflict;
+import static net.zerobuilder.compiler.analyse.MoreValidations.checkReuse;
 import static net.zerobuilder.compiler.analyse.ProjectionValidatorB.AS_DECLARED;
 import static net.zerobuilder.compiler.analyse.ProjectionValidatorB.AS_TYPE_ELEMENT;
 import static net.zerobuilder.compiler.analyse.ProjectionValidatorB.validateBean;
@@ -52,6 +54,7 @@ import static net.zerobuilder.compiler.generate.DtoContext.createContext;
 import static net.zerobuilder.compiler.generate.ZeroUtil.parameterizedTypeName;
 import static net.zerobuilder.compiler.generate.ZeroUtil.rawClassName;
 import static net.zerobuilder.compiler.generate.ZeroUtil.transform;
+import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
 
 public final class Analyser {
 
@@ -61,24 +64,54 @@ public final class Analyser {
   private static final BeanModule BEAN_UPDATER = new BeanUpdater();
   private static final RegularSimpleModule GENERICS = new GenericsBuilder();
 
+  /**
+   * A goal input, and the element that declares the goal.
+   *
+   * @param input   goal input
+   * @param element a method or constructor, or the bean type
+   */
+  public record Goal(AbstractGoalInput input, Element element) {
+  }
+
   /**
    * Extract all goals from the given type, by inspecting annotations.
    * Perform validations and bundle each goal with the appropriate module.
    *
-   * @param tel a type element
-   * @return list of goal inputs
+   * @param tel   a type element
+   * @param index the annotated elements of the current round
+   * @param split if each goal should have its own generated type,
+   *              rather than {@link #generatedType(TypeElement)}
+   * @param sourceVersion the source version of the current compilation
+   * @return list of goals
    * @throws ValidationException if validation fails
    */
-  public static List<AbstractGoalInput> analyse(TypeElement tel) throws ValidationException {
+  public static List<Goal> analyse(TypeElement tel, AnnotationIndex index, boolean split,
+                                   SourceVersion sourceVersion) throws ValidationException {
     validateContextClass(tel);
     TypeName type = parameterizedTypeName(ClassName.get(tel),
-        transform(tel.getTypeParameters(), TypeVariableName::get));
-    ClassName generatedType = peer(rawClassName(type), "Builders");
-    GoalContext context = createContext(type, generatedType);
-    List<? extends AbstractGoalElement> goals = goals(tel, context);
+        transform(tel.getTypeParameters(), Utilities::typeVariableName));
+    GoalContext context = createContext(type, generatedType(tel));
+    // the separator keeps Foo#barX and FooBar#x apart
+    ContextFactory contexts = split ?
+        (goalName, moduleChoice) -> createContext(type,
+            peer(rawClassName(type), "_" + upcase(goalName) + moduleChoice.suffix)) :
+        (goalName, moduleChoice) -> context;
+    List<? extends AbstractGoalElement> goals = goals(tel, index.entry(tel), contexts);
     checkNameConflict(goals);
     checkAccessLevel(goals);
-    return transform(goals, Analyser::assignModule);
+    checkReuse(goals);
+    checkFlyweight(goals, sourceVersion);
+    checkColumns(goals);
+    checkBatch(goals);
+    return transform(goals, goal -> new Goal(assignModule(goal), DtoGoalElement.element(goal)));
+  }
+
+  /**
+   * @param tel a type element
+   * @return the type that is generated for {@code tel}
+   */
+  public static ClassName generatedType(TypeElement tel) {
+    return peer(ClassName.get(tel), "Builders");
   }
 
   private static AbstractGoalInput assignModule(AbstractGoalElement element) {
@@ -93,22 +126,20 @@ public final class Analyser {
     };
   }
 
-  private static List<? extends AbstractGoalElement> goals(TypeElement tel, GoalContext context) {
-    return tel.getAnnotation(net.zerobuilder.BeanBuilder.class) != null ?
-        beanGoals(tel, context) :
-        regularGoals(tel, context);
+  private static List<? extends AbstractGoalElement> goals(TypeElement tel, Entry entry, ContextFactory contexts) {
+    return entry.beanBuilder ?
+        beanGoals(tel, entry, contexts) :
+        regularGoals(tel, entry, contexts);
   }
 
-  private static boolean hasTypevars(ExecutableElement element) {
+  static boolean hasTypevars(ExecutableElement element) {
     return !element.getTypeParameters().isEmpty()
         || !element.getModifiers().contains(STATIC)
         && !asTypeElement(element.getEnclosingElement().asType()).getTypeParameters().isEmpty();
   }
 
-  private static List<? extends AbstractGoalElement> regularGoals(TypeElement tel, GoalContext context) {
-    RecordBuilder recordBuilderAnnotation = tel.getAnnotation(RecordBuilder.class);
-    RecordUpdater recordUpdaterAnnotation = tel.getAnnotation(RecordUpdater.class);
-    if (recordBuilderAnnotation != null || recordUpdaterAnnotation != null) {
+  private static List<? extends AbstractGoalElement> regularGoals(TypeElement tel, Entry entry, ContextFactory contexts) {
+    if (entry.recordBuilder || entry.recordUpdater) {
       TypeElement typeElement = AS_DECLARED.visit(tel.getSuperclass())
           .map(DeclaredType::asElement)
           .flatMap(AS_TYPE_ELEMENT::visit)
@@ -117,47 +148,30 @@ public final class Analyser {
         throw new ValidationException("Not a record type", tel);
       }
       List<ModuleChoice> options = new ArrayList<>(2);
-      if (recordBuilderAnnotation != null) {
+      if (entry.recordBuilder) {
         options.add(ModuleChoice.BUILDER);
       }
-      if (recordUpdaterAnnotation != null) {
+      if (entry.recordUpdater) {
         options.add(ModuleChoice.UPDATER);
       }
       return tel.getEnclosedElements().stream()
           .filter(el -> el.getKind() == CONSTRUCTOR)
           .map(LessElements::asExecutable)
-          .map(element -> createRegular(context, element, options))
+          .map(element -> createRegular(contexts, element, options))
           .flatMap(List::stream)
           .toList();
     }
-    return tel.getEnclosedElements().stream()
-        .filter(el -> el.getAnnotation(Builder.class) != null || el.getAnnotation(Updater.class) != null)
-        .filter(el -> el.getKind() == CONSTRUCTOR || el.getKind() == METHOD)
-        .map(LessElements::asExecutable)
-        .map(element -> createRegular(context, element, goalOptions(element)))
+    return entry.goals.stream()
+        .map(goal -> createRegular(contexts, goal.element(), goal.choices()))
         .flatMap(List::stream)
         .toList();
   }
 
-  private static List<ModuleChoice> goalOptions(ExecutableElement element) {
-    List<ModuleChoice> options = new ArrayList<>(2);
-    if (element.getAnnotation(Builder.class) != null) {
-      options.add(ModuleChoice.BUILDER);
+  private static List<BeanGoalElement> beanGoals(TypeElement buildElement, Entry entry, ContextFactory contexts) {
+    if (!entry.goals.isEmpty()) {
+      throw new ValidationException(BEAN_SUBGOALS, entry.goals.getFirst().element());
     }
-    if (element.getAnnotation(Updater.class) != null) {
-      options.add(ModuleChoice.UPDATER);
-    }
-    return options;
-  }
-
-  private static List<BeanGoalElement> beanGoals(TypeElement buildElement, GoalContext context) {
-    buildElement.getEnclosedElements().stream()
-        .filter(el -> el.getAnnotation(Builder.class) != null || el.getAnnotation(Updater.class) != null)
-        .findAny()
-        .ifPresent(el -> {
-          throw new ValidationException(BEAN_SUBGOALS, el);
-        });
-    return createBeanGoalElements(buildElement, context);
+    return createBeanGoalElements(buildElement, contexts);
   }
 
   private Analyser() {
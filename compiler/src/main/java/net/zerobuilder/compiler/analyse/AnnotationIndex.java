@@ -0,0 +1,108 @@
+package net.zerobuilder.compiler.analyse;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import net.zerobuilder.BeanBuilder;
+import net.zerobuilder.Builder;
+import net.zerobuilder.RecordBuilder;
+import net.zerobuilder.RecordUpdater;
+import net.zerobuilder.Updater;
+import net.zerobuilder.compiler.analyse.DtoGoalElement.ModuleChoice;
+
+import static javax.lang.model.element.ElementKind.CONSTRUCTOR;
+import static javax.lang.model.element.ElementKind.METHOD;
+import static net.zerobuilder.compiler.common.LessTypes.asTypeElement;
+
+/**
+ * The annotated elements of one processing round, grouped by their context type.
+ * Computed with a single query, so the analyser never has to look at
+ * the unannotated members of a type.
+ */
+public final class AnnotationIndex {
+
+  /**
+   * The annotations that trigger code generation.
+   */
+  public static final List<Class<? extends Annotation>> ANNOTATIONS = List.of(
+      Builder.class,
+      Updater.class,
+      BeanBuilder.class,
+      RecordBuilder.class,
+      RecordUpdater.class);
+
+  private final Map<TypeElement, Entry> entries;
+
+  private AnnotationIndex(Map<TypeElement, Entry> entries) {
+    this.entries = entries;
+  }
+
+  /**
+   * @param env the current round
+   * @return the index of this round
+   */
+  public static AnnotationIndex create(RoundEnvironment env) {
+    Map<TypeElement, Entry> entries = new LinkedHashMap<>();
+    // source order, so the goals appear in the order of declaration
+    for (Element element : env.getElementsAnnotatedWithAny(Set.copyOf(ANNOTATIONS))) {
+      if (element instanceof TypeElement type) {
+        Entry entry = entries.computeIfAbsent(type, t -> new Entry());
+        entry.beanBuilder |= type.getAnnotation(BeanBuilder.class) != null;
+        entry.recordBuilder |= type.getAnnotation(RecordBuilder.class) != null;
+        entry.recordUpdater |= type.getAnnotation(RecordUpdater.class) != null;
+      } else if (element instanceof ExecutableElement executable
+          && (element.getKind() == CONSTRUCTOR || element.getKind() == METHOD)) {
+        TypeElement type = asTypeElement(executable.getEnclosingElement().asType());
+        entries.computeIfAbsent(type, t -> new Entry())
+            .goals.add(new AnnotatedGoal(executable, moduleChoices(executable)));
+      }
+    }
+    return new AnnotationIndex(entries);
+  }
+
+  private static List<ModuleChoice> moduleChoices(ExecutableElement element) {
+    List<ModuleChoice> choices = new ArrayList<>(2);
+    if (element.getAnnotation(Builder.class) != null) {
+      choices.add(ModuleChoice.BUILDER);
+    }
+    if (element.getAnnotation(Updater.class) != null) {
+      choices.add(ModuleChoice.UPDATER);
+    }
+    return choices;
+  }
+
+  /**
+   * @return the context types of this round, in source order
+   */
+  public Set<TypeElement> types() {
+    return entries.keySet();
+  }
+
+  Entry entry(TypeElement type) {
+    return entries.getOrDefault(type, Entry.EMPTY);
+  }
+
+  static final class Entry {
+
+    private static final Entry EMPTY = new Entry();
+
+    final List<AnnotatedGoal> goals = new ArrayList<>();
+    boolean beanBuilder;
+    boolean recordBuilder;
+    boolean recordUpdater;
+  }
+
+  /**
+   * @param element a method or constructor, annotated with {@link Builder} or {@link Updater}
+   * @param choices the requested modules
+   */
+  record AnnotatedGoal(ExecutableElement element, List<ModuleChoice> choices) {
+  }
+}
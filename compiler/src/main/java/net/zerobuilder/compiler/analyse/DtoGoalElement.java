@@ -4,6 +4,7 @@ import com.palantir.javapoet.ClassName;
 import com.palantir.javapoet.TypeName;
 import com.palantir.javapoet.TypeVariableName;
 import java.util.List;
+import java.util.Set;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
@@ -15,6 +16,7 @@ import net.zerobuilder.compiler.generate.DtoGoalDetails.BeanGoalDetails;
 import net.zerobuilder.compiler.generate.DtoGoalDetails.ConstructorGoalDetails;
 import net.zerobuilder.compiler.generate.DtoGoalDetails.InstanceMethodGoalDetails;
 import net.zerobuilder.compiler.generate.DtoGoalDetails.StaticMethodGoalDetails;
+import net.zerobuilder.compiler.generate.GoalOption;
 
 import static javax.lang.model.element.ElementKind.CONSTRUCTOR;
 import static javax.lang.model.element.Modifier.STATIC;
@@ -102,28 +104,44 @@ final class DtoGoalElement {
       ModuleChoice moduleChoice,
       DtoContext.GoalContext context
   ) {
-    return new BeanGoalElement(new BeanGoalDetails(goalType, name, Access.PUBLIC, context), beanType, moduleChoice);
+    return new BeanGoalElement(new BeanGoalDetails(goalType, name, Access.PUBLIC, context), beanType, moduleChoice,
+        GoalModifiers.beanOptions(beanType, moduleChoice));
   }
 
   static List<BeanGoalElement> createBeanGoalElements(
       TypeElement beanType,
-      DtoContext.GoalContext context) {
+      ContextFactory contexts) {
     ClassName goalType = ClassName.get(beanType);
     String name = downcase(simpleName(goalType));
     List<ModuleChoice> goalOptions = List.of(BUILDER, UPDATER);
     return transform(goalOptions,
-        goalOption -> createBeanGoalElement(goalType, name, beanType, goalOption, context));
+        goalOption -> createBeanGoalElement(goalType, name, beanType, goalOption,
+            contexts.context(name, goalOption)));
   }
 
   record BeanGoalElement(
       BeanGoalDetails details,
       TypeElement beanType,
-      ModuleChoice moduleChoice
+      ModuleChoice moduleChoice,
+      Set<GoalOption> options
   ) implements AbstractGoalElement {
   }
 
   enum ModuleChoice {
-    UPDATER, BUILDER
+    UPDATER("Updater"), BUILDER("Builder");
+
+    final String suffix;
+
+    ModuleChoice(String suffix) {
+      this.suffix = suffix;
+    }
+  }
+
+  /**
+   * Determines the goal context, and thus the generated type, of each goal.
+   */
+  interface ContextFactory {
+    DtoContext.GoalContext context(String goalName, ModuleChoice moduleChoice);
   }
 
   static TypeName goalType(ExecutableElement goal) {
@@ -134,7 +152,7 @@ final class DtoGoalElement {
   }
 
   static List<? extends AbstractGoalElement> createRegular(
-      DtoContext.GoalContext context,
+      ContextFactory contexts,
       ExecutableElement element,
       List<ModuleChoice> goalOptions) {
     TypeName goalType = goalType(element);
@@ -144,9 +162,9 @@ final class DtoGoalElement {
         goalOption ->
             goalOption == BUILDER ?
                 createBuilderGoal(element, goalType, modifiers, methodName,
-                    parameterNames(element), context) :
+                    parameterNames(element), contexts.context(modifiers.goalName, goalOption)) :
                 createUpdaterGoal(element, goalType, modifiers, methodName,
-                    parameterNames(element), context));
+                    parameterNames(element), contexts.context(modifiers.goalName, goalOption)));
   }
 
   private static AbstractGoalElement createUpdaterGoal(
@@ -175,7 +193,7 @@ final class DtoGoalElement {
 
   private static List<TypeVariableName> instanceTypevars(ExecutableElement element) {
     TypeElement type = asTypeElement(element.getEnclosingElement().asType());
-    return transform(type.getTypeParameters(), TypeVariableName::get);
+    return transform(type.getTypeParameters(), Utilities::typeVariableName);
   }
 
   private static List<TypeVariableName> returnTypeInstanceTypevars(
@@ -184,13 +202,13 @@ final class DtoGoalElement {
       return List.of();
     }
     TypeElement type = asTypeElement(element.getReturnType());
-    return transform(type.getTypeParameters(), TypeVariableName::get);
+    return transform(type.getTypeParameters(), Utilities::typeVariableName);
   }
 
   private static List<TypeVariableName> methodTypevars(
       ExecutableElement element) {
     return element.getTypeParameters().stream()
-        .map(TypeVariableName::get)
+        .map(Utilities::typeVariableName)
         .toList();
   }
 
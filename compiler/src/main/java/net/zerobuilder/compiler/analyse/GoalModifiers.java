@@ -1,11 +1,21 @@
 package net.zerobuilder.compiler.analyse;
 
 import net.zerobuilder.AccessLevel;
+import net.zerobuilder.BeanBuilder;
+import net.zerobuilder.Builder;
 import net.zerobuilder.GoalName;
 import net.zerobuilder.Level;
+import net.zerobuilder.RecordBuilder;
+import net.zerobuilder.RecordUpdater;
+import net.zerobuilder.Updater;
+import net.zerobuilder.compiler.analyse.DtoGoalElement.ModuleChoice;
 import net.zerobuilder.compiler.generate.Access;
+import net.zerobuilder.compiler.generate.GoalOption;
 
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import java.util.EnumSet;
+import java.util.Set;
 
 import static net.zerobuilder.compiler.analyse.DtoGoalElement.goalType;
 import static net.zerobuilder.compiler.generate.ZeroUtil.downcase;
@@ -15,10 +25,95 @@ final class GoalModifiers {
 
   final Access access;
   final String goalName;
+  private final Set<GoalOption> builderOptions;
+  private final Set<GoalOption> updaterOptions;
 
-  private GoalModifiers(Access access, String goalName) {
+  private GoalModifiers(Access access, String goalName,
+                        Set<GoalOption> builderOptions, Set<GoalOption> updaterOptions) {
     this.access = access;
     this.goalName = goalName;
+    this.builderOptions = builderOptions;
+    this.updaterOptions = updaterOptions;
+  }
+
+  Set<GoalOption> options(ModuleChoice moduleChoice) {
+    return switch (moduleChoice) {
+      case BUILDER -> builderOptions;
+      case UPDATER -> updaterOptions;
+    };
+  }
+
+  private static Set<GoalOption> builderOptions(ExecutableElement element) {
+    Set<GoalOption> options = EnumSet.noneOf(GoalOption.class);
+    Builder builder = element.getAnnotation(Builder.class);
+    RecordBuilder recordBuilder = element.getEnclosingElement().getAnnotation(RecordBuilder.class);
+    if (builder != null && builder.mutable()
+        || recordBuilder != null && recordBuilder.mutable()) {
+      options.add(GoalOption.MUTABLE);
+    }
+    if (builder != null && builder.reuse()
+        || recordBuilder != null && recordBuilder.reuse()) {
+      options.add(GoalOption.REUSE);
+    }
+    if (builder != null && builder.compact()
+        || recordBuilder != null && recordBuilder.compact()) {
+      options.add(GoalOption.COMPACT);
+    }
+    if (builder != null && builder.intern()
+        || recordBuilder != null && recordBuilder.intern()) {
+      options.add(GoalOption.INTERN);
+    }
+    if (builder != null && builder.slots()
+        || recordBuilder != null && recordBuilder.slots()) {
+      options.add(GoalOption.SLOTS);
+    }
+    if (builder != null && builder.batch()
+        || recordBuilder != null && recordBuilder.batch()) {
+      options.add(GoalOption.BATCH);
+    }
+    if (recordBuilder != null && recordBuilder.flyweight()) {
+      options.add(GoalOption.FLYWEIGHT);
+    }
+    if (recordBuilder != null && recordBuilder.columns()) {
+      options.add(GoalOption.COLUMNS);
+    }
+    return options;
+  }
+
+  private static Set<GoalOption> updaterOptions(ExecutableElement element) {
+    Set<GoalOption> options = EnumSet.noneOf(GoalOption.class);
+    Updater updater = element.getAnnotation(Updater.class);
+    RecordUpdater recordUpdater = element.getEnclosingElement().getAnnotation(RecordUpdater.class);
+    if (updater != null && updater.reuse()
+        || recordUpdater != null && recordUpdater.reuse()) {
+      options.add(GoalOption.REUSE);
+    }
+    if (updater != null && updater.preserveIdentity()
+        || recordUpdater != null && recordUpdater.preserveIdentity()) {
+      options.add(GoalOption.PRESERVE_IDENTITY);
+    }
+    if (updater != null && updater.lazy()
+        || recordUpdater != null && recordUpdater.lazy()) {
+      options.add(GoalOption.LAZY);
+    }
+    if (updater != null && updater.patches()
+        || recordUpdater != null && recordUpdater.patches()) {
+      options.add(GoalOption.PATCHES);
+    }
+    if (recordUpdater != null) {
+      options.add(GoalOption.WITHERS);
+    }
+    return options;
+  }
+
+  static Set<GoalOption> beanOptions(TypeElement beanType, ModuleChoice moduleChoice) {
+    Set<GoalOption> options = EnumSet.noneOf(GoalOption.class);
+    BeanBuilder beanBuilder = beanType.getAnnotation(BeanBuilder.class);
+    if (moduleChoice == ModuleChoice.UPDATER
+        && beanBuilder != null && beanBuilder.lazyCollections()) {
+      options.add(GoalOption.LAZY_COLLECTIONS);
+    }
+    return options;
   }
 
   private static Access getAccess(ExecutableElement element) {
@@ -36,6 +131,7 @@ final class GoalModifiers {
     String goalName = annotation == null ?
         downcase(simpleName(goalType(element))) :
         annotation.value();
-    return new GoalModifiers(access, goalName);
+    return new GoalModifiers(access, goalName,
+        builderOptions(element), updaterOptions(element));
   }
 }
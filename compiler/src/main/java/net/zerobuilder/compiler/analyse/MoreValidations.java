@@ -1,21 +1,51 @@
 package net.zerobuilder.compiler.analyse;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
 import net.zerobuilder.compiler.analyse.DtoGoalElement.AbstractGoalElement;
+import net.zerobuilder.compiler.analyse.DtoGoalElement.BeanGoalElement;
+import net.zerobuilder.compiler.analyse.DtoGoalElement.ModuleChoice;
+import net.zerobuilder.compiler.analyse.DtoGoalElement.RegularGoalElement;
+import net.zerobuilder.compiler.analyse.DtoGoalElement.RegularProjectableGoalElement;
+import net.zerobuilder.compiler.generate.GoalOption;
 
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static net.zerobuilder.compiler.Messages.ErrorMessages.BATCH_PARAMETER_NAME;
+import static net.zerobuilder.compiler.Messages.ErrorMessages.COLUMNS_COMPONENT_NAME;
+import static net.zerobuilder.compiler.Messages.ErrorMessages.COLUMNS_GENERICS;
 import static net.zerobuilder.compiler.Messages.ErrorMessages.DUPLICATE_GOAL_NAME;
+import static net.zerobuilder.compiler.Messages.ErrorMessages.FLYWEIGHT_COMPONENT_NAME;
+import static net.zerobuilder.compiler.Messages.ErrorMessages.FLYWEIGHT_COMPONENT_TYPE;
+import static net.zerobuilder.compiler.Messages.ErrorMessages.FLYWEIGHT_GENERICS;
+import static net.zerobuilder.compiler.Messages.ErrorMessages.FLYWEIGHT_SOURCE_VERSION;
 import static net.zerobuilder.compiler.Messages.ErrorMessages.PRIVATE_METHOD;
+import static net.zerobuilder.compiler.Messages.ErrorMessages.REUSE_GENERICS;
+import static net.zerobuilder.compiler.analyse.Analyser.hasTypevars;
 import static net.zerobuilder.compiler.analyse.DtoGoalElement.element;
 
 final class MoreValidations {
 
+  // methods of the generated flyweight that could clash with a step or getter,
+  // and the step interface of a component named writer would hide the writer class
+  private static final Set<String> FLYWEIGHT_METHODS = Set.of("at", "write", "count", "get", "writer");
+
+  // the row getter, and the step interface of a component named appender would hide the appender class
+  private static final Set<String> COLUMNS_RESERVED = Set.of("get", "appender");
+
+  // the step interface of a parameter named loader would hide the loader class
+  private static final String BATCH_RESERVED = "loader";
+
   static void checkNameConflict(List<? extends AbstractGoalElement> goals) throws ValidationException {
     Map<String, List<AbstractGoalElement>> m = goals.stream()
-        .collect(groupingBy(DtoGoalElement::goalName));
+        .collect(groupingBy(DtoGoalElement::goalName, LinkedHashMap::new, toList()));
     m.forEach((name, group) -> {
       if (group.size() == 2) {
         Element el0 = element(group.get(0));
@@ -40,6 +70,88 @@ final class MoreValidations {
         });
   }
 
+  static void checkReuse(List<? extends AbstractGoalElement> goals) throws ValidationException {
+    for (AbstractGoalElement goal : goals) {
+      switch (goal) {
+        case BeanGoalElement bean -> {
+        }
+        case RegularGoalElement regular -> checkReuse(regular.executableElement(),
+            regular.goalAnnotation().options(ModuleChoice.BUILDER));
+        case RegularProjectableGoalElement projected -> checkReuse(projected.executableElement(),
+            projected.goalAnnotation().options(ModuleChoice.UPDATER));
+      }
+    }
+  }
+
+  private static void checkReuse(ExecutableElement element, Set<GoalOption> options) {
+    if (options.contains(GoalOption.REUSE) && hasTypevars(element)) {
+      throw new ValidationException(REUSE_GENERICS, element);
+    }
+  }
+
+  static void checkFlyweight(List<? extends AbstractGoalElement> goals, SourceVersion sourceVersion)
+      throws ValidationException {
+    for (AbstractGoalElement goal : goals) {
+      if (goal instanceof RegularGoalElement regular
+          && regular.goalAnnotation().options(ModuleChoice.BUILDER).contains(GoalOption.FLYWEIGHT)) {
+        if (sourceVersion.compareTo(SourceVersion.RELEASE_22) < 0) {
+          throw new ValidationException(FLYWEIGHT_SOURCE_VERSION, regular.executableElement().getEnclosingElement());
+        }
+        checkFlyweight(regular.executableElement());
+      }
+    }
+  }
+
+  private static void checkFlyweight(ExecutableElement element) {
+    if (hasTypevars(element)) {
+      throw new ValidationException(FLYWEIGHT_GENERICS, element);
+    }
+    for (VariableElement parameter : element.getParameters()) {
+      if (!parameter.asType().getKind().isPrimitive()) {
+        throw new ValidationException(FLYWEIGHT_COMPONENT_TYPE, parameter);
+      }
+      String name = parameter.getSimpleName().toString();
+      if (FLYWEIGHT_METHODS.contains(name)) {
+        throw new ValidationException(FLYWEIGHT_COMPONENT_NAME + name, parameter);
+      }
+    }
+  }
+
+  static void checkColumns(List<? extends AbstractGoalElement> goals) throws ValidationException {
+    for (AbstractGoalElement goal : goals) {
+      if (goal instanceof RegularGoalElement regular
+          && regular.goalAnnotation().options(ModuleChoice.BUILDER).contains(GoalOption.COLUMNS)) {
+        checkColumns(regular.executableElement());
+      }
+    }
+  }
+
+  private static void checkColumns(ExecutableElement element) {
+    if (hasTypevars(element)) {
+      throw new ValidationException(COLUMNS_GENERICS, element);
+    }
+    for (VariableElement parameter : element.getParameters()) {
+      String name = parameter.getSimpleName().toString();
+      if (COLUMNS_RESERVED.contains(name)) {
+        throw new ValidationException(COLUMNS_COMPONENT_NAME + name, parameter);
+      }
+    }
+  }
+
+  static void checkBatch(List<? extends AbstractGoalElement> goals) throws ValidationException {
+    for (AbstractGoalElement goal : goals) {
+      if (goal instanceof RegularGoalElement regular
+          && regular.goalAnnotation().options(ModuleChoice.BUILDER).contains(GoalOption.BATCH)
+          && !hasTypevars(regular.executableElement())) {
+        for (VariableElement parameter : regular.executableElement().getParameters()) {
+          if (parameter.getSimpleName().contentEquals(BATCH_RESERVED)) {
+            throw new ValidationException(BATCH_PARAMETER_NAME + BATCH_RESERVED, parameter);
+          }
+        }
+      }
+    }
+  }
+
   private MoreValidations() {
     throw new UnsupportedOperationException("no instances");
   }
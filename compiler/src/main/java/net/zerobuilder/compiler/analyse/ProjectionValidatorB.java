@@ -243,7 +243,7 @@ final class ProjectionValidatorB {
     List<AbstractBeanParameter> validBeanParameters
         = transform(shuffledParameters(sorted), toValidParameter);
     return BeanGoalDescription.create(goal.details(), validBeanParameters,
-        beanConstructorExceptions(goal));
+        beanConstructorExceptions(goal), goal.options());
   }
 
   private static List<TypeName> beanConstructorExceptions(BeanGoalElement goal) {
@@ -8,6 +8,7 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import net.zerobuilder.compiler.analyse.DtoGoalElement.ModuleChoice;
 import net.zerobuilder.compiler.analyse.DtoGoalElement.RegularGoalElement;
 import net.zerobuilder.compiler.analyse.DtoGoalElement.RegularProjectableGoalElement;
 import net.zerobuilder.compiler.analyse.ProjectionValidator.TmpProjectedParameter;
@@ -107,7 +108,8 @@ final class ProjectionValidatorV {
         goal.details(),
         thrownTypes,
         transform(shuffled, parameter -> parameter.parameter),
-        goal.context());
+        goal.context(),
+        goal.goalAnnotation().options(ModuleChoice.BUILDER));
   }
 
   private static ProjectedRegularGoalDescription createGoalDescription(
@@ -116,7 +118,8 @@ final class ProjectionValidatorV {
     List<TmpProjectedParameter> shuffled = shuffledParameters(parameters);
     return ProjectedRegularGoalDescription.create(
         goal.details(), thrownTypes(goal.executableElement()),
-        transform(shuffled, toValidParameter), goal.context());
+        transform(shuffled, toValidParameter), goal.context(),
+        goal.goalAnnotation().options(ModuleChoice.UPDATER));
   }
 
   private ProjectionValidatorV() {
@@ -2,11 +2,14 @@ package net.zerobuilder.compiler.analyse;
 
 import com.palantir.javapoet.ClassName;
 import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeVariableName;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.TypeMirror;
 
 import static java.util.stream.Collectors.toList;
 
@@ -50,6 +53,26 @@ final class Utilities {
         .collect(toList());
   }
 
+  /**
+   * Like {@link TypeVariableName#get(TypeParameterElement)}, but keeps an explicit {@code Object} bound,
+   * which JavaPoet drops.
+   * In {@code T extends Object & Comparable<T>}, it determines the erasure.
+   *
+   * @param typeParameter a type parameter
+   * @return the type variable, with its declared bounds
+   */
+  static TypeVariableName typeVariableName(TypeParameterElement typeParameter) {
+    TypeVariableName typeVariable = TypeVariableName.get(typeParameter);
+    List<? extends TypeMirror> bounds = typeParameter.getBounds();
+    if (bounds.size() < 2 || !TypeName.get(bounds.getFirst()).equals(ClassName.OBJECT)) {
+      return typeVariable;
+    }
+    List<TypeName> withObject = new ArrayList<>(bounds.size());
+    withObject.add(ClassName.OBJECT);
+    withObject.addAll(typeVariable.bounds());
+    return TypeVariableName.get(typeVariable.name()).withBounds(withObject.toArray(new TypeName[0]));
+  }
+
   private Utilities() {
     throw new UnsupportedOperationException("no instances");
   }
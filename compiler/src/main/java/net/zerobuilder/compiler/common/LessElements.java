@@ -1,8 +1,15 @@
 package net.zerobuilder.compiler.common;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ElementVisitor;
@@ -51,6 +58,32 @@ public final class LessElements {
         }
       };
 
+  private static final ThreadLocal<MemberCache> MEMBER_CACHE = new ThreadLocal<>();
+
+  /**
+   * Runs {@code action} with a member cache.
+   * While {@code action} runs, the members of each type are only scanned once.
+   * The cache is dropped when {@code action} returns.
+   * Elements must not be reused across rounds, so the processor calls this once per round.
+   *
+   * @param action action
+   * @param <T>    result type
+   * @return the result of {@code action}
+   */
+  public static <T> T withMemberCache(Supplier<T> action) {
+    MEMBER_CACHE.set(new MemberCache());
+    try {
+      return action.get();
+    } finally {
+      MEMBER_CACHE.remove();
+    }
+  }
+
+  private static MemberCache memberCache() {
+    MemberCache cache = MEMBER_CACHE.get();
+    return cache != null ? cache : new MemberCache();
+  }
+
   /**
    * Find all non-static, visible methods that match the predicate, and group by name.
    * In case of name conflict, the first found wins.
@@ -68,78 +101,130 @@ public final class LessElements {
   public static Map<String, ExecutableElement> getLocalAndInheritedMethods(
       TypeElement type, Predicate<ExecutableElement> predicate) {
     Map<String, ExecutableElement> methods = new LinkedHashMap<>();
-    PackageElement pkg = getPackage(type);
-    addFromSuperclass(pkg, type, methods, predicate);
-    addFromInterfaces(pkg, type, methods, predicate);
+    for (ExecutableElement method : memberCache().visibleMethods(type)) {
+      if (predicate.test(method)) {
+        methods.computeIfAbsent(method.getSimpleName().toString(), name -> method);
+      }
+    }
     return methods;
   }
 
   public static Map<String, VariableElement> getLocalAndInheritedFields(
       TypeElement type) {
     Map<String, VariableElement> fields = new LinkedHashMap<>();
-    PackageElement pkg = getPackage(type);
-    addFieldsFromSuperclass(pkg, type, fields);
+    for (VariableElement field : memberCache().visibleFields(type)) {
+      fields.computeIfAbsent(field.getSimpleName().toString(), name -> field);
+    }
     return fields;
   }
 
-  private static void addFieldsFromSuperclass(
-      PackageElement pkg, TypeElement type, Map<String, VariableElement> methods) {
-    addEnclosedFields(pkg, type, methods);
-    TypeMirror superclass = type.getSuperclass();
-    if (superclass.getKind() == TypeKind.NONE) {
-      return;
+  /**
+   * Non-static, non-private members, by type.
+   * Shared supertypes are scanned only once.
+   */
+  private static final class MemberCache {
+
+    private final Map<TypeElement, List<ExecutableElement>> declaredMethods = new HashMap<>();
+    private final Map<TypeElement, List<VariableElement>> declaredFields = new HashMap<>();
+    private final Map<TypeElement, List<TypeElement>> interfaces = new HashMap<>();
+    private final Map<TypeElement, List<ExecutableElement>> visibleMethods = new HashMap<>();
+    private final Map<TypeElement, List<VariableElement>> visibleFields = new HashMap<>();
+
+    /**
+     * Methods of the superclasses, followed by the methods of the interfaces,
+     * that are visible from the package of {@code type}.
+     */
+    List<ExecutableElement> visibleMethods(TypeElement type) {
+      List<ExecutableElement> result = visibleMethods.get(type);
+      if (result != null) {
+        return result;
+      }
+      PackageElement pkg = getPackage(type);
+      Set<ExecutableElement> methods = new LinkedHashSet<>();
+      for (TypeElement t : superclasses(type)) {
+        addVisible(pkg, declaredMethods(t), methods);
+      }
+      for (TypeElement t : interfaces(type)) {
+        addVisible(pkg, declaredMethods(t), methods);
+      }
+      result = List.copyOf(methods);
+      visibleMethods.put(type, result);
+      return result;
     }
-    addFieldsFromSuperclass(pkg, asTypeElement(superclass), methods);
-  }
 
-  private static void addFromSuperclass(
-      PackageElement pkg, TypeElement type, Map<String, ExecutableElement> methods,
-      Predicate<ExecutableElement> predicate) {
-    addEnclosedMethods(pkg, type, methods, predicate);
-    TypeMirror superclass = type.getSuperclass();
-    if (superclass.getKind() == TypeKind.NONE) {
-      return;
+    List<VariableElement> visibleFields(TypeElement type) {
+      List<VariableElement> result = visibleFields.get(type);
+      if (result != null) {
+        return result;
+      }
+      PackageElement pkg = getPackage(type);
+      List<VariableElement> fields = new ArrayList<>();
+      for (TypeElement t : superclasses(type)) {
+        addVisible(pkg, declaredFields(t), fields);
+      }
+      result = List.copyOf(fields);
+      visibleFields.put(type, result);
+      return result;
     }
-    addFromSuperclass(pkg, asTypeElement(superclass), methods,
-        predicate);
-  }
 
-  private static void addFromInterfaces(
-      PackageElement pkg, TypeElement type, Map<String, ExecutableElement> methods,
-      Predicate<ExecutableElement> predicate) {
-    addEnclosedMethods(pkg, type, methods, predicate);
-    for (TypeMirror superInterface : type.getInterfaces()) {
-      addFromInterfaces(pkg, asTypeElement(superInterface), methods,
-          predicate);
+    private static <E extends Element> void addVisible(PackageElement pkg, List<E> declared, Collection<E> target) {
+      for (E element : declared) {
+        if (visibleFromPackage(element, pkg)) {
+          target.add(element);
+        }
+      }
     }
-  }
 
-  private static void addEnclosedMethods(PackageElement pkg, TypeElement type, Map<String, ExecutableElement> methods,
-                                         Predicate<ExecutableElement> predicate) {
-    methodsIn(type.getEnclosedElements())
-        .stream()
-        .filter(predicate)
-        .forEach(method -> {
-          if (method.getKind() == ElementKind.METHOD
-              && !method.getModifiers().contains(Modifier.STATIC)
-              && methodVisibleFromPackage(method, pkg)) {
-            methods.computeIfAbsent(method.getSimpleName().toString(), name -> method);
-          }
-        });
-  }
+    private static List<TypeElement> superclasses(TypeElement type) {
+      List<TypeElement> result = new ArrayList<>();
+      TypeElement t = type;
+      while (true) {
+        result.add(t);
+        TypeMirror superclass = t.getSuperclass();
+        if (superclass.getKind() == TypeKind.NONE) {
+          return result;
+        }
+        t = asTypeElement(superclass);
+      }
+    }
+
+    /**
+     * {@code type} and its superinterfaces, depth first.
+     * Interfaces that are reachable on more than one path are only included once.
+     */
+    private List<TypeElement> interfaces(TypeElement type) {
+      List<TypeElement> result = interfaces.get(type);
+      if (result != null) {
+        return result;
+      }
+      Set<TypeElement> closure = new LinkedHashSet<>();
+      closure.add(type);
+      for (TypeMirror superInterface : type.getInterfaces()) {
+        closure.addAll(interfaces(asTypeElement(superInterface)));
+      }
+      result = List.copyOf(closure);
+      interfaces.put(type, result);
+      return result;
+    }
 
-  private static void addEnclosedFields(PackageElement pkg, TypeElement type, Map<String, VariableElement> fields) {
-    fieldsIn(type.getEnclosedElements())
-        .forEach(field -> {
-          if (field.getKind() == ElementKind.FIELD
-              && !field.getModifiers().contains(Modifier.STATIC)
-              && methodVisibleFromPackage(field, pkg)) {
-            fields.computeIfAbsent(field.getSimpleName().toString(), name -> field);
-          }
-        });
+    private List<ExecutableElement> declaredMethods(TypeElement type) {
+      return declaredMethods.computeIfAbsent(type, t -> methodsIn(t.getEnclosedElements()).stream()
+          .filter(method -> method.getKind() == ElementKind.METHOD)
+          .filter(method -> !method.getModifiers().contains(Modifier.STATIC))
+          .filter(method -> !method.getModifiers().contains(Modifier.PRIVATE))
+          .toList());
+    }
+
+    private List<VariableElement> declaredFields(TypeElement type) {
+      return declaredFields.computeIfAbsent(type, t -> fieldsIn(t.getEnclosedElements()).stream()
+          .filter(field -> field.getKind() == ElementKind.FIELD)
+          .filter(field -> !field.getModifiers().contains(Modifier.STATIC))
+          .filter(field -> !field.getModifiers().contains(Modifier.PRIVATE))
+          .toList());
+    }
   }
 
-  private static boolean methodVisibleFromPackage(Element method, PackageElement pkg) {
+  private static boolean visibleFromPackage(Element method, PackageElement pkg) {
     Visibility visibility = Visibility.ofElement(method);
     return switch (visibility) {
       case PRIVATE -> false;
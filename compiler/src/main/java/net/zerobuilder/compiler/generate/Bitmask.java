@@ -0,0 +1,124 @@
+package net.zerobuilder.compiler.generate;
+
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.palantir.javapoet.TypeName.LONG;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static net.zerobuilder.compiler.generate.ZeroUtil.fieldSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.joinCodeBlocks;
+
+/**
+ * A bit set of fixed size, represented by one or more {@code long} fields
+ * in the generated code.
+ */
+public final class Bitmask {
+
+  private final String name;
+  private final int size;
+
+  private Bitmask(String name, int size) {
+    this.name = name;
+    this.size = size;
+  }
+
+  /**
+   * @param name field name
+   * @param size number of bits
+   * @return a bitmask
+   */
+  public static Bitmask create(String name, int size) {
+    return new Bitmask(name, size);
+  }
+
+  /**
+   * @return number of {@code long} fields
+   */
+  public int words() {
+    return Math.max(1, (size + 63) / 64);
+  }
+
+  /**
+   * @param w word index
+   * @return the name of field {@code w}
+   */
+  public String word(int w) {
+    return words() == 1 ? name : name + w;
+  }
+
+  private static String bit(int i) {
+    return "0x" + Long.toHexString(1L << (i % 64)) + "L";
+  }
+
+  /**
+   * @return field definitions
+   */
+  public List<FieldSpec> fields() {
+    List<FieldSpec> fields = new ArrayList<>(words());
+    for (int w = 0; w < words(); w++) {
+      fields.add(fieldSpec(LONG, word(w), PRIVATE));
+    }
+    return fields;
+  }
+
+  /**
+   * @param i bit index
+   * @return a statement that sets bit {@code i}
+   */
+  public CodeBlock set(int i) {
+    return CodeBlock.builder()
+        .addStatement("this.$N |= $L", word(i / 64), bit(i))
+        .build();
+  }
+
+  /**
+   * @param i bit index
+   * @return a boolean expression that is true if bit {@code i} is set
+   */
+  public CodeBlock isSet(int i) {
+    return isSet(CodeBlock.of("this"), i);
+  }
+
+  /**
+   * @param receiver an expression of the type that holds the fields
+   * @param i        bit index
+   * @return a boolean expression that is true if bit {@code i} of {@code receiver} is set
+   */
+  public CodeBlock isSet(CodeBlock receiver, int i) {
+    return CodeBlock.of("($L.$N & $L) != 0", receiver, word(i / 64), bit(i));
+  }
+
+  /**
+   * @param i bit index
+   * @return a boolean expression that is true if bit {@code i} is not set
+   */
+  public CodeBlock isClear(int i) {
+    return CodeBlock.of("(this.$N & $L) == 0", word(i / 64), bit(i));
+  }
+
+  /**
+   * @return a boolean expression that is true if no bit is set
+   */
+  public CodeBlock isEmpty() {
+    List<CodeBlock> blocks = new ArrayList<>(words());
+    for (int w = 0; w < words(); w++) {
+      blocks.add(CodeBlock.of("this.$N == 0", word(w)));
+    }
+    return blocks.stream().collect(joinCodeBlocks(" && "));
+  }
+
+  /**
+   * @return a boolean expression that is true if all {@code size} bits are set
+   */
+  public CodeBlock isFull() {
+    List<CodeBlock> blocks = new ArrayList<>(words());
+    for (int w = 0; w < words(); w++) {
+      int bits = Math.min(64, size - 64 * w);
+      String full = bits == 64 ? "-1L" : "0x" + Long.toHexString((1L << bits) - 1) + "L";
+      blocks.add(CodeBlock.of("this.$N == $L", word(w), full));
+    }
+    return blocks.stream().collect(joinCodeBlocks(" && "));
+  }
+}
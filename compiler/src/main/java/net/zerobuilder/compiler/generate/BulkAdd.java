@@ -0,0 +1,45 @@
+package net.zerobuilder.compiler.generate;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+
+import java.util.Collection;
+
+import static com.palantir.javapoet.WildcardTypeName.subtypeOf;
+
+/**
+ * Filling the setterless collection of a bean.
+ * If the argument is a {@link Collection}, its elements are added with a single {@code addAll},
+ * so that an {@code ArrayList} grows at most once, and the element loop runs inside the JDK.
+ * Any other {@link Iterable} is added one element at a time.
+ */
+public final class BulkAdd {
+
+  private static final ClassName COLLECTION = ClassName.get(Collection.class);
+
+  /**
+   * @param target       expression of the collection to fill
+   * @param source       parameter of type {@code Iterable<? extends E>}
+   * @param iterationVar loop variable of type {@code E}
+   * @return code block
+   */
+  public static CodeBlock addAll(CodeBlock target, ParameterSpec source, ParameterSpec iterationVar) {
+    ParameterizedTypeName collection = ParameterizedTypeName.get(COLLECTION,
+        subtypeOf(iterationVar.type()));
+    return CodeBlock.builder()
+        .beginControlFlow("if ($N instanceof $T)", source, COLLECTION)
+        .addStatement("$L.addAll(($T) $N)", target, collection, source)
+        .nextControlFlow("else")
+        .beginControlFlow("for ($T $N : $N)", iterationVar.type(), iterationVar, source)
+        .addStatement("$L.add($N)", target, iterationVar)
+        .endControlFlow()
+        .endControlFlow()
+        .build();
+  }
+
+  private BulkAdd() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
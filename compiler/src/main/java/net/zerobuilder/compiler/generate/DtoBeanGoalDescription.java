@@ -7,6 +7,7 @@ import net.zerobuilder.compiler.generate.DtoBeanParameter.AbstractBeanParameter;
 import net.zerobuilder.compiler.generate.DtoGoalDetails.BeanGoalDetails;
 
 import java.util.List;
+import java.util.Set;
 
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
@@ -26,13 +27,16 @@ public final class DtoBeanGoalDescription {
     
     // thrown by constructor
     public final List<TypeName> thrownTypes;
+    public final Set<GoalOption> options;
 
     private BeanGoalDescription(BeanGoalDetails details,
                                 List<AbstractBeanParameter> parameters,
-                                List<TypeName> thrownTypes) {
+                                List<TypeName> thrownTypes,
+                                Set<GoalOption> options) {
       this.details = details;
       this.parameters = parameters;
       this.thrownTypes = thrownTypes;
+      this.options = options;
       this.beanField = beanField(details.goalType);
     }
 
@@ -42,8 +46,8 @@ public final class DtoBeanGoalDescription {
     }
 
     public static BeanGoalDescription create(BeanGoalDetails details, List<AbstractBeanParameter> parameters,
-                                             List<TypeName> thrownTypes) {
-      return new BeanGoalDescription(details, parameters, thrownTypes);
+                                             List<TypeName> thrownTypes, Set<GoalOption> options) {
+      return new BeanGoalDescription(details, parameters, thrownTypes, options);
     }
   }
 
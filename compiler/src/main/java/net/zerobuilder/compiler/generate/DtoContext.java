@@ -1,19 +1,8 @@
 package net.zerobuilder.compiler.generate;
 
 import com.palantir.javapoet.ClassName;
-import com.palantir.javapoet.FieldSpec;
 import com.palantir.javapoet.ParameterizedTypeName;
 import com.palantir.javapoet.TypeName;
-import com.palantir.javapoet.TypeSpec;
-
-import static com.palantir.javapoet.MethodSpec.methodBuilder;
-import static com.palantir.javapoet.TypeSpec.anonymousClassBuilder;
-import static javax.lang.model.element.Modifier.FINAL;
-import static javax.lang.model.element.Modifier.PRIVATE;
-import static javax.lang.model.element.Modifier.PROTECTED;
-import static javax.lang.model.element.Modifier.STATIC;
-import static net.zerobuilder.compiler.generate.ZeroUtil.ClassNames.THREAD_LOCAL;
-import static net.zerobuilder.compiler.generate.ZeroUtil.downcase;
 
 public final class DtoContext {
 
@@ -34,29 +23,6 @@ public final class DtoContext {
       this.type = type;
       this.generatedType = generatedType;
     }
-
-    public FieldSpec cache(String className) {
-      ClassName cachedClass = generatedType.nestedClass(className);
-      ParameterizedTypeName type = ParameterizedTypeName.get(THREAD_LOCAL,
-          cachedClass);
-      TypeSpec initializer = anonymousClassBuilder("")
-          .addSuperinterface(type)
-          .addMethod(methodBuilder("initialValue")
-              .addAnnotation(Override.class)
-              .addModifiers(PROTECTED)
-              .returns(cachedClass)
-              .addStatement("return new $T()", cachedClass)
-              .build())
-          .build();
-      return FieldSpec.builder(type, downcase(className))
-          .initializer("$L", initializer)
-          .addModifiers(PRIVATE, STATIC, FINAL)
-          .build();
-    }
-
-    public FieldSpec cache(ClassName className) {
-      return cache(className.simpleName());
-    }
   }
 
   /**
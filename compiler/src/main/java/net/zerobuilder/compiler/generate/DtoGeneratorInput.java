@@ -43,7 +43,7 @@ public final class DtoGeneratorInput {
     }
   }
 
-  static GoalContext getContext(AbstractGoalInput goalInput) {
+  public static GoalContext getContext(AbstractGoalInput goalInput) {
     return switch (goalInput) {
       case ProjectedGoalInput projected -> projected.description.context;
       case RegularSimpleGoalInput regular -> regular.description.context;
@@ -2,6 +2,7 @@ package net.zerobuilder.compiler.generate;
 
 import com.palantir.javapoet.AnnotationSpec;
 import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
 import com.palantir.javapoet.FieldSpec;
 import com.palantir.javapoet.MethodSpec;
 import com.palantir.javapoet.TypeSpec;
@@ -10,12 +11,15 @@ import java.util.List;
 import java.util.function.Function;
 
 import static com.palantir.javapoet.MethodSpec.constructorBuilder;
+import static com.palantir.javapoet.MethodSpec.methodBuilder;
+import static com.palantir.javapoet.TypeName.VOID;
 import static com.palantir.javapoet.TypeSpec.classBuilder;
 import static java.util.Collections.emptyList;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod.getMethod;
+import static net.zerobuilder.compiler.generate.ZeroUtil.joinCodeBlocks;
 import static net.zerobuilder.compiler.generate.ZeroUtil.transform;
 
 public final class DtoGeneratorOutput {
@@ -88,13 +92,39 @@ public final class DtoGeneratorOutput {
           .build();
     }
 
-    private MethodSpec constructor() {
+    private static MethodSpec constructor() {
       return constructorBuilder()
           .addStatement("throw new $T($S)", UnsupportedOperationException.class, "no instances")
           .addModifiers(PRIVATE)
           .build();
     }
 
+    /**
+     * Methods that delegate to the {@link #methods()} of this output.
+     *
+     * @return list of methods
+     */
+    List<MethodSpec> delegates() {
+      return transform(methods, method -> delegate(method.method));
+    }
+
+    private MethodSpec delegate(MethodSpec method) {
+      CodeBlock arguments = method.parameters().stream()
+          .map(parameter -> CodeBlock.of("$N", parameter))
+          .collect(joinCodeBlocks(", "));
+      return methodBuilder(method.name())
+          .addAnnotations(method.annotations())
+          .addModifiers(method.modifiers())
+          .addTypeVariables(method.typeVariables())
+          .addParameters(method.parameters())
+          .varargs(method.varargs())
+          .returns(method.returnType())
+          .addExceptions(method.exceptions())
+          .addStatement(method.returnType().equals(VOID) ? "$T.$N($L)" : "return $T.$N($L)",
+              generatedType, method.name(), arguments)
+          .build();
+    }
+
     /**
      * All methods in the type returned by {@link #typeSpec(List)}.
      * Includes static methods. Excludes constructors.
@@ -134,6 +164,28 @@ public final class DtoGeneratorOutput {
     }
   }
 
+  /**
+   * Create the definition of a class that only delegates to other generated classes.
+   * Used in split output mode, where each goal has its own generated class.
+   *
+   * @param generatedType        the type to generate
+   * @param parts                the generated classes of the individual goals
+   * @param generatedAnnotations annotations to add to the generated type, if any
+   * @return type definition
+   */
+  public static TypeSpec facade(ClassName generatedType, List<GeneratorOutput> parts,
+                                List<AnnotationSpec> generatedAnnotations) {
+    return classBuilder(generatedType)
+        .addMethod(GeneratorOutput.constructor())
+        .addMethods(parts.stream()
+            .map(GeneratorOutput::delegates)
+            .flatMap(List::stream)
+            .toList())
+        .addAnnotations(generatedAnnotations)
+        .addModifiers(PUBLIC, FINAL)
+        .build();
+  }
+
   private DtoGeneratorOutput() {
     throw new UnsupportedOperationException("no instances");
   }
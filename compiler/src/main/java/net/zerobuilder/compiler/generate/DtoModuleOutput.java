@@ -8,7 +8,18 @@ import java.util.List;
 
 public final class DtoModuleOutput {
 
-  public record ModuleOutput(BuilderMethod method, List<TypeSpec> typeSpecs, List<FieldSpec> cacheFields) {
+  /**
+   * @param method       the builder or updater method
+   * @param extraMethods additional static methods, such as withers
+   * @param typeSpecs    nested types
+   * @param cacheFields  static fields
+   */
+  public record ModuleOutput(BuilderMethod method, List<BuilderMethod> extraMethods,
+                             List<TypeSpec> typeSpecs, List<FieldSpec> cacheFields) {
+
+    public ModuleOutput(BuilderMethod method, List<TypeSpec> typeSpecs, List<FieldSpec> cacheFields) {
+      this(method, List.of(), typeSpecs, cacheFields);
+    }
   }
 
   private DtoModuleOutput() {
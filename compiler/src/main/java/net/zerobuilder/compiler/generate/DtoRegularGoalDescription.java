@@ -2,7 +2,9 @@ package net.zerobuilder.compiler.generate;
 
 import com.palantir.javapoet.CodeBlock;
 import com.palantir.javapoet.TypeName;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import net.zerobuilder.compiler.generate.DtoContext.GoalContext;
 import net.zerobuilder.compiler.generate.DtoGoalDetails.AbstractRegularDetails;
 import net.zerobuilder.compiler.generate.DtoRegularParameter.AbstractRegularParameter;
@@ -32,6 +34,7 @@ public final class DtoRegularGoalDescription {
     public final GoalContext context;
     public final AbstractRegularDetails details;
     public final List<TypeName> thrownTypes;
+    public final Set<GoalOption> options;
 
     public <E> List<E> unshuffle(List<E> shuffled) {
       return applyRanking(ranking, shuffled);
@@ -50,8 +53,10 @@ public final class DtoRegularGoalDescription {
         List<TypeName> thrownTypes,
         List<SimpleParameter> parameters,
         GoalContext context,
+        Set<GoalOption> options,
         int[] ranking) {
       this.details = details;
+      this.options = options;
       this.thrownTypes = thrownTypes;
       this.ranking = ranking;
       this.parameters = parameters;
@@ -63,9 +68,18 @@ public final class DtoRegularGoalDescription {
         List<TypeName> thrownTypes,
         List<SimpleParameter> parameters,
         GoalContext context) {
+      return create(details, thrownTypes, parameters, context, EnumSet.noneOf(GoalOption.class));
+    }
+
+    public static SimpleRegularGoalDescription create(
+        AbstractRegularDetails details,
+        List<TypeName> thrownTypes,
+        List<SimpleParameter> parameters,
+        GoalContext context,
+        Set<GoalOption> options) {
       checkParameterNames(details.parameterNames(), parameters);
       int[] ranking = createUnshuffle(parameters, details.parameterNames());
-      return new SimpleRegularGoalDescription(details, thrownTypes, parameters, context, ranking);
+      return new SimpleRegularGoalDescription(details, thrownTypes, parameters, context, options, ranking);
     }
   }
 
@@ -77,12 +91,15 @@ public final class DtoRegularGoalDescription {
     public final AbstractRegularDetails details;
     public final List<TypeName> thrownTypes;
     public final GoalContext context;
+    public final Set<GoalOption> options;
 
     private ProjectedRegularGoalDescription(
         AbstractRegularDetails details,
         List<TypeName> thrownTypes,
-        List<ProjectedParameter> parameters, GoalContext context) {
+        List<ProjectedParameter> parameters, GoalContext context,
+        Set<GoalOption> options) {
       this.details = details;
+      this.options = options;
       this.thrownTypes = thrownTypes;
       this.parameters = parameters;
       this.context = context;
@@ -93,8 +110,17 @@ public final class DtoRegularGoalDescription {
         List<TypeName> thrownTypes,
         List<ProjectedParameter> parameters,
         GoalContext context) {
+      return create(details, thrownTypes, parameters, context, EnumSet.noneOf(GoalOption.class));
+    }
+
+    public static ProjectedRegularGoalDescription create(
+        AbstractRegularDetails details,
+        List<TypeName> thrownTypes,
+        List<ProjectedParameter> parameters,
+        GoalContext context,
+        Set<GoalOption> options) {
       checkParameterNames(details.parameterNames(), parameters);
-      return new ProjectedRegularGoalDescription(details, thrownTypes, parameters, context);
+      return new ProjectedRegularGoalDescription(details, thrownTypes, parameters, context, options);
     }
   }
 
@@ -6,6 +6,7 @@ import com.palantir.javapoet.TypeSpec;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collector;
+import java.util.stream.Stream;
 import net.zerobuilder.compiler.generate.DtoGeneratorInput.AbstractGoalInput;
 import net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod;
 import net.zerobuilder.compiler.generate.DtoGeneratorOutput.GeneratorOutput;
@@ -60,7 +61,7 @@ public final class Generator {
 
   private static List<BuilderMethod> methods(List<ModuleOutput> outputs) {
     return outputs.stream()
-        .map(ModuleOutput::method)
+        .flatMap(output -> Stream.concat(Stream.of(output.method()), output.extraMethods().stream()))
         .collect(toList());
   }
 
@@ -0,0 +1,73 @@
+package net.zerobuilder.compiler.generate;
+
+/**
+ * Optional generation features of a single goal,
+ * as requested by the attributes of the goal annotation.
+ */
+public enum GoalOption {
+
+  /**
+   * Generics builder: all steps are implemented by a single mutable object.
+   */
+  MUTABLE,
+
+  /**
+   * Builder or updater instances are pooled, and reused after the final step.
+   */
+  REUSE,
+
+  /**
+   * Updater: if nothing was changed, the original instance is returned.
+   */
+  PRESERVE_IDENTITY,
+
+  /**
+   * Updater: projections are read in the final step, and only if necessary.
+   */
+  LAZY,
+
+  /**
+   * Record updater: a static {@code withX} method for each component.
+   */
+  WITHERS,
+
+  /**
+   * Builder: all steps have the same generic type.
+   */
+  COMPACT,
+
+  /**
+   * Builder: equal arguments return the same cached instance.
+   */
+  INTERN,
+
+  /**
+   * Builder: additional builder that sets the arguments by slot number.
+   */
+  SLOTS,
+
+  /**
+   * Record builder: additional flyweight that reads and writes records in a memory segment.
+   */
+  FLYWEIGHT,
+
+  /**
+   * Record builder: additional append-only container that stores the records column by column.
+   */
+  COLUMNS,
+
+  /**
+   * Builder: additional builder that takes a column of arguments per step, and invokes the goal once per row.
+   */
+  BATCH,
+
+  /**
+   * Bean updater: setterless collections are not copied from the original bean.
+   */
+  LAZY_COLLECTIONS,
+
+  /**
+   * Updater: the updater can capture the values that were set in an immutable patch.
+   */
+  PATCHES
+}
@@ -0,0 +1,138 @@
+package net.zerobuilder.compiler.generate;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import java.util.List;
+
+import static com.palantir.javapoet.TypeName.BOOLEAN;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.zerobuilder.compiler.generate.ZeroUtil.ClassNames.ATOMIC_REFERENCE_ARRAY;
+import static net.zerobuilder.compiler.generate.ZeroUtil.fieldSpec;
+
+/**
+ * Builder and updater reuse, see {@link GoalOption#REUSE}.
+ * Released instances are kept in a small striped pool per goal.
+ * Unlike a {@link ThreadLocal} cache, the size of the pool does not depend
+ * on the number of threads, which may be very large if virtual threads are used.
+ */
+public final class Reuse {
+
+  /**
+   * Name of the re-entrancy guard field.
+   */
+  public static final String IN_USE = "_currently_in_use";
+
+  private static final int STRIPES = 16;
+
+  /**
+   * @param implType the type of the pooled instances
+   * @param name     field name
+   * @return definition of the pool field
+   */
+  public static FieldSpec poolField(ClassName implType, String name) {
+    return FieldSpec.builder(ParameterizedTypeName.get(ATOMIC_REFERENCE_ARRAY, implType), name,
+            PRIVATE, STATIC, FINAL)
+        .initializer("new $T<>($L)", ATOMIC_REFERENCE_ARRAY, STRIPES)
+        .build();
+  }
+
+  /**
+   * @return definition of the re-entrancy guard field
+   */
+  public static FieldSpec inUseField() {
+    return fieldSpec(BOOLEAN, IN_USE, PRIVATE);
+  }
+
+  /**
+   * Declares and initializes the variable {@code instance}.
+   * If the pool is empty in the current stripe, a new instance is created.
+   *
+   * @param pool     pool field
+   * @param instance variable of the pooled type
+   * @return code block
+   */
+  public static CodeBlock acquire(FieldSpec pool, ParameterSpec instance) {
+    return CodeBlock.builder()
+        .addStatement("$T $N = $N.getAndSet($L, null)", instance.type(), instance, pool, stripe())
+        .beginControlFlow("if ($N == null)", instance)
+        .addStatement("$N = new $T()", instance, instance.type())
+        .endControlFlow()
+        .addStatement("$N.$N = true", instance, IN_USE)
+        .build();
+  }
+
+  /**
+   * Prevents the use of an instance that was already released, and not acquired again.
+   * Emitted at the top of every step.
+   * Use of a stale reference after the instance was acquired again is undefined,
+   * and cannot be detected.
+   *
+   * @return code block
+   */
+  public static CodeBlock checkInUse() {
+    return CodeBlock.builder()
+        .beginControlFlow("if (!this.$N)", IN_USE)
+        .addStatement("throw new $T($S)", IllegalStateException.class, "released")
+        .endControlFlow()
+        .build();
+  }
+
+  /**
+   * Resets all fields of this instance to their default value,
+   * and puts it back into the pool, unless the current stripe is occupied.
+   *
+   * @param pool   pool field
+   * @param fields instance fields
+   * @return code block
+   */
+  public static CodeBlock release(FieldSpec pool, List<FieldSpec> fields) {
+    CodeBlock.Builder builder = CodeBlock.builder();
+    for (FieldSpec field : fields) {
+      if (field.name().equals(IN_USE)) {
+        continue;
+      }
+      builder.addStatement("this.$N = $L", field, defaultValue(field.type()));
+    }
+    return builder.addStatement("this.$N = false", IN_USE)
+        .addStatement("$N.compareAndSet($L, null, this)", pool, stripe())
+        .build();
+  }
+
+  /**
+   * Releases the instance after the goal was invoked, even if the goal throws.
+   *
+   * @param invoke  code that invokes the goal
+   * @param release see {@link #release(FieldSpec, List)}
+   * @return code block
+   */
+  public static CodeBlock releaseFinally(CodeBlock invoke, CodeBlock release) {
+    return CodeBlock.builder()
+        .beginControlFlow("try")
+        .add(invoke)
+        .nextControlFlow("finally")
+        .add(release)
+        .endControlFlow()
+        .build();
+  }
+
+  private static String defaultValue(TypeName type) {
+    if (!type.isPrimitive()) {
+      return "null";
+    }
+    return type.equals(BOOLEAN) ? "false" : "0";
+  }
+
+  private static CodeBlock stripe() {
+    return CodeBlock.of("$T.currentThread().hashCode() & $L", Thread.class, STRIPES - 1);
+  }
+
+  private Reuse() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
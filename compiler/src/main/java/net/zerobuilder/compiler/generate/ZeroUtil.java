@@ -1,5 +1,6 @@
 package net.zerobuilder.compiler.generate;
 
+import com.palantir.javapoet.ArrayTypeName;
 import com.palantir.javapoet.ClassName;
 import com.palantir.javapoet.CodeBlock;
 import com.palantir.javapoet.FieldSpec;
@@ -20,6 +21,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -39,7 +41,7 @@ public final class ZeroUtil {
 
   static final class ClassNames {
 
-    static final ClassName THREAD_LOCAL = ClassName.get(ThreadLocal.class);
+    static final ClassName ATOMIC_REFERENCE_ARRAY = ClassName.get(AtomicReferenceArray.class);
 
     private ClassNames() {
       throw new UnsupportedOperationException("no instances");
@@ -301,6 +303,44 @@ public final class ZeroUtil {
     return ParameterizedTypeName.get(raw, typeVars.toArray(new TypeVariableName[0]));
   }
 
+  /**
+   * @param type a type
+   * @return the erasure of {@code type}
+   */
+  public static TypeName erasure(TypeName type) {
+    return erasure(type, List.of());
+  }
+
+  /**
+   * A type variable that is read from a type mirror has lost an explicit {@code Object} bound,
+   * so its declaration is looked up by name.
+   * If there are several, the last one wins, like a method's type variable hides one of its class.
+   *
+   * @param type          a type
+   * @param typeVariables declared type variables, with their bounds
+   * @return the erasure of {@code type}
+   */
+  public static TypeName erasure(TypeName type, List<TypeVariableName> typeVariables) {
+    if (type instanceof ParameterizedTypeName parameterized) {
+      return parameterized.rawType();
+    }
+    if (type instanceof TypeVariableName typeVariable) {
+      TypeVariableName declared = typeVariable;
+      for (TypeVariableName candidate : typeVariables) {
+        if (candidate.name().equals(typeVariable.name())) {
+          declared = candidate;
+        }
+      }
+      return declared.bounds().isEmpty() ?
+          ClassName.OBJECT :
+          erasure(declared.bounds().getFirst(), typeVariables);
+    }
+    if (type instanceof ArrayTypeName array) {
+      return ArrayTypeName.of(erasure(array.componentType(), typeVariables));
+    }
+    return type;
+  }
+
   private static Modifier[] addModifier(Modifier modifier, Modifier[] modifiers) {
     for (Modifier m : modifiers) {
       if (m == modifier) {
@@ -0,0 +1,273 @@
+package net.zerobuilder.modules.builder;
+
+import com.palantir.javapoet.AnnotationSpec;
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod;
+import net.zerobuilder.compiler.generate.DtoGoalDetails.ConstructorGoalDetails;
+import net.zerobuilder.compiler.generate.DtoGoalDetails.InstanceMethodGoalDetails;
+import net.zerobuilder.compiler.generate.DtoGoalDetails.StaticMethodGoalDetails;
+import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.SimpleRegularGoalDescription;
+import net.zerobuilder.compiler.generate.DtoRegularParameter.SimpleParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+
+import static com.palantir.javapoet.MethodSpec.constructorBuilder;
+import static com.palantir.javapoet.MethodSpec.methodBuilder;
+import static com.palantir.javapoet.TypeName.BOOLEAN;
+import static com.palantir.javapoet.TypeName.INT;
+import static com.palantir.javapoet.TypeName.VOID;
+import static com.palantir.javapoet.TypeSpec.classBuilder;
+import static com.palantir.javapoet.WildcardTypeName.subtypeOf;
+import static java.util.stream.Collectors.toList;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.zerobuilder.compiler.generate.DtoGoalDetails.isInstance;
+import static net.zerobuilder.compiler.generate.ZeroUtil.downcase;
+import static net.zerobuilder.compiler.generate.ZeroUtil.fieldSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.joinCodeBlocks;
+import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.simpleName;
+import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
+import static net.zerobuilder.modules.builder.Columns.isReifiable;
+import static net.zerobuilder.modules.builder.Columns.newArray;
+import static net.zerobuilder.modules.builder.Generator.instanceField;
+import static net.zerobuilder.modules.builder.Step.stepInterface;
+
+/**
+ * Batch builder, see {@link GoalOption#BATCH}.
+ * Each step takes a whole column: an array for a primitive parameter, a list otherwise.
+ * The steps are implemented by a single inner loader, and the last step returns the batch.
+ * {@code toArray()} invokes the goal once per row, in a loop, or in a parallel stream
+ * if {@code parallel()} was called and there are enough rows.
+ * A goal that declares exceptions can't be invoked from a stream, so its batch has no parallel mode.
+ */
+final class Batch {
+
+  private static final String SIZE = "_n";
+  private static final String PARALLEL = "_parallel";
+  private static final String RESULT = "_result";
+  private static final String LOADER = "_loader";
+  private static final String THRESHOLD = "PARALLEL_THRESHOLD";
+  private static final int PARALLEL_THRESHOLD = 8192;
+
+  private static final ClassName LIST = ClassName.get(List.class);
+
+  /**
+   * @return {@code true} if this goal has a batch builder; there is nothing to collect if it returns
+   * {@code void} or a primitive
+   */
+  static boolean batched(SimpleRegularGoalDescription description) {
+    TypeName type = description.details.type();
+    return description.options.contains(GoalOption.BATCH)
+        && !type.isPrimitive()
+        && !VOID.equals(type);
+  }
+
+  static ClassName batchType(SimpleRegularGoalDescription description) {
+    return description.context.generatedType.nestedClass(upcase(description.details.name()) + "Batch");
+  }
+
+  private static ClassName loaderType(SimpleRegularGoalDescription description) {
+    return batchType(description).nestedClass("Loader");
+  }
+
+  private static boolean parallelMode(SimpleRegularGoalDescription description) {
+    return description.thrownTypes.isEmpty();
+  }
+
+  private static TypeName columnType(TypeName type) {
+    if (type.isPrimitive()) {
+      return ArrayTypeName.of(type);
+    }
+    return ParameterizedTypeName.get(LIST, subtypeOf(type));
+  }
+
+  static BuilderMethod batchMethod(SimpleRegularGoalDescription description) {
+    String name = description.details.name() + "Batch";
+    ParameterSpec size = parameterSpec(INT, "n");
+    MethodSpec.Builder method = methodBuilder(name)
+        .returns(batchType(description).nestedClass(upcase(description.parameters.get(0).name)))
+        .addModifiers(description.details.access(STATIC));
+    if (isInstance(description.details)) {
+      TypeName type = description.context.type;
+      ParameterSpec instance = parameterSpec(type, downcase(simpleName(type)));
+      method.addParameter(instance)
+          .addParameter(size)
+          .addStatement("return new $T($N, $N).$N", batchType(description), instance, size, LOADER);
+    } else {
+      method.addParameter(size)
+          .addStatement("return new $T($N).$N", batchType(description), size, LOADER);
+    }
+    return new BuilderMethod(name, method.build());
+  }
+
+  static TypeSpec defineBatch(SimpleRegularGoalDescription description) {
+    ClassName type = batchType(description);
+    TypeSpec.Builder batch = classBuilder(type)
+        .addFields(fields(description))
+        .addMethod(constructor(description));
+    if (parallelMode(description)) {
+      batch.addMethod(methodBuilder("parallel")
+          .returns(type)
+          .addStatement("this.$N = true", PARALLEL)
+          .addStatement("return this")
+          .addModifiers(PUBLIC)
+          .build());
+    }
+    return batch.addMethod(toArrayMethod(description))
+        .addMethod(toListMethod(description))
+        .addTypes(IntStream.range(0, description.parameters.size())
+            .mapToObj(stepInterface(description, type, type, Collections.emptyList(), Batch::columnType))
+            .collect(toList()))
+        .addType(defineLoader(description))
+        .addModifiers(PUBLIC, STATIC, FINAL)
+        .build();
+  }
+
+  private static List<FieldSpec> fields(SimpleRegularGoalDescription description) {
+    List<FieldSpec> fields = new ArrayList<>(description.parameters.size() + 5);
+    if (parallelMode(description)) {
+      fields.add(FieldSpec.builder(INT, THRESHOLD, PUBLIC, STATIC, FINAL)
+          .initializer("$L", PARALLEL_THRESHOLD)
+          .build());
+    }
+    if (isInstance(description.details)) {
+      fields.add(instanceField(description));
+    }
+    fields.add(fieldSpec(INT, SIZE, PRIVATE, FINAL));
+    for (SimpleParameter parameter : description.parameters) {
+      fields.add(fieldSpec(columnType(parameter.type), parameter.name, PRIVATE));
+    }
+    if (parallelMode(description)) {
+      fields.add(fieldSpec(BOOLEAN, PARALLEL, PRIVATE));
+    }
+    fields.add(FieldSpec.builder(loaderType(description), LOADER, PRIVATE, FINAL)
+        .initializer("new $T()", loaderType(description))
+        .build());
+    return fields;
+  }
+
+  private static MethodSpec constructor(SimpleRegularGoalDescription description) {
+    MethodSpec.Builder constructor = constructorBuilder();
+    if (isInstance(description.details)) {
+      TypeName type = description.context.type;
+      ParameterSpec parameter = parameterSpec(type, downcase(simpleName(type)));
+      constructor.addParameter(parameter)
+          .addStatement("this.$N = $N", instanceField(description), parameter);
+    }
+    ParameterSpec size = parameterSpec(INT, "n");
+    return constructor.addParameter(size)
+        .addStatement("this.$N = $N", SIZE, size)
+        .build();
+  }
+
+  private static TypeSpec defineLoader(SimpleRegularGoalDescription description) {
+    ClassName batch = batchType(description);
+    TypeSpec.Builder loader = classBuilder(loaderType(description))
+        .addSuperinterfaces(description.parameters.stream()
+            .map(parameter -> batch.nestedClass(upcase(parameter.name)))
+            .collect(toList()));
+    for (int i = 0; i < description.parameters.size(); i++) {
+      loader.addMethod(stepMethod(description, i));
+    }
+    return loader.addModifiers(PRIVATE, FINAL).build();
+  }
+
+  private static MethodSpec stepMethod(SimpleRegularGoalDescription description, int i) {
+    ClassName batch = batchType(description);
+    SimpleParameter step = description.parameters.get(i);
+    ParameterSpec parameter = parameterSpec(columnType(step.type), step.name);
+    boolean last = i == description.parameters.size() - 1;
+    String length = step.type.isPrimitive() ? "length" : "size()";
+    MethodSpec.Builder method = methodBuilder(step.name)
+        .addAnnotation(Override.class)
+        .addParameter(parameter)
+        .returns(last ? batch : batch.nestedClass(upcase(description.parameters.get(i + 1).name)))
+        .beginControlFlow("if ($N.$L != $T.this.$N)", parameter, length, batch, SIZE)
+        .addStatement("throw new $T($S + $T.this.$N + $S + $N.$L)", IllegalArgumentException.class,
+            step.name + ": expected ", batch, SIZE, " rows, got ", parameter, length)
+        .endControlFlow()
+        .addStatement("$T.this.$N = $N", batch, step.name, parameter)
+        .addModifiers(PUBLIC);
+    if (last) {
+      method.addStatement("return $T.this", batch);
+    } else {
+      method.addStatement("return this");
+    }
+    return method.build();
+  }
+
+  private static MethodSpec toArrayMethod(SimpleRegularGoalDescription description) {
+    TypeName type = description.details.type();
+    TypeName arrayType = ArrayTypeName.of(type);
+    CodeBlock invoke = invoke(description);
+    CodeBlock.Builder code = CodeBlock.builder()
+        .addStatement("$T $N = $L", arrayType, RESULT, newArray(type, CodeBlock.of("this.$N", SIZE)));
+    if (parallelMode(description)) {
+      code.beginControlFlow("if (this.$N && this.$N >= $N)", PARALLEL, SIZE, THRESHOLD)
+          .addStatement("$T.range(0, this.$N).parallel().forEach(i -> $N[i] = $L)", IntStream.class, SIZE,
+              RESULT, invoke)
+          .nextControlFlow("else");
+    }
+    code.beginControlFlow("for (int i = 0; i < this.$N; i++)", SIZE)
+        .addStatement("$N[i] = $L", RESULT, invoke)
+        .endControlFlow();
+    if (parallelMode(description)) {
+      code.endControlFlow();
+    }
+    MethodSpec.Builder method = methodBuilder("toArray");
+    if (!isReifiable(type)) {
+      method.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+          .addMember("value", "$S", "unchecked")
+          .build());
+    }
+    return method.returns(arrayType)
+        .addExceptions(description.thrownTypes)
+        .addCode(code.build())
+        .addStatement("return $N", RESULT)
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static MethodSpec toListMethod(SimpleRegularGoalDescription description) {
+    return methodBuilder("toList")
+        .returns(ParameterizedTypeName.get(LIST, description.details.type()))
+        .addExceptions(description.thrownTypes)
+        .addStatement("return $T.unmodifiableList($T.asList(toArray()))", Collections.class, Arrays.class)
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static CodeBlock invoke(SimpleRegularGoalDescription description) {
+    CodeBlock arguments = description.unshuffle(description.parameters).stream()
+        .map(parameter -> parameter.type.isPrimitive() ?
+            CodeBlock.of("this.$N[i]", parameter.name) :
+            CodeBlock.of("this.$N.get(i)", parameter.name))
+        .collect(joinCodeBlocks(", "));
+    return switch (description.details) {
+      case ConstructorGoalDetails constructor -> CodeBlock.of("new $T($L)", constructor.type(), arguments);
+      case StaticMethodGoalDetails staticMethod -> CodeBlock.of("$T.$N($L)", description.context.type,
+          staticMethod.methodName, arguments);
+      case InstanceMethodGoalDetails instanceMethod -> CodeBlock.of("this.$N.$N($L)", instanceField(description),
+          instanceMethod.methodName, arguments);
+    };
+  }
+
+  private Batch() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
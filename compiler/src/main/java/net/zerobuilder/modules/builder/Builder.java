@@ -1,5 +1,6 @@
 package net.zerobuilder.modules.builder;
 
+import com.palantir.javapoet.ArrayTypeName;
 import com.palantir.javapoet.CodeBlock;
 import com.palantir.javapoet.FieldSpec;
 import com.palantir.javapoet.MethodSpec;
@@ -10,10 +11,12 @@ import java.util.List;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import net.zerobuilder.compiler.generate.DtoGoalDetails;
-import net.zerobuilder.compiler.generate.DtoGoalDetails.AbstractRegularDetails;
 import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.SimpleRegularGoalDescription;
 import net.zerobuilder.compiler.generate.DtoRegularParameter.SimpleParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+import net.zerobuilder.compiler.generate.Reuse;
 
+import static com.palantir.javapoet.ClassName.OBJECT;
 import static com.palantir.javapoet.MethodSpec.methodBuilder;
 import static com.palantir.javapoet.TypeName.VOID;
 import static java.util.Collections.emptyList;
@@ -27,11 +30,12 @@ import static net.zerobuilder.compiler.generate.ZeroUtil.rawClassName;
 import static net.zerobuilder.compiler.generate.ZeroUtil.simpleName;
 import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
 import static net.zerobuilder.modules.builder.Generator.instanceField;
+import static net.zerobuilder.modules.builder.RegularBuilder.internerField;
+import static net.zerobuilder.modules.builder.RegularBuilder.interned;
+import static net.zerobuilder.modules.builder.RegularBuilder.poolField;
 
 final class Builder {
 
-  static final String IN_USE = "_currently_in_use";
-
   static TypeName nextType(int i, SimpleRegularGoalDescription description) {
     if (i < description.parameters.size() - 1) {
       return description.context.generatedType
@@ -52,6 +56,9 @@ final class Builder {
         .limit(steps.size() - 1)
         .map(parameter -> fieldSpec(parameter.type, parameter.name, PRIVATE))
         .forEach(builder::add);
+    if (description.options.contains(GoalOption.REUSE)) {
+      builder.add(Reuse.inUseField());
+    }
     return builder;
   };
 
@@ -81,18 +88,27 @@ final class Builder {
     TypeName type = step.type;
     String name = step.name;
     ParameterSpec parameter = parameterSpec(type, name);
+    CodeBlock.Builder code = CodeBlock.builder();
+    if (description.options.contains(GoalOption.REUSE)) {
+      code.add(Reuse.checkInUse());
+    }
     if (i == description.parameters.size() - 1) {
-      return regularInvoke(description.details, description);
-    } else {
-      return CodeBlock.builder()
-          .addStatement("this.$N = $N", fieldSpec(step.type, step.name), parameter)
-          .addStatement("return this")
-          .build();
+      CodeBlock invoke = invoke(description);
+      return code.add(description.options.contains(GoalOption.REUSE) ?
+          Reuse.releaseFinally(invoke, release(description)) :
+          invoke).build();
     }
+    return code.addStatement("this.$N = $N", fieldSpec(step.type, step.name), parameter)
+        .addStatement("return this")
+        .build();
   }
 
-  private static CodeBlock regularInvoke(AbstractRegularDetails details, SimpleRegularGoalDescription description) {
-    return switch (details) {
+  /**
+   * Invokes the goal and returns the result, if any.
+   * The arguments must be in scope, by their parameter names.
+   */
+  static CodeBlock invoke(SimpleRegularGoalDescription description) {
+    return switch (description.details) {
       case DtoGoalDetails.ConstructorGoalDetails constructor -> constructorCall(description, constructor);
       case DtoGoalDetails.StaticMethodGoalDetails staticMethod -> staticCall(description, staticMethod);
       case DtoGoalDetails.InstanceMethodGoalDetails instanceMethod -> instanceCall(description, instanceMethod);
@@ -106,7 +122,7 @@ final class Builder {
         '_' + downcase(simpleName(type)));
     CodeBlock.Builder builder = CodeBlock.builder();
     CodeBlock args = description.invocationParameters();
-    builder.addStatement("$T $N = new $T($L)", varGoal.type(), varGoal, type, args);
+    builder.add(assign(description, varGoal, CodeBlock.of("new $T($L)", type, args)));
     return builder.addStatement("return $N", varGoal).build();
   }
 
@@ -121,8 +137,8 @@ final class Builder {
       builder.addStatement("this.$N.$N($L)", instanceField(description),
           method, description.invocationParameters());
     } else {
-      builder.addStatement("$T $N = this.$N.$N($L)", varGoal.type(), varGoal, instanceField(description),
-          method, description.invocationParameters());
+      builder.add(assign(description, varGoal, CodeBlock.of("this.$N.$N($L)", instanceField(description),
+          method, description.invocationParameters())));
     }
     if (!VOID.equals(type)) {
       builder.addStatement("return $N", varGoal);
@@ -141,9 +157,9 @@ final class Builder {
       builder.addStatement("$T.$N($L)", rawClassName(description.context.type),
           method, description.invocationParameters());
     } else {
-      builder.addStatement("$T $N = $T.$N($L)", varGoal.type(), varGoal,
+      builder.add(assign(description, varGoal, CodeBlock.of("$T.$N($L)",
           rawClassName(description.context.type),
-          method, description.invocationParameters());
+          method, description.invocationParameters())));
     }
     if (!VOID.equals(type)) {
       builder.addStatement("return $N", varGoal);
@@ -151,6 +167,34 @@ final class Builder {
     return builder.build();
   }
 
+  /**
+   * Declares {@code varGoal}, and assigns the result of {@code goal}.
+   * If the goal is interned, {@code goal} is only evaluated if there is no cached instance.
+   */
+  private static CodeBlock assign(SimpleRegularGoalDescription description, ParameterSpec varGoal, CodeBlock goal) {
+    if (!interned(description)) {
+      return CodeBlock.builder()
+          .addStatement("$T $N = $L", varGoal.type(), varGoal, goal)
+          .build();
+    }
+    FieldSpec interner = internerField(description);
+    ParameterSpec varKey = parameterSpec(ArrayTypeName.of(OBJECT), "_key");
+    CodeBlock key = isInstance(description.details) ?
+        CodeBlock.of("this.$N, $L", instanceField(description), description.invocationParameters()) :
+        description.invocationParameters();
+    return CodeBlock.builder()
+        .addStatement("$T $N = {$L}", varKey.type(), varKey, key)
+        .addStatement("$T $N = $N.get($N)", varGoal.type(), varGoal, interner, varKey)
+        .beginControlFlow("if ($N == null)", varGoal)
+        .addStatement("$N = $N.putIfAbsent($N, $L)", varGoal, interner, varKey, goal)
+        .endControlFlow()
+        .build();
+  }
+
+  private static CodeBlock release(SimpleRegularGoalDescription description) {
+    return Reuse.release(poolField(description), fields.apply(description));
+  }
+
   private Builder() {
     throw new UnsupportedOperationException("no instances");
   }
@@ -0,0 +1,301 @@
+package net.zerobuilder.modules.builder;
+
+import com.palantir.javapoet.AnnotationSpec;
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod;
+import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.SimpleRegularGoalDescription;
+import net.zerobuilder.compiler.generate.DtoRegularParameter.SimpleParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+
+import static com.palantir.javapoet.ClassName.OBJECT;
+import static com.palantir.javapoet.MethodSpec.constructorBuilder;
+import static com.palantir.javapoet.MethodSpec.methodBuilder;
+import static com.palantir.javapoet.TypeName.BOOLEAN;
+import static com.palantir.javapoet.TypeName.DOUBLE;
+import static com.palantir.javapoet.TypeName.FLOAT;
+import static com.palantir.javapoet.TypeName.INT;
+import static com.palantir.javapoet.TypeName.LONG;
+import static com.palantir.javapoet.TypeSpec.classBuilder;
+import static com.palantir.javapoet.WildcardTypeName.subtypeOf;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.zerobuilder.compiler.generate.ZeroUtil.erasure;
+import static net.zerobuilder.compiler.generate.ZeroUtil.fieldSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
+import static net.zerobuilder.modules.builder.Step.stepInterface;
+
+/**
+ * Columnar container, see {@link GoalOption#COLUMNS}.
+ * There is one array per parameter, and the rows {@code [0, _size)} are never changed.
+ * The arrays are replaced by copies of twice the length when they are full.
+ * Rows are appended through a copy of the step interfaces, which is implemented by a single inner appender.
+ * The last step commits the row.
+ */
+final class Columns {
+
+  private static final String SIZE = "_size";
+  private static final String APPENDER = "_appender";
+  private static final String COLUMN = "_column";
+  private static final String ROW = "row";
+  private static final int MIN_CAPACITY = 16;
+
+  private static final ClassName SPLITERATOR = ClassName.get(Spliterator.class);
+  private static final ClassName SPLITERATOR_OF_INT = ClassName.get(Spliterator.OfInt.class);
+  private static final ClassName SPLITERATOR_OF_LONG = ClassName.get(Spliterator.OfLong.class);
+  private static final ClassName SPLITERATOR_OF_DOUBLE = ClassName.get(Spliterator.OfDouble.class);
+
+  static ClassName columnsType(SimpleRegularGoalDescription description) {
+    return description.context.generatedType.nestedClass(upcase(description.details.name()) + "Columns");
+  }
+
+  private static ClassName appenderType(SimpleRegularGoalDescription description) {
+    return columnsType(description).nestedClass("Appender");
+  }
+
+  static BuilderMethod columnsMethod(SimpleRegularGoalDescription description) {
+    String name = description.details.name() + "Columns";
+    ParameterSpec capacity = parameterSpec(INT, "capacity");
+    return new BuilderMethod(name, methodBuilder(name)
+        .addParameter(capacity)
+        .returns(columnsType(description))
+        .addStatement("return new $T($N)", columnsType(description), capacity)
+        .addModifiers(description.details.access(STATIC))
+        .build());
+  }
+
+  static TypeSpec defineColumns(SimpleRegularGoalDescription description) {
+    ClassName type = columnsType(description);
+    TypeSpec.Builder columns = classBuilder(type)
+        .addFields(fields(description))
+        .addMethod(constructor(description))
+        .addMethod(appendMethod(description))
+        .addMethod(growMethod(description))
+        .addMethod(methodBuilder("size")
+            .returns(INT)
+            .addStatement("return this.$N", SIZE)
+            .addModifiers(PUBLIC)
+            .build());
+    for (SimpleParameter parameter : description.parameters) {
+      columns.addMethod(accessor(parameter));
+    }
+    columns.addMethod(getMethod(description))
+        .addMethod(rowSpliterator(description));
+    for (SimpleParameter parameter : description.parameters) {
+      columns.addMethod(columnSpliterator(parameter));
+    }
+    return columns.addTypes(IntStream.range(0, description.parameters.size())
+            .mapToObj(stepInterface(description, type, type, emptyList()))
+            .collect(toList()))
+        .addType(defineAppender(description))
+        .addModifiers(PUBLIC, STATIC, FINAL)
+        .build();
+  }
+
+  private static List<FieldSpec> fields(SimpleRegularGoalDescription description) {
+    List<FieldSpec> fields = new ArrayList<>(description.parameters.size() + 2);
+    for (SimpleParameter parameter : description.parameters) {
+      fields.add(fieldSpec(ArrayTypeName.of(parameter.type), parameter.name, PRIVATE));
+    }
+    fields.add(fieldSpec(INT, SIZE, PRIVATE));
+    fields.add(FieldSpec.builder(appenderType(description), APPENDER, PRIVATE, FINAL)
+        .initializer("new $T()", appenderType(description))
+        .build());
+    return fields;
+  }
+
+  private static MethodSpec constructor(SimpleRegularGoalDescription description) {
+    ParameterSpec capacity = parameterSpec(INT, "capacity");
+    MethodSpec.Builder constructor = constructorBuilder()
+        .addParameter(capacity);
+    boolean unchecked = false;
+    for (SimpleParameter parameter : description.parameters) {
+      constructor.addStatement("this.$N = $L", parameter.name, newArray(parameter.type, CodeBlock.of("$N", capacity)));
+      unchecked |= !isReifiable(parameter.type);
+    }
+    if (unchecked) {
+      constructor.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+          .addMember("value", "$S", "unchecked")
+          .build());
+    }
+    return constructor.build();
+  }
+
+  private static MethodSpec appendMethod(SimpleRegularGoalDescription description) {
+    SimpleParameter first = description.parameters.get(0);
+    return methodBuilder("append")
+        .returns(columnsType(description).nestedClass(upcase(first.name)))
+        .beginControlFlow("if (this.$N == this.$N.length)", SIZE, first.name)
+        .addStatement("grow()")
+        .endControlFlow()
+        .addStatement("return this.$N", APPENDER)
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static MethodSpec growMethod(SimpleRegularGoalDescription description) {
+    MethodSpec.Builder method = methodBuilder("grow")
+        .addStatement("int capacity = $T.max($L, (int) $T.min(2L * this.$N, $T.MAX_VALUE - 8))",
+            Math.class, MIN_CAPACITY, Math.class, SIZE, Integer.class);
+    for (SimpleParameter parameter : description.parameters) {
+      method.addStatement("this.$N = $T.copyOf(this.$N, capacity)", parameter.name, Arrays.class, parameter.name);
+    }
+    return method.addModifiers(PRIVATE).build();
+  }
+
+  private static MethodSpec accessor(SimpleParameter parameter) {
+    ParameterSpec row = parameterSpec(INT, ROW);
+    return methodBuilder(parameter.name)
+        .addParameter(row)
+        .returns(parameter.type)
+        .addStatement("$T.checkIndex($N, this.$N)", Objects.class, row, SIZE)
+        .addStatement("return this.$N[$N]", parameter.name, row)
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static MethodSpec getMethod(SimpleRegularGoalDescription description) {
+    ParameterSpec row = parameterSpec(INT, ROW);
+    String arguments = description.details.parameterNames().stream()
+        .map(name -> "this." + name + "[" + ROW + "]")
+        .collect(joining(", "));
+    return methodBuilder("get")
+        .addParameter(row)
+        .returns(description.details.type())
+        .addStatement("$T.checkIndex($N, this.$N)", Objects.class, row, SIZE)
+        .addStatement("return new $T($L)", description.details.type(), arguments)
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static MethodSpec rowSpliterator(SimpleRegularGoalDescription description) {
+    return methodBuilder("spliterator")
+        .returns(ParameterizedTypeName.get(SPLITERATOR, description.details.type()))
+        .addStatement("return $T.range(0, this.$N).mapToObj(this::get).spliterator()", IntStream.class, SIZE)
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  /**
+   * {@link Spliterators} has array spliterators for {@code int}, {@code long}, {@code double} and references.
+   * The other primitive columns are widened in a range stream.
+   */
+  private static MethodSpec columnSpliterator(SimpleParameter parameter) {
+    TypeName type = parameter.type;
+    MethodSpec.Builder method = methodBuilder(parameter.name + "Spliterator")
+        .addModifiers(PUBLIC);
+    if (!type.isPrimitive() || type.equals(INT) || type.equals(LONG) || type.equals(DOUBLE)) {
+      return method.returns(spliteratorType(type))
+          .addStatement("return $T.spliterator(this.$N, 0, this.$N, $T.ORDERED | $T.IMMUTABLE)",
+              Spliterators.class, parameter.name, SIZE, SPLITERATOR, SPLITERATOR)
+          .build();
+    }
+    String map = type.equals(FLOAT) ? "mapToDouble" : type.equals(BOOLEAN) ? "mapToObj" : "map";
+    return method.returns(spliteratorType(type))
+        .addStatement("$T $N = this.$N", ArrayTypeName.of(type), COLUMN, parameter.name)
+        .addStatement("return $T.range(0, this.$N).$N(i -> $N[i]).spliterator()", IntStream.class, SIZE, map,
+            COLUMN)
+        .build();
+  }
+
+  private static TypeName spliteratorType(TypeName type) {
+    if (type.equals(LONG)) {
+      return SPLITERATOR_OF_LONG;
+    }
+    if (type.equals(DOUBLE) || type.equals(FLOAT)) {
+      return SPLITERATOR_OF_DOUBLE;
+    }
+    if (type.isPrimitive() && !type.equals(BOOLEAN)) {
+      return SPLITERATOR_OF_INT;
+    }
+    return ParameterizedTypeName.get(SPLITERATOR, type.box());
+  }
+
+  private static TypeSpec defineAppender(SimpleRegularGoalDescription description) {
+    ClassName columns = columnsType(description);
+    TypeSpec.Builder appender = classBuilder(appenderType(description))
+        .addSuperinterfaces(description.parameters.stream()
+            .map(parameter -> columns.nestedClass(upcase(parameter.name)))
+            .collect(toList()));
+    for (int i = 0; i < description.parameters.size(); i++) {
+      SimpleParameter step = description.parameters.get(i);
+      ParameterSpec parameter = parameterSpec(step.type, step.name);
+      boolean last = i == description.parameters.size() - 1;
+      MethodSpec.Builder method = methodBuilder(step.name)
+          .addAnnotation(Override.class)
+          .addParameter(parameter)
+          .returns(last ? columns : columns.nestedClass(upcase(description.parameters.get(i + 1).name)))
+          .addStatement("$T.this.$N[$T.this.$N] = $N", columns, step.name, columns, SIZE, parameter)
+          .addModifiers(PUBLIC);
+      if (last) {
+        method.addStatement("$T.this.$N++", columns, SIZE)
+            .addStatement("return $T.this", columns);
+      } else {
+        method.addStatement("return this");
+      }
+      appender.addMethod(method.build());
+    }
+    return appender.addModifiers(PRIVATE, FINAL).build();
+  }
+
+  /**
+   * Generic array creation is not allowed, so the erasure is created and cast.
+   */
+  static CodeBlock newArray(TypeName type, CodeBlock length) {
+    TypeName element = erasure(type);
+    int dimensions = 0;
+    while (element instanceof ArrayTypeName array) {
+      element = array.componentType();
+      dimensions++;
+    }
+    CodeBlock allocation = CodeBlock.of("new $T[$L]$L", wildcards(type, element), length, "[]".repeat(dimensions));
+    if (isReifiable(type)) {
+      return allocation;
+    }
+    return CodeBlock.of("($T[]) $L", type, allocation);
+  }
+
+  /**
+   * @return {@code raw} with unbounded wildcards, if the element type of {@code type} is parameterized
+   */
+  private static TypeName wildcards(TypeName type, TypeName raw) {
+    TypeName element = type;
+    while (element instanceof ArrayTypeName array) {
+      element = array.componentType();
+    }
+    if (element instanceof ParameterizedTypeName parameterized && raw instanceof ClassName rawClass) {
+      return ParameterizedTypeName.get(rawClass, nCopies(parameterized.typeArguments().size(), subtypeOf(OBJECT))
+          .toArray(new TypeName[0]));
+    }
+    return raw;
+  }
+
+  static boolean isReifiable(TypeName type) {
+    return erasure(type).equals(type);
+  }
+
+  private Columns() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
@@ -0,0 +1,155 @@
+package net.zerobuilder.modules.builder;
+
+import com.palantir.javapoet.AnnotationSpec;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.List;
+import net.zerobuilder.CompactStep;
+import net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod;
+import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.SimpleRegularGoalDescription;
+import net.zerobuilder.compiler.generate.DtoRegularParameter.SimpleParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+import net.zerobuilder.compiler.generate.Reuse;
+
+import static com.palantir.javapoet.ClassName.OBJECT;
+import static com.palantir.javapoet.MethodSpec.methodBuilder;
+import static com.palantir.javapoet.TypeName.INT;
+import static com.palantir.javapoet.TypeName.VOID;
+import static com.palantir.javapoet.TypeSpec.classBuilder;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.zerobuilder.compiler.generate.DtoGoalDetails.isInstance;
+import static net.zerobuilder.compiler.generate.ZeroUtil.downcase;
+import static net.zerobuilder.compiler.generate.ZeroUtil.fieldSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.simpleName;
+import static net.zerobuilder.modules.builder.Generator.instanceField;
+import static net.zerobuilder.modules.builder.RegularBuilder.implType;
+import static net.zerobuilder.modules.builder.RegularBuilder.methodName;
+import static net.zerobuilder.modules.builder.RegularBuilder.poolField;
+import static net.zerobuilder.modules.builder.RegularBuilder.regularConstructor;
+
+/**
+ * Compact builder, see {@link GoalOption#COMPACT}.
+ * There are no step interfaces, every step is a {@link CompactStep}.
+ * The only generated class is the implementation, which counts the steps.
+ * It can't tell which step reference was used, so a reused reference sets the next argument.
+ */
+final class Compact {
+
+  private static final ClassName COMPACT_STEP = ClassName.get(CompactStep.class);
+
+  private static final String STEP = "_step";
+  private static final String VALUE = "_value";
+
+  private static TypeName stepType(int i, SimpleRegularGoalDescription description) {
+    TypeName next = i == description.parameters.size() - 1 ?
+        description.details.type().box() :
+        stepType(i + 1, description);
+    return ParameterizedTypeName.get(COMPACT_STEP, description.parameters.get(i).type.box(), next);
+  }
+
+  static BuilderMethod builderMethod(SimpleRegularGoalDescription description) {
+    MethodSpec.Builder method = methodBuilder(methodName(description))
+        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+            .addMember("value", "$S", "unchecked")
+            .addMember("value", "$S", "rawtypes")
+            .build())
+        .returns(stepType(0, description))
+        .addModifiers(description.details.access(STATIC));
+    TypeName type = description.context.type;
+    ParameterSpec varInstance = parameterSpec(type, downcase(simpleName(type)));
+    if (isInstance(description.details)) {
+      method.addParameter(varInstance);
+    }
+    if (description.options.contains(GoalOption.REUSE)) {
+      ParameterSpec varBuilder = parameterSpec(implType(description), "_builder");
+      method.addCode(Reuse.acquire(poolField(description), varBuilder));
+      if (isInstance(description.details)) {
+        method.addStatement("$N.$N = $N", varBuilder, instanceField(description), varInstance);
+      }
+      method.addStatement("return ($T) $N", COMPACT_STEP, varBuilder);
+    } else if (isInstance(description.details)) {
+      method.addStatement("return ($T) new $T($N)", COMPACT_STEP, implType(description), varInstance);
+    } else {
+      method.addStatement("return ($T) new $T()", COMPACT_STEP, implType(description));
+    }
+    return new BuilderMethod(description.details.name(), method.build());
+  }
+
+  static TypeSpec defineImpl(SimpleRegularGoalDescription description) {
+    return classBuilder(implType(description))
+        .addSuperinterface(ParameterizedTypeName.get(COMPACT_STEP, OBJECT, OBJECT))
+        .addFields(fields(description))
+        .addMethod(regularConstructor(description.details, description))
+        .addMethod(setMethod(description))
+        .addModifiers(PRIVATE, STATIC, FINAL)
+        .build();
+  }
+
+  private static List<FieldSpec> fields(SimpleRegularGoalDescription description) {
+    List<FieldSpec> fields = new ArrayList<>(Builder.fields.apply(description));
+    fields.add(fieldSpec(INT, STEP, PRIVATE));
+    return fields;
+  }
+
+  private static MethodSpec setMethod(SimpleRegularGoalDescription description) {
+    ParameterSpec value = parameterSpec(OBJECT, VALUE);
+    int last = description.parameters.size() - 1;
+    CodeBlock.Builder code = CodeBlock.builder();
+    if (description.options.contains(GoalOption.REUSE)) {
+      code.add(Reuse.checkInUse());
+    }
+    code.beginControlFlow("switch (this.$N++)", STEP);
+    for (int i = 0; i < last; i++) {
+      SimpleParameter step = description.parameters.get(i);
+      code.add("case $L:\n", i).indent()
+          .addStatement("this.$N = ($T) $N", step.name, step.type, value)
+          .addStatement("return this")
+          .unindent();
+    }
+    SimpleParameter step = description.parameters.get(last);
+    CodeBlock.Builder invoke = CodeBlock.builder()
+        .addStatement("$T $N = ($T) $N", step.type, step.name, step.type, value)
+        .add(Builder.invoke(description));
+    if (VOID.equals(description.details.type())) {
+      invoke.addStatement("return null");
+    }
+    code.add("case $L:\n", last).indent()
+        .add(description.options.contains(GoalOption.REUSE) ?
+            Reuse.releaseFinally(invoke.build(), release(description)) :
+            invoke.build())
+        .unindent()
+        .add("default:\n").indent()
+        .addStatement("throw new $T($S)", IllegalStateException.class, "all steps were already set")
+        .unindent()
+        .endControlFlow();
+    return methodBuilder("set")
+        .addAnnotation(Override.class)
+        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+            .addMember("value", "$S", "unchecked")
+            .build())
+        .addParameter(value)
+        .returns(OBJECT)
+        .addCode(code.build())
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static CodeBlock release(SimpleRegularGoalDescription description) {
+    return Reuse.release(poolField(description), fields(description));
+  }
+
+  private Compact() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
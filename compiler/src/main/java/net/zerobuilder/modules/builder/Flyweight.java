@@ -0,0 +1,279 @@
+package net.zerobuilder.modules.builder;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod;
+import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.SimpleRegularGoalDescription;
+import net.zerobuilder.compiler.generate.DtoRegularParameter.SimpleParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+
+import static com.palantir.javapoet.MethodSpec.constructorBuilder;
+import static com.palantir.javapoet.MethodSpec.methodBuilder;
+import static com.palantir.javapoet.TypeName.BOOLEAN;
+import static com.palantir.javapoet.TypeName.BYTE;
+import static com.palantir.javapoet.TypeName.CHAR;
+import static com.palantir.javapoet.TypeName.FLOAT;
+import static com.palantir.javapoet.TypeName.INT;
+import static com.palantir.javapoet.TypeName.LONG;
+import static com.palantir.javapoet.TypeName.SHORT;
+import static com.palantir.javapoet.TypeSpec.classBuilder;
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.zerobuilder.compiler.generate.ZeroUtil.fieldSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
+import static net.zerobuilder.modules.builder.Step.stepInterface;
+
+/**
+ * Flyweight over a {@code java.lang.foreign.MemorySegment}, see {@link GoalOption#FLYWEIGHT}.
+ * Each record takes {@code BYTES} bytes of the segment.
+ * The components are laid out by decreasing size, so each of them is naturally aligned
+ * if the segment is aligned to {@code ALIGNMENT}, as it is by {@code allocate}.
+ * The unaligned layouts are used anyway, so that heap segments work, too.
+ * The flyweight points at one record at a time, and has a getter for each component.
+ * Its inner writer implements the flyweight's own copy of the step interfaces,
+ * which write the components in place.
+ */
+final class Flyweight {
+
+  private static final String FOREIGN = "java.lang.foreign";
+
+  private static final ClassName MEMORY_SEGMENT = ClassName.get(FOREIGN, "MemorySegment");
+  private static final ClassName SEGMENT_ALLOCATOR = ClassName.get(FOREIGN, "SegmentAllocator");
+  private static final ClassName VALUE_LAYOUT = ClassName.get(FOREIGN, "ValueLayout");
+
+  private static final String SEGMENT = "_segment";
+  private static final String OFFSET = "_offset";
+  private static final String WRITER = "_writer";
+  private static final String BYTES = "BYTES";
+  private static final String ALIGNMENT = "ALIGNMENT";
+
+  static ClassName flyweightType(SimpleRegularGoalDescription description) {
+    return description.context.generatedType.nestedClass(upcase(description.details.name()) + "Flyweight");
+  }
+
+  private static ClassName writerType(SimpleRegularGoalDescription description) {
+    return flyweightType(description).nestedClass("Writer");
+  }
+
+  static BuilderMethod flyweightMethod(SimpleRegularGoalDescription description) {
+    String name = description.details.name() + "Flyweight";
+    ParameterSpec segment = parameterSpec(MEMORY_SEGMENT, "segment");
+    return new BuilderMethod(name, methodBuilder(name)
+        .addParameter(segment)
+        .returns(flyweightType(description))
+        .addStatement("return new $T($N)", flyweightType(description), segment)
+        .addModifiers(description.details.access(STATIC))
+        .build());
+  }
+
+  static TypeSpec defineFlyweight(SimpleRegularGoalDescription description) {
+    ClassName type = flyweightType(description);
+    long[] offsets = offsets(description);
+    TypeSpec.Builder flyweight = classBuilder(type)
+        .addFields(fields(description))
+        .addMethod(constructor())
+        .addMethod(allocateMethod())
+        .addMethod(countMethod())
+        .addMethod(atMethod(description))
+        .addMethod(writeMethod(description));
+    for (int i = 0; i < description.parameters.size(); i++) {
+      flyweight.addMethod(getter(description.parameters.get(i), offsets[i]));
+    }
+    return flyweight.addMethod(getMethod(description))
+        .addTypes(IntStream.range(0, description.parameters.size())
+            .mapToObj(stepInterface(description, type, type, emptyList()))
+            .collect(toList()))
+        .addType(defineWriter(description, offsets))
+        .addModifiers(PUBLIC, STATIC, FINAL)
+        .build();
+  }
+
+  private static TypeSpec defineWriter(SimpleRegularGoalDescription description, long[] offsets) {
+    ClassName flyweight = flyweightType(description);
+    TypeSpec.Builder writer = classBuilder(writerType(description))
+        .addSuperinterfaces(description.parameters.stream()
+            .map(parameter -> flyweight.nestedClass(upcase(parameter.name)))
+            .collect(toList()));
+    for (int i = 0; i < description.parameters.size(); i++) {
+      writer.addMethod(stepMethod(description, i, offsets[i]));
+    }
+    return writer.addModifiers(PRIVATE, FINAL).build();
+  }
+
+  private static List<FieldSpec> fields(SimpleRegularGoalDescription description) {
+    return List.of(
+        FieldSpec.builder(LONG, BYTES, PUBLIC, STATIC, FINAL)
+            .initializer("$LL", bytes(description))
+            .build(),
+        FieldSpec.builder(LONG, ALIGNMENT, PUBLIC, STATIC, FINAL)
+            .initializer("$LL", alignment(description))
+            .build(),
+        fieldSpec(MEMORY_SEGMENT, SEGMENT, PRIVATE, FINAL),
+        fieldSpec(LONG, OFFSET, PRIVATE),
+        FieldSpec.builder(writerType(description), WRITER, PRIVATE, FINAL)
+            .initializer("new $T()", writerType(description))
+            .build());
+  }
+
+  private static MethodSpec constructor() {
+    ParameterSpec segment = parameterSpec(MEMORY_SEGMENT, SEGMENT);
+    return constructorBuilder()
+        .addParameter(segment)
+        .addStatement("this.$N = $N", SEGMENT, segment)
+        .build();
+  }
+
+  private static MethodSpec allocateMethod() {
+    ParameterSpec allocator = parameterSpec(SEGMENT_ALLOCATOR, "allocator");
+    ParameterSpec count = parameterSpec(LONG, "count");
+    return methodBuilder("allocate")
+        .addParameter(allocator)
+        .addParameter(count)
+        .returns(MEMORY_SEGMENT)
+        .addStatement("return $N.allocate($N * $N, $N)", allocator, BYTES, count, ALIGNMENT)
+        .addModifiers(PUBLIC, STATIC)
+        .build();
+  }
+
+  private static MethodSpec countMethod() {
+    return methodBuilder("count")
+        .returns(LONG)
+        .addStatement("return this.$N.byteSize() / $N", SEGMENT, BYTES)
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static MethodSpec atMethod(SimpleRegularGoalDescription description) {
+    return positionMethod("at", flyweightType(description), CodeBlock.of("this"));
+  }
+
+  private static MethodSpec writeMethod(SimpleRegularGoalDescription description) {
+    return positionMethod("write", flyweightType(description)
+        .nestedClass(upcase(description.parameters.get(0).name)), CodeBlock.of("this.$N", WRITER));
+  }
+
+  private static MethodSpec positionMethod(String name, TypeName returnType, CodeBlock result) {
+    ParameterSpec index = parameterSpec(LONG, "index");
+    return methodBuilder(name)
+        .addParameter(index)
+        .returns(returnType)
+        .addStatement("this.$N = $N * $N", OFFSET, index, BYTES)
+        .addStatement("return $L", result)
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static MethodSpec stepMethod(SimpleRegularGoalDescription description, int i, long offset) {
+    ClassName flyweight = flyweightType(description);
+    CodeBlock owner = CodeBlock.of("$T.this", flyweight);
+    SimpleParameter step = description.parameters.get(i);
+    ParameterSpec parameter = parameterSpec(step.type, step.name);
+    boolean last = i == description.parameters.size() - 1;
+    return methodBuilder(step.name)
+        .addAnnotation(Override.class)
+        .addParameter(parameter)
+        .returns(last ? flyweight : flyweight.nestedClass(upcase(description.parameters.get(i + 1).name)))
+        .addStatement("$L.$N.set($T.$N, $L, $N)", owner, SEGMENT, VALUE_LAYOUT, layout(step.type),
+            address(owner, offset), parameter)
+        .addStatement("return $L", last ? owner : CodeBlock.of("this"))
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static MethodSpec getter(SimpleParameter step, long offset) {
+    return methodBuilder(step.name)
+        .returns(step.type)
+        .addStatement("return this.$N.get($T.$N, $L)", SEGMENT, VALUE_LAYOUT, layout(step.type),
+            address(CodeBlock.of("this"), offset))
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static MethodSpec getMethod(SimpleRegularGoalDescription description) {
+    String arguments = description.details.parameterNames().stream()
+        .map(name -> name + "()")
+        .collect(joining(", "));
+    return methodBuilder("get")
+        .returns(description.details.type())
+        .addStatement("return new $T($L)", description.details.type(), arguments)
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static CodeBlock address(CodeBlock owner, long offset) {
+    if (offset == 0) {
+      return CodeBlock.of("$L.$N", owner, OFFSET);
+    }
+    return CodeBlock.of("$L.$N + $L", owner, OFFSET, offset);
+  }
+
+  /**
+   * @return the offset of each parameter, by parameter index
+   */
+  private static long[] offsets(SimpleRegularGoalDescription description) {
+    List<SimpleParameter> bySize = new ArrayList<>(description.parameters);
+    bySize.sort(comparingInt((SimpleParameter parameter) -> size(parameter.type)).reversed());
+    long[] offsets = new long[bySize.size()];
+    long offset = 0;
+    for (SimpleParameter parameter : bySize) {
+      offsets[description.parameters.indexOf(parameter)] = offset;
+      offset += size(parameter.type);
+    }
+    return offsets;
+  }
+
+  private static long alignment(SimpleRegularGoalDescription description) {
+    return description.parameters.stream()
+        .mapToInt(parameter -> size(parameter.type))
+        .max()
+        .orElse(1);
+  }
+
+  private static long bytes(SimpleRegularGoalDescription description) {
+    long sum = description.parameters.stream()
+        .mapToInt(parameter -> size(parameter.type))
+        .sum();
+    long alignment = alignment(description);
+    return (sum + alignment - 1) / alignment * alignment;
+  }
+
+  private static int size(TypeName type) {
+    if (type.equals(BOOLEAN) || type.equals(BYTE)) {
+      return 1;
+    }
+    if (type.equals(SHORT) || type.equals(CHAR)) {
+      return 2;
+    }
+    if (type.equals(INT) || type.equals(FLOAT)) {
+      return 4;
+    }
+    return 8;
+  }
+
+  private static String layout(TypeName type) {
+    if (type.equals(BOOLEAN) || type.equals(BYTE)) {
+      return "JAVA_" + type.toString().toUpperCase(Locale.ROOT);
+    }
+    return "JAVA_" + type.toString().toUpperCase(Locale.ROOT) + "_UNALIGNED";
+  }
+
+  private Flyweight() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
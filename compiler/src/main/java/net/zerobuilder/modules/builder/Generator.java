@@ -14,6 +14,8 @@ import net.zerobuilder.compiler.generate.DtoGoalDetails.InstanceMethodGoalDetail
 import net.zerobuilder.compiler.generate.DtoGoalDetails.StaticMethodGoalDetails;
 import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.SimpleRegularGoalDescription;
 import net.zerobuilder.compiler.generate.DtoRegularParameter.SimpleParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+import net.zerobuilder.compiler.generate.Reuse;
 
 import static com.palantir.javapoet.MethodSpec.methodBuilder;
 import static javax.lang.model.element.Modifier.FINAL;
@@ -27,6 +29,7 @@ import static net.zerobuilder.compiler.generate.ZeroUtil.simpleName;
 import static net.zerobuilder.compiler.generate.ZeroUtil.statement;
 import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
 import static net.zerobuilder.modules.builder.RegularBuilder.implType;
+import static net.zerobuilder.modules.builder.RegularBuilder.poolField;
 
 final class Generator {
 
@@ -59,12 +62,26 @@ final class Generator {
 
   private static CodeBlock returnRegular(SimpleRegularGoalDescription description) {
     ParameterSpec varBuilder = builderInstance(description);
+    if (description.options.contains(GoalOption.REUSE)) {
+      return CodeBlock.builder()
+          .add(Reuse.acquire(poolField(description), varBuilder))
+          .addStatement("return $N", varBuilder)
+          .build();
+    }
     return statement("return new $T()", varBuilder.type());
   }
 
   private static CodeBlock returnInstanceMethod(
       SimpleRegularGoalDescription description,
       ParameterSpec varInstance) {
+    if (description.options.contains(GoalOption.REUSE)) {
+      ParameterSpec varBuilder = builderInstance(description);
+      return CodeBlock.builder()
+          .add(Reuse.acquire(poolField(description), varBuilder))
+          .addStatement("$N.$N = $N", varBuilder, instanceField(description), varInstance)
+          .addStatement("return $N", varBuilder)
+          .build();
+    }
     return statement("return new $T($N)", implType(description), varInstance);
   }
 
@@ -75,6 +92,9 @@ final class Generator {
   static FieldSpec instanceField(SimpleRegularGoalDescription description) {
     TypeName type = description.context.type;
     String name = '_' + downcase(simpleName(type));
+    if (description.options.contains(GoalOption.REUSE)) {
+      return fieldSpec(type, name, PRIVATE);
+    }
     return fieldSpec(type, name, PRIVATE, FINAL);
   }
 
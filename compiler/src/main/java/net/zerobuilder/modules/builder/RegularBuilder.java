@@ -1,27 +1,36 @@
 package net.zerobuilder.modules.builder;
 
 import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.FieldSpec;
 import com.palantir.javapoet.MethodSpec;
 import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
 import com.palantir.javapoet.TypeName;
 import com.palantir.javapoet.TypeSpec;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
+import net.zerobuilder.Interner;
 import net.zerobuilder.compiler.generate.DtoGoalDetails;
+import net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod;
 import net.zerobuilder.compiler.generate.DtoGoalDetails.AbstractRegularDetails;
 import net.zerobuilder.compiler.generate.DtoModule.RegularSimpleModule;
 import net.zerobuilder.compiler.generate.DtoModuleOutput.ModuleOutput;
 import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.SimpleRegularGoalDescription;
+import net.zerobuilder.compiler.generate.GoalOption;
+import net.zerobuilder.compiler.generate.Reuse;
 
 import static com.palantir.javapoet.MethodSpec.constructorBuilder;
+import static com.palantir.javapoet.MethodSpec.methodBuilder;
 import static com.palantir.javapoet.TypeSpec.classBuilder;
 import static java.util.Arrays.asList;
-import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.lang.model.element.Modifier.STATIC;
+import static net.zerobuilder.compiler.generate.ZeroUtil.concat;
+import static net.zerobuilder.compiler.generate.ZeroUtil.cons;
 import static net.zerobuilder.compiler.generate.ZeroUtil.constructor;
 import static net.zerobuilder.compiler.generate.ZeroUtil.downcase;
 import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
@@ -37,6 +46,8 @@ public final class RegularBuilder implements RegularSimpleModule {
 
   private static final String moduleName = "builder";
 
+  private static final ClassName INTERNER = ClassName.get(Interner.class);
+
   private List<TypeSpec> stepInterfaces(SimpleRegularGoalDescription description) {
     return IntStream.range(0, description.parameters.size())
         .mapToObj(stepInterface(description))
@@ -79,7 +90,10 @@ public final class RegularBuilder implements RegularSimpleModule {
         .build();
   }
 
-  private static MethodSpec regularConstructor(AbstractRegularDetails details, SimpleRegularGoalDescription description) {
+  static MethodSpec regularConstructor(AbstractRegularDetails details, SimpleRegularGoalDescription description) {
+    if (description.options.contains(GoalOption.REUSE)) {
+      return constructor();
+    }
     return switch (details) {
       case DtoGoalDetails.ConstructorGoalDetails constructor -> constructor();
       case DtoGoalDetails.StaticMethodGoalDetails staticMethod -> constructor();
@@ -104,13 +118,98 @@ public final class RegularBuilder implements RegularSimpleModule {
     return description.context.generatedType.nestedClass(contractName);
   }
 
+  static FieldSpec poolField(SimpleRegularGoalDescription description) {
+    return Reuse.poolField(implType(description), methodName(description) + "Pool");
+  }
+
+  /**
+   * @return {@code true} if the results of this goal are interned, see {@link GoalOption#INTERN}
+   */
+  static boolean interned(SimpleRegularGoalDescription description) {
+    return description.options.contains(GoalOption.INTERN)
+        && description.details.type() instanceof ClassName;
+  }
+
+  static FieldSpec internerField(SimpleRegularGoalDescription description) {
+    TypeName type = ParameterizedTypeName.get(INTERNER, description.details.type());
+    return FieldSpec.builder(type, methodName(description) + "Interner", PRIVATE, STATIC, FINAL)
+        .initializer("new $T<>($T.DEFAULT_CAPACITY)", INTERNER, INTERNER)
+        .build();
+  }
+
+  private static BuilderMethod statsMethod(SimpleRegularGoalDescription description) {
+    String name = methodName(description) + "Stats";
+    return new BuilderMethod(name, methodBuilder(name)
+        .returns(INTERNER.nestedClass("Stats"))
+        .addStatement("return $N.stats()", internerField(description))
+        .addModifiers(description.details.access(STATIC))
+        .build());
+  }
+
+  private List<FieldSpec> cacheFields(SimpleRegularGoalDescription description) {
+    List<FieldSpec> fields = new ArrayList<>(2);
+    if (description.options.contains(GoalOption.REUSE)) {
+      fields.add(poolField(description));
+    }
+    if (interned(description)) {
+      fields.add(internerField(description));
+    }
+    return fields;
+  }
+
+  private List<BuilderMethod> extraMethods(SimpleRegularGoalDescription description) {
+    List<BuilderMethod> methods = new ArrayList<>(5);
+    if (interned(description)) {
+      methods.add(statsMethod(description));
+    }
+    if (description.options.contains(GoalOption.SLOTS)) {
+      methods.add(Slots.slotsMethod(description));
+    }
+    if (Batch.batched(description)) {
+      methods.add(Batch.batchMethod(description));
+    }
+    if (description.options.contains(GoalOption.FLYWEIGHT)) {
+      methods.add(Flyweight.flyweightMethod(description));
+    }
+    if (description.options.contains(GoalOption.COLUMNS)) {
+      methods.add(Columns.columnsMethod(description));
+    }
+    return methods;
+  }
+
+  private List<TypeSpec> extraTypes(SimpleRegularGoalDescription description) {
+    List<TypeSpec> types = new ArrayList<>(4);
+    if (description.options.contains(GoalOption.SLOTS)) {
+      types.add(Slots.defineSlots(description));
+    }
+    if (Batch.batched(description)) {
+      types.add(Batch.defineBatch(description));
+    }
+    if (description.options.contains(GoalOption.FLYWEIGHT)) {
+      types.add(Flyweight.defineFlyweight(description));
+    }
+    if (description.options.contains(GoalOption.COLUMNS)) {
+      types.add(Columns.defineColumns(description));
+    }
+    return types;
+  }
+
   @Override
   public ModuleOutput process(SimpleRegularGoalDescription description) {
+    if (description.options.contains(GoalOption.COMPACT)
+        && description.thrownTypes.isEmpty()) {
+      return new ModuleOutput(
+          Compact.builderMethod(description),
+          extraMethods(description),
+          cons(Compact.defineImpl(description), extraTypes(description)),
+          cacheFields(description));
+    }
     return new ModuleOutput(
         builderMethod(description),
-        asList(
-            defineBuilderImpl(description),
-            defineContract(description)),
-        emptyList());
+        extraMethods(description),
+        concat(
+            asList(defineBuilderImpl(description), defineContract(description)),
+            extraTypes(description)),
+        cacheFields(description));
   }
 }
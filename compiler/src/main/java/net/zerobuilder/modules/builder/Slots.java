@@ -0,0 +1,226 @@
+package net.zerobuilder.modules.builder;
+
+import com.palantir.javapoet.AnnotationSpec;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import net.zerobuilder.compiler.generate.Bitmask;
+import net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod;
+import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.SimpleRegularGoalDescription;
+import net.zerobuilder.compiler.generate.DtoRegularParameter.SimpleParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+
+import static com.palantir.javapoet.ClassName.OBJECT;
+import static com.palantir.javapoet.MethodSpec.constructorBuilder;
+import static com.palantir.javapoet.MethodSpec.methodBuilder;
+import static com.palantir.javapoet.TypeName.INT;
+import static com.palantir.javapoet.TypeSpec.classBuilder;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.zerobuilder.compiler.generate.DtoGoalDetails.isInstance;
+import static net.zerobuilder.compiler.generate.ZeroUtil.downcase;
+import static net.zerobuilder.compiler.generate.ZeroUtil.fieldSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.simpleName;
+import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
+import static net.zerobuilder.modules.builder.Generator.instanceField;
+
+/**
+ * Slot builder, see {@link GoalOption#SLOTS}.
+ * The arguments are set by index, in any order, and {@code build()} checks that all of them were set.
+ * The index of an argument is its step number; {@code slot(name)} looks it up by parameter name.
+ */
+final class Slots {
+
+  private static final String SET = "_set";
+  private static final String SLOT = "slot";
+  private static final String VALUE = "value";
+
+  static ClassName slotsType(SimpleRegularGoalDescription description) {
+    return description.context.generatedType.nestedClass(upcase(description.details.name()) + "Slots");
+  }
+
+  private static Bitmask setMask(SimpleRegularGoalDescription description) {
+    return Bitmask.create(SET, description.parameters.size());
+  }
+
+  static BuilderMethod slotsMethod(SimpleRegularGoalDescription description) {
+    String name = description.details.name() + "Slots";
+    MethodSpec.Builder method = methodBuilder(name)
+        .returns(slotsType(description))
+        .addModifiers(description.details.access(STATIC));
+    if (isInstance(description.details)) {
+      TypeName type = description.context.type;
+      ParameterSpec varInstance = parameterSpec(type, downcase(simpleName(type)));
+      method.addParameter(varInstance)
+          .addStatement("return new $T($N)", slotsType(description), varInstance);
+    } else {
+      method.addStatement("return new $T()", slotsType(description));
+    }
+    return new BuilderMethod(name, method.build());
+  }
+
+  static TypeSpec defineSlots(SimpleRegularGoalDescription description) {
+    TypeSpec.Builder type = classBuilder(slotsType(description))
+        .addFields(fields(description))
+        .addMethod(constructor(description))
+        .addMethod(slotMethod(description))
+        .addMethod(setMethod(description));
+    for (TypeName primitive : primitiveTypes(description)) {
+      type.addMethod(primitiveSetMethod(description, primitive));
+    }
+    return type.addMethod(buildMethod(description))
+        .addModifiers(PUBLIC, STATIC, FINAL)
+        .build();
+  }
+
+  private static MethodSpec constructor(SimpleRegularGoalDescription description) {
+    MethodSpec.Builder constructor = constructorBuilder();
+    if (isInstance(description.details)) {
+      TypeName type = description.context.type;
+      ParameterSpec parameter = parameterSpec(type, downcase(simpleName(type)));
+      constructor.addParameter(parameter)
+          .addStatement("this.$N = $N", instanceField(description), parameter);
+    }
+    return constructor.build();
+  }
+
+  private static List<FieldSpec> fields(SimpleRegularGoalDescription description) {
+    List<FieldSpec> fields = new ArrayList<>(description.parameters.size() + 2);
+    if (isInstance(description.details)) {
+      fields.add(instanceField(description));
+    }
+    for (SimpleParameter parameter : description.parameters) {
+      fields.add(fieldSpec(parameter.type, parameter.name, PRIVATE));
+    }
+    fields.addAll(setMask(description).fields());
+    return fields;
+  }
+
+  private static MethodSpec slotMethod(SimpleRegularGoalDescription description) {
+    ParameterSpec name = parameterSpec(ClassName.get(String.class), "name");
+    CodeBlock.Builder code = CodeBlock.builder()
+        .beginControlFlow("switch ($N)", name);
+    for (int i = 0; i < description.parameters.size(); i++) {
+      code.add("case $S:\n", description.parameters.get(i).name).indent()
+          .addStatement("return $L", i)
+          .unindent();
+    }
+    code.add("default:\n").indent()
+        .addStatement("return -1")
+        .unindent()
+        .endControlFlow();
+    return methodBuilder(SLOT)
+        .addParameter(name)
+        .returns(INT)
+        .addCode(code.build())
+        .addModifiers(PUBLIC, STATIC)
+        .build();
+  }
+
+  private static MethodSpec setMethod(SimpleRegularGoalDescription description) {
+    return setMethod(description, OBJECT, "set", null);
+  }
+
+  private static MethodSpec primitiveSetMethod(SimpleRegularGoalDescription description, TypeName primitive) {
+    return setMethod(description, primitive, "set" + upcase(primitive.toString()), primitive);
+  }
+
+  /**
+   * @param only if not {@code null}, only the slots of this type are accepted
+   */
+  private static MethodSpec setMethod(SimpleRegularGoalDescription description, TypeName valueType,
+                                      String methodName, TypeName only) {
+    ParameterSpec slot = parameterSpec(INT, SLOT);
+    ParameterSpec value = parameterSpec(valueType, VALUE);
+    Bitmask mask = setMask(description);
+    CodeBlock.Builder code = CodeBlock.builder()
+        .beginControlFlow("switch ($N)", slot);
+    for (int i = 0; i < description.parameters.size(); i++) {
+      SimpleParameter parameter = description.parameters.get(i);
+      if (only != null && !only.equals(parameter.type)) {
+        continue;
+      }
+      code.add("case $L:\n", i).indent();
+      if (only == null && !OBJECT.equals(parameter.type)) {
+        code.addStatement("this.$N = ($T) $N", parameter.name, parameter.type, value);
+      } else {
+        code.addStatement("this.$N = $N", parameter.name, value);
+      }
+      code.add(mask.set(i))
+          .addStatement("return this")
+          .unindent();
+    }
+    code.add("default:\n").indent()
+        .addStatement("throw new $T($S + $N)", IllegalArgumentException.class,
+            only == null ? "no such slot: " : "no " + only + " slot: ", slot)
+        .unindent()
+        .endControlFlow();
+    MethodSpec.Builder method = methodBuilder(methodName);
+    if (only == null && needsUncheckedCast(description)) {
+      method.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+          .addMember("value", "$S", "unchecked")
+          .build());
+    }
+    return method
+        .addParameter(slot)
+        .addParameter(value)
+        .returns(slotsType(description))
+        .addCode(code.build())
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static MethodSpec buildMethod(SimpleRegularGoalDescription description) {
+    Bitmask mask = setMask(description);
+    CodeBlock.Builder code = CodeBlock.builder()
+        .beginControlFlow("if (!($L))", mask.isFull());
+    for (int i = 0; i < description.parameters.size(); i++) {
+      code.beginControlFlow("if ($L)", mask.isClear(i))
+          .addStatement("throw new $T($S)", IllegalStateException.class,
+              "missing slot: " + description.parameters.get(i).name)
+          .endControlFlow();
+    }
+    code.endControlFlow()
+        .add(Builder.invoke(description));
+    return methodBuilder("build")
+        .returns(description.details.type())
+        .addExceptions(description.thrownTypes)
+        .addCode(code.build())
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static boolean needsUncheckedCast(SimpleRegularGoalDescription description) {
+    for (SimpleParameter parameter : description.parameters) {
+      if (!(parameter.type instanceof ClassName) && !parameter.type.isPrimitive()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Set<TypeName> primitiveTypes(SimpleRegularGoalDescription description) {
+    Set<TypeName> types = new LinkedHashSet<>();
+    for (SimpleParameter parameter : description.parameters) {
+      if (parameter.type.isPrimitive()) {
+        types.add(parameter.type);
+      }
+    }
+    return types;
+  }
+
+  private Slots() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
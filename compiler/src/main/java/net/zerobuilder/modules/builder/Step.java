@@ -1,5 +1,6 @@
 package net.zerobuilder.modules.builder;
 
+import com.palantir.javapoet.ClassName;
 import com.palantir.javapoet.MethodSpec;
 import com.palantir.javapoet.TypeName;
 import com.palantir.javapoet.TypeSpec;
@@ -9,6 +10,7 @@ import net.zerobuilder.compiler.generate.DtoRegularParameter.SimpleParameter;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
 
 import static com.palantir.javapoet.MethodSpec.methodBuilder;
 import static com.palantir.javapoet.TypeSpec.interfaceBuilder;
@@ -16,26 +18,52 @@ import static javax.lang.model.element.Modifier.ABSTRACT;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
 import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
-import static net.zerobuilder.modules.builder.Builder.nextType;
+import static net.zerobuilder.modules.builder.RegularBuilder.contractType;
 
 final class Step {
 
   static IntFunction<TypeSpec> stepInterface(SimpleRegularGoalDescription description) {
+    return stepInterface(description, contractType(description), description.details.type(),
+        description.thrownTypes);
+  }
+
+  /**
+   * @param contract   the class that contains the step interfaces
+   * @param result     return type of the last step
+   * @param lastThrown exceptions of the last step
+   */
+  static IntFunction<TypeSpec> stepInterface(SimpleRegularGoalDescription description, ClassName contract,
+                                             TypeName result, List<TypeName> lastThrown) {
+    return stepInterface(description, contract, result, lastThrown, UnaryOperator.identity());
+  }
+
+  /**
+   * @param argumentType maps a parameter type to the argument type of its step
+   */
+  static IntFunction<TypeSpec> stepInterface(SimpleRegularGoalDescription description, ClassName contract,
+                                             TypeName result, List<TypeName> lastThrown,
+                                             UnaryOperator<TypeName> argumentType) {
     return i -> interfaceBuilder(upcase(description.parameters.get(i).name))
-        .addMethod(stepMethod(i, description))
+        .addMethod(stepMethod(i, description, contract, result, lastThrown, argumentType))
         .addModifiers(PUBLIC)
         .build();
   }
 
-  private static MethodSpec stepMethod(int i, SimpleRegularGoalDescription description) {
+  private static MethodSpec stepMethod(int i, SimpleRegularGoalDescription description, ClassName contract,
+                                       TypeName result, List<TypeName> lastThrown,
+                                       UnaryOperator<TypeName> argumentType) {
     SimpleParameter parameter = description.parameters.get(i);
     String name = parameter.name;
-    TypeName type = parameter.type;
-    List<TypeName> thrownTypes = i == description.parameters.size() - 1 ?
-        description.thrownTypes :
+    TypeName type = argumentType.apply(parameter.type);
+    boolean last = i == description.parameters.size() - 1;
+    List<TypeName> thrownTypes = last ?
+        lastThrown :
         Collections.emptyList();
+    TypeName nextType = last ?
+        result :
+        contract.nestedClass(upcase(description.parameters.get(i + 1).name));
     return methodBuilder(name)
-        .returns(nextType(i, description))
+        .returns(nextType)
         .addParameter(parameterSpec(type, name))
         .addExceptions(thrownTypes)
         .addModifiers(PUBLIC, ABSTRACT)
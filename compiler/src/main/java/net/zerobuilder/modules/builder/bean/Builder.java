@@ -6,6 +6,7 @@ import com.palantir.javapoet.FieldSpec;
 import com.palantir.javapoet.MethodSpec;
 import com.palantir.javapoet.ParameterSpec;
 import com.palantir.javapoet.ParameterizedTypeName;
+import net.zerobuilder.compiler.generate.BulkAdd;
 import net.zerobuilder.compiler.generate.DtoBeanGoalDescription.BeanGoalDescription;
 import net.zerobuilder.compiler.generate.DtoBeanParameter.AbstractBeanParameter;
 import net.zerobuilder.compiler.generate.DtoBeanParameter.AccessorPair;
@@ -63,11 +64,8 @@ final class Builder {
         .returns(nextType(i, description))
         .addExceptions(step.getterThrownTypes)
         .addParameter(parameter)
-        .beginControlFlow("for ($T $N : $N)",
-            iterationVar.type(), iterationVar, parameter)
-        .addStatement("this.$N.$L().add($N)", description.beanField,
-            step.getter(), iterationVar)
-        .endControlFlow()
+        .addCode(BulkAdd.addAll(CodeBlock.of("this.$N.$L()", description.beanField, step.getter()),
+            parameter, iterationVar))
         .addCode(i == description.parameters.size() - 1 ?
             normalReturn(description) :
             statement("return this"))
@@ -10,6 +10,7 @@ import net.zerobuilder.compiler.generate.DtoGoalDetails.StaticMethodGoalDetails;
 import net.zerobuilder.compiler.generate.DtoModule.RegularSimpleModule;
 import net.zerobuilder.compiler.generate.DtoModuleOutput.ModuleOutput;
 import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.SimpleRegularGoalDescription;
+import net.zerobuilder.compiler.generate.GoalOption;
 
 import static net.zerobuilder.compiler.generate.DtoGoalDetails.isInstance;
 import static net.zerobuilder.compiler.generate.ZeroUtil.concat;
@@ -18,7 +19,7 @@ import static net.zerobuilder.modules.generics.GenericsContract.stepTypes;
 
 public final class GenericsBuilder implements RegularSimpleModule {
 
-  private static List<TypeVariableName> allTypeParameters(AbstractRegularDetails details) {
+  static List<TypeVariableName> allTypeParameters(AbstractRegularDetails details) {
     return switch (details) {
       case ConstructorGoalDetails constructor -> constructor.instanceTypeParameters;
       case StaticMethodGoalDetails staticMethod -> staticMethod.typeParameters;
@@ -45,6 +46,13 @@ public final class GenericsBuilder implements RegularSimpleModule {
         typeParameters,
         extendedStepTypes(description.details, description),
         isInstance(details));
+    if (description.options.contains(GoalOption.MUTABLE)) {
+      GenericsMutable mutable = GenericsMutable.create(description, varLife);
+      return new ModuleOutput(
+          mutable.builderMethod(),
+          mutable.types(),
+          List.of());
+    }
     GenericsGenerator generator = GenericsGenerator.create(description, varLife);
     return new ModuleOutput(
         generator.builderMethod(description, varLife),
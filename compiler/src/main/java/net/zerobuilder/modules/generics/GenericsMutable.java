@@ -0,0 +1,232 @@
+package net.zerobuilder.modules.generics;
+
+import com.palantir.javapoet.AnnotationSpec;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import com.palantir.javapoet.TypeVariableName;
+import java.util.ArrayList;
+import java.util.List;
+import net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod;
+import net.zerobuilder.compiler.generate.DtoGoalDetails.AbstractRegularDetails;
+import net.zerobuilder.compiler.generate.DtoGoalDetails.ConstructorGoalDetails;
+import net.zerobuilder.compiler.generate.DtoGoalDetails.InstanceMethodGoalDetails;
+import net.zerobuilder.compiler.generate.DtoGoalDetails.StaticMethodGoalDetails;
+import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.SimpleRegularGoalDescription;
+import net.zerobuilder.compiler.generate.DtoRegularParameter.SimpleParameter;
+
+import static com.palantir.javapoet.MethodSpec.constructorBuilder;
+import static com.palantir.javapoet.MethodSpec.methodBuilder;
+import static com.palantir.javapoet.TypeName.VOID;
+import static com.palantir.javapoet.TypeSpec.classBuilder;
+import static com.palantir.javapoet.TypeSpec.interfaceBuilder;
+import static java.util.Collections.emptyList;
+import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.zerobuilder.compiler.generate.ZeroUtil.constructor;
+import static net.zerobuilder.compiler.generate.ZeroUtil.emptyCodeBlock;
+import static net.zerobuilder.compiler.generate.ZeroUtil.erasure;
+import static net.zerobuilder.compiler.generate.ZeroUtil.fieldSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.joinCodeBlocks;
+import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.parameterizedTypeName;
+import static net.zerobuilder.compiler.generate.ZeroUtil.rawClassName;
+import static net.zerobuilder.compiler.generate.ZeroUtil.statement;
+import static net.zerobuilder.compiler.generate.ZeroUtil.transform;
+import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
+import static net.zerobuilder.modules.generics.GenericsContract.implType;
+import static net.zerobuilder.modules.generics.GenericsContract.nextStepType;
+
+/**
+ * Generics builder where all steps are implemented by a single mutable object.
+ * The step interfaces carry the type parameters, as computed by {@link VarLife};
+ * the implementation works on the erased types.
+ */
+final class GenericsMutable {
+
+  private static final String INSTANCE = "instance";
+
+  private final SimpleRegularGoalDescription description;
+  private final List<List<TypeVariableName>> methodParams;
+  private final List<List<TypeVariableName>> typeParams;
+  private final ClassName contractType;
+  private final List<TypeVariableName> typeVariables;
+
+  private GenericsMutable(SimpleRegularGoalDescription description, VarLife varLife) {
+    this.description = description;
+    this.typeVariables = GenericsBuilder.allTypeParameters(description.details);
+    this.methodParams = varLife.methodParams();
+    this.typeParams = varLife.typeParams();
+    this.contractType = implType(description);
+  }
+
+  static GenericsMutable create(SimpleRegularGoalDescription description, VarLife varLife) {
+    return new GenericsMutable(description, varLife);
+  }
+
+  private ClassName mutableImplType() {
+    return contractType.peerClass(contractType.simpleName() + "Impl");
+  }
+
+  private TypeName erased(TypeName type) {
+    return erasure(type, typeVariables);
+  }
+
+  private boolean isLast(int i) {
+    return i == description.parameters.size() - 1;
+  }
+
+  List<TypeSpec> types() {
+    return List.of(defineImpl(), defineContract());
+  }
+
+  private TypeSpec defineContract() {
+    List<TypeSpec> stepInterfaces = new ArrayList<>(description.parameters.size());
+    for (int i = 0; i < description.parameters.size(); i++) {
+      stepInterfaces.add(stepInterface(i));
+    }
+    return classBuilder(contractType)
+        .addTypes(stepInterfaces)
+        .addModifiers(PUBLIC, STATIC, FINAL)
+        .addMethod(constructorBuilder()
+            .addStatement("throw new $T($S)", UnsupportedOperationException.class, "no instances")
+            .addModifiers(PRIVATE)
+            .build())
+        .build();
+  }
+
+  private TypeSpec stepInterface(int i) {
+    SimpleParameter parameter = description.parameters.get(i);
+    return interfaceBuilder(upcase(parameter.name))
+        .addTypeVariables(typeParams.get(i))
+        .addMethod(methodBuilder(parameter.name)
+            .addParameter(parameterSpec(parameter.type, parameter.name))
+            .addTypeVariables(methodParams.get(i))
+            .returns(nextStepType(description, typeParams, i))
+            .addExceptions(isLast(i) ? description.thrownTypes : emptyList())
+            .addModifiers(PUBLIC, ABSTRACT)
+            .build())
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private TypeSpec defineImpl() {
+    return classBuilder(mutableImplType())
+        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+            .addMember("value", "$S", "unchecked")
+            .addMember("value", "$S", "rawtypes")
+            .build())
+        .addSuperinterfaces(transform(description.parameters,
+            step -> contractType.nestedClass(upcase(step.name))))
+        .addFields(fields())
+        .addMethod(implConstructor(description.details))
+        .addMethods(steps())
+        .addModifiers(PRIVATE, STATIC, FINAL)
+        .build();
+  }
+
+  private List<FieldSpec> fields() {
+    List<FieldSpec> fields = new ArrayList<>(description.parameters.size());
+    if (description.details instanceof InstanceMethodGoalDetails) {
+      fields.add(fieldSpec(erased(description.context.type), INSTANCE, PRIVATE, FINAL));
+    }
+    for (int i = 0; i < description.parameters.size() - 1; i++) {
+      SimpleParameter parameter = description.parameters.get(i);
+      fields.add(fieldSpec(erased(parameter.type), parameter.name, PRIVATE));
+    }
+    return fields;
+  }
+
+  private MethodSpec implConstructor(AbstractRegularDetails details) {
+    return switch (details) {
+      case ConstructorGoalDetails constructor -> constructor();
+      case StaticMethodGoalDetails staticMethod -> constructor();
+      case InstanceMethodGoalDetails instanceMethod -> {
+        ParameterSpec parameter = parameterSpec(erased(description.context.type), INSTANCE);
+        yield constructorBuilder()
+            .addParameter(parameter)
+            .addStatement("this.$N = $N", INSTANCE, parameter)
+            .build();
+      }
+    };
+  }
+
+  private List<MethodSpec> steps() {
+    List<MethodSpec> steps = new ArrayList<>(description.parameters.size());
+    for (int i = 0; i < description.parameters.size(); i++) {
+      SimpleParameter parameter = description.parameters.get(i);
+      steps.add(methodBuilder(parameter.name)
+          .addAnnotation(Override.class)
+          .addParameter(parameterSpec(erased(parameter.type), parameter.name))
+          .returns(erased(nextStepType(description, typeParams, i)))
+          .addExceptions(isLast(i) ? transform(description.thrownTypes, this::erased) : emptyList())
+          .addCode(isLast(i) ?
+              invoke() :
+              CodeBlock.builder()
+                  .addStatement("this.$N = $N", parameter.name, parameter.name)
+                  .addStatement("return this").build())
+          .addModifiers(PUBLIC)
+          .build());
+    }
+    return steps;
+  }
+
+  /**
+   * Inference of the goal's type arguments needs the other bounds of a type variable
+   * that is explicitly bounded by {@code Object}, so such an argument is cast to the erasure without it.
+   */
+  private CodeBlock invocationParameters() {
+    return description.unshuffle(description.parameters).stream()
+        .map(parameter -> erased(parameter.type).equals(erasure(parameter.type)) ?
+            CodeBlock.of("$N", parameter.name) :
+            CodeBlock.of("($T) $N", erasure(parameter.type), parameter.name))
+        .collect(joinCodeBlocks(", "));
+  }
+
+  private CodeBlock invoke() {
+    CodeBlock parameters = invocationParameters();
+    return switch (description.details) {
+      case ConstructorGoalDetails constructor -> statement("return new $T($L)",
+          rawClassName(description.context.type), parameters);
+      case StaticMethodGoalDetails staticMethod -> CodeBlock.builder()
+          .add(staticMethod.goalType == VOID ? emptyCodeBlock : CodeBlock.of("return "))
+          .addStatement("$T.$L($L)",
+              rawClassName(description.context.type),
+              staticMethod.methodName, parameters).build();
+      case InstanceMethodGoalDetails instanceMethod -> CodeBlock.builder()
+          .add(instanceMethod.goalType == VOID ? emptyCodeBlock : CodeBlock.of("return "))
+          .addStatement("this.$N.$L($L)",
+              INSTANCE, instanceMethod.methodName, parameters).build();
+    };
+  }
+
+  BuilderMethod builderMethod() {
+    TypeName firstStep = parameterizedTypeName(
+        contractType.nestedClass(upcase(description.parameters.getFirst().name)),
+        typeParams.getFirst());
+    MethodSpec.Builder builder = methodBuilder(description.details.name() + "Builder")
+        .addModifiers(description.details.access(STATIC))
+        .addTypeVariables(typeParams.getFirst())
+        .returns(firstStep);
+    if (!typeParams.getFirst().isEmpty()) {
+      builder.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+          .addMember("value", "$S", "unchecked")
+          .build());
+    }
+    if (description.details instanceof InstanceMethodGoalDetails) {
+      ParameterSpec instance = parameterSpec(description.context.type, INSTANCE);
+      builder.addParameter(instance)
+          .addStatement("return new $T($N)", mutableImplType(), instance);
+    } else {
+      builder.addStatement("return new $T()", mutableImplType());
+    }
+    return new BuilderMethod(description.details.name(), builder.build());
+  }
+}
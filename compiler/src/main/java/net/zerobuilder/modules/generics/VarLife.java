@@ -4,34 +4,37 @@ import com.palantir.javapoet.TypeName;
 import com.palantir.javapoet.TypeVariableName;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
+import java.util.Map;
 
 import static java.util.Collections.emptyList;
 import static net.zerobuilder.compiler.generate.ZeroUtil.cons;
-import static net.zerobuilder.compiler.generate.ZeroUtil.references;
-import static net.zerobuilder.compiler.generate.ZeroUtil.reverse;
+import static net.zerobuilder.compiler.generate.ZeroUtil.extractTypeVars;
 
+/**
+ * Lifetimes of the type parameters along the steps.
+ * A type parameter is identified by its index in {@code typeParameters};
+ * the set of type parameters at a step is a {@link BitSet} over these indexes.
+ */
 final class VarLife {
 
-  private final List<TypeName> steps;
   private final List<TypeVariableName> typeParameters;
   private final boolean instance;
 
-  private VarLife(List<TypeName> steps, List<TypeVariableName> typeParameters, boolean instance) {
-    this.steps = steps;
-    this.typeParameters = typeParameters;
-    this.instance = instance;
-  }
+  // started[i]: type parameters referenced by some step <= i
+  private final BitSet[] started;
 
-  private static final Supplier<Stream<List<TypeVariableName>>> emptyLists =
-      () -> Stream.generate(ArrayList::new);
+  // alive[i]: type parameters referenced by some step <= i and some step >= i
+  private final BitSet[] alive;
 
-  private static List<List<TypeVariableName>> emptyLists(int n) {
-    List<List<TypeVariableName>> builder = new ArrayList<>(n);
-    emptyLists.get().limit(n).forEach(builder::add);
-    return builder;
+  private VarLife(List<TypeVariableName> typeParameters, boolean instance,
+                  BitSet[] started, BitSet[] alive) {
+    this.typeParameters = typeParameters;
+    this.instance = instance;
+    this.started = started;
+    this.alive = alive;
   }
 
   private <E> List<E> chop(List<E> list) {
@@ -42,23 +45,30 @@ final class VarLife {
   }
 
   List<List<TypeVariableName>> methodParams() {
-    List<List<TypeVariableName>> varLifes = varLifes(steps, typeParameters);
-    List<List<TypeVariableName>> builder = emptyLists(varLifes.size() - 1);
-    builder.get(0).addAll(varLifes.get(0));
-    for (int i = 1; i < varLifes.size() - 1; i++) {
-      for (TypeVariableName t : varLifes.get(i)) {
-        if (!varLifes.get(i - 1).contains(t)) {
-          builder.get(i).add(t);
-        }
-      }
+    List<List<TypeVariableName>> builder = new ArrayList<>(alive.length - 1);
+    builder.add(toList(alive[0]));
+    for (int i = 1; i < alive.length - 1; i++) {
+      BitSet introduced = (BitSet) alive[i].clone();
+      introduced.andNot(alive[i - 1]);
+      builder.add(toList(introduced));
     }
     return chop(builder);
   }
 
   List<List<TypeVariableName>> typeParams() {
-    List<List<TypeVariableName>> varLifes = accLife(steps, typeParameters);
-    varLifes = varLifes.subList(0, varLifes.size() - 2);
-    return instance ? varLifes : cons(emptyList(), varLifes);
+    List<List<TypeVariableName>> builder = new ArrayList<>(started.length - 2);
+    for (int i = 0; i < started.length - 2; i++) {
+      builder.add(toList(started[i]));
+    }
+    return instance ? builder : cons(emptyList(), builder);
+  }
+
+  private List<TypeVariableName> toList(BitSet set) {
+    List<TypeVariableName> builder = new ArrayList<>(set.cardinality());
+    for (int k = set.nextSetBit(0); k >= 0; k = set.nextSetBit(k + 1)) {
+      builder.add(typeParameters.get(k));
+    }
+    return builder;
   }
 
   /**
@@ -71,45 +81,46 @@ final class VarLife {
   static VarLife create(List<TypeVariableName> typeParameters,
                         List<TypeName> steps,
                         boolean instance) {
-    return new VarLife(steps, typeParameters, instance);
-  }
-
-  private static List<List<TypeVariableName>> varLifes(List<TypeName> steps,
-                                                       List<TypeVariableName> typeParameters) {
-    List<List<TypeVariableName>> inc = accLife(steps, typeParameters);
-    List<List<TypeVariableName>> dec = reverse(accLife(reverse(steps), typeParameters));
-    List<List<TypeVariableName>> builder = emptyLists(steps.size());
-    for (int i = 0; i < builder.size(); i++) {
-      for (TypeVariableName t : typeParameters) {
-        if (inc.get(i).contains(t) && dec.get(i).contains(t)) {
-          builder.get(i).add(t);
-        }
-      }
+    BitSet[] references = references(typeParameters, steps);
+    int n = steps.size();
+    BitSet[] started = new BitSet[n];
+    BitSet[] alive = new BitSet[n];
+    BitSet acc = new BitSet(typeParameters.size());
+    for (int i = 0; i < n; i++) {
+      acc.or(references[i]);
+      started[i] = (BitSet) acc.clone();
     }
-    return builder;
-  }
-
-  private static List<List<TypeVariableName>> accLife(List<TypeName> steps,
-                                                      List<TypeVariableName> typeParameters) {
-    List<List<TypeVariableName>> builder = emptyLists(steps.size());
-    for (TypeVariableName typeParameter : typeParameters) {
-      int start = varLifeStart(typeParameter, steps);
-      if (start >= 0) {
-        for (int i = start; i < steps.size(); i++) {
-          builder.get(i).add(typeParameter);
-        }
-      }
+    acc.clear();
+    for (int i = n - 1; i >= 0; i--) {
+      acc.or(references[i]);
+      alive[i] = (BitSet) acc.clone();
+      alive[i].and(started[i]);
     }
-    return builder;
+    return new VarLife(typeParameters, instance, started, alive);
   }
 
-  private static int varLifeStart(TypeVariableName typeParameter, List<TypeName> steps) {
+  /**
+   * Walks each step once.
+   * Equal type parameters share their lifetime, so a name may map to several indexes.
+   *
+   * @return for each step, the type parameters that it references
+   */
+  private static BitSet[] references(List<TypeVariableName> typeParameters, List<TypeName> steps) {
+    Map<TypeVariableName, BitSet> indexes = new HashMap<>();
+    for (int k = 0; k < typeParameters.size(); k++) {
+      indexes.computeIfAbsent(typeParameters.get(k), t -> new BitSet()).set(k);
+    }
+    BitSet[] references = new BitSet[steps.size()];
     for (int i = 0; i < steps.size(); i++) {
-      TypeName step = steps.get(i);
-      if (references(step, typeParameter)) {
-        return i;
+      BitSet step = new BitSet(typeParameters.size());
+      for (TypeVariableName t : extractTypeVars(steps.get(i))) {
+        BitSet k = indexes.get(t);
+        if (k != null) {
+          step.or(k);
+        }
       }
+      references[i] = step;
     }
-    return -1;
+    return references;
   }
 }
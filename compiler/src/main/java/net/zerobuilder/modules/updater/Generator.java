@@ -5,6 +5,7 @@ import com.palantir.javapoet.MethodSpec;
 import com.palantir.javapoet.ParameterSpec;
 import com.palantir.javapoet.TypeName;
 import com.palantir.javapoet.TypeVariableName;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod;
@@ -15,10 +16,12 @@ import net.zerobuilder.compiler.generate.DtoProjectionInfo.FieldAccess;
 import net.zerobuilder.compiler.generate.DtoProjectionInfo.GetterMethod;
 import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.ProjectedRegularGoalDescription;
 import net.zerobuilder.compiler.generate.DtoRegularParameter.ProjectedParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+import net.zerobuilder.compiler.generate.Reuse;
 import net.zerobuilder.compiler.generate.ZeroUtil;
 
 import static com.palantir.javapoet.MethodSpec.methodBuilder;
-import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Collectors.toCollection;
 import static javax.lang.model.element.Modifier.STATIC;
 import static net.zerobuilder.compiler.generate.ZeroUtil.downcase;
 import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
@@ -26,6 +29,9 @@ import static net.zerobuilder.compiler.generate.ZeroUtil.simpleName;
 import static net.zerobuilder.compiler.generate.ZeroUtil.statement;
 import static net.zerobuilder.modules.updater.InstanceWorld.instanceGoalMethod;
 import static net.zerobuilder.modules.updater.RegularUpdater.implType;
+import static net.zerobuilder.modules.updater.RegularUpdater.poolField;
+import static net.zerobuilder.modules.updater.Updater.SOURCE;
+import static net.zerobuilder.modules.updater.Updater.tracksChanges;
 
 final class Generator {
 
@@ -40,7 +46,7 @@ final class Generator {
   private static BuilderMethod normalGoalMethod(AbstractRegularDetails details, ProjectedRegularGoalDescription description) {
     ParameterSpec updater = varUpdater(description);
     MethodSpec method = methodBuilder(RegularUpdater.methodName(description))
-        .addExceptions(thrownByProjections(description))
+        .addExceptions(thrownByUpdaterMethod(description))
         .addParameter(toBuilderParameter(description))
         .addTypeVariables(instanceTypeParameters(description.details))
         .returns(updater.type())
@@ -61,11 +67,37 @@ final class Generator {
   }
 
   static CodeBlock copyBlock(ProjectedRegularGoalDescription description) {
+    if (!tracksChanges(description)) {
+      return copyProjections(description);
+    }
+    CodeBlock source = statement("$N.$N = $N", varUpdater(description), SOURCE, toBuilderParameter(description));
+    if (description.options.contains(GoalOption.LAZY)) {
+      return source;
+    }
+    return CodeBlock.builder()
+        .add(source)
+        .add(copyProjections(description))
+        .build();
+  }
+
+  private static CodeBlock copyProjections(ProjectedRegularGoalDescription description) {
     return description.parameters.stream()
         .map(step -> copyFromProjection(step, description))
         .collect(ZeroUtil.joinCodeBlocks);
   }
 
+  /**
+   * @param step   a parameter
+   * @param source an expression of the goal type
+   * @return an expression that reads the value of {@code step} from {@code source}
+   */
+  static CodeBlock projection(ProjectedParameter step, CodeBlock source) {
+    return switch (step.projectionInfo) {
+      case GetterMethod getterMethod -> CodeBlock.of("$L.$N()", source, getterMethod.methodName);
+      case FieldAccess fieldAccess -> CodeBlock.of("$L.$N", source, fieldAccess.fieldName);
+    };
+  }
+
   private static CodeBlock copyFromProjection(ProjectedParameter step, ProjectedRegularGoalDescription description) {
     return switch (step.projectionInfo) {
       case GetterMethod getterMethod -> copyFromMethod(description, getterMethod, step);
@@ -100,6 +132,9 @@ final class Generator {
   }
 
   static CodeBlock initVarUpdater(ProjectedRegularGoalDescription description, ParameterSpec varUpdater) {
+    if (description.options.contains(GoalOption.REUSE)) {
+      return Reuse.acquire(poolField(description), varUpdater);
+    }
     return statement("$T $N = new $T()", varUpdater.type(), varUpdater, varUpdater.type());
   }
 
@@ -108,12 +143,23 @@ final class Generator {
     return parameterSpec(updaterType, "_updater");
   }
 
+  /**
+   * @param description goal description
+   * @return exceptions that may be thrown when the updater is created
+   */
+  static Set<TypeName> thrownByUpdaterMethod(ProjectedRegularGoalDescription description) {
+    if (description.options.contains(GoalOption.LAZY)) {
+      return Set.of();
+    }
+    return thrownByProjections(description);
+  }
+
   static Set<TypeName> thrownByProjections(ProjectedRegularGoalDescription description) {
     return description.parameters.stream()
         .map(parameter -> parameter.projectionInfo)
         .map(DtoProjectionInfo::thrownTypes)
         .flatMap(List::stream)
-        .collect(toSet());
+        .collect(toCollection(LinkedHashSet::new));
   }
 
   private Generator() {
@@ -9,7 +9,7 @@ import net.zerobuilder.compiler.generate.DtoGeneratorOutput;
 import net.zerobuilder.compiler.generate.DtoGoalDetails.InstanceMethodGoalDetails;
 import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.ProjectedRegularGoalDescription;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 
 import static com.palantir.javapoet.MethodSpec.constructorBuilder;
 import static com.palantir.javapoet.MethodSpec.methodBuilder;
@@ -26,7 +26,7 @@ import static net.zerobuilder.compiler.generate.ZeroUtil.simpleName;
 import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
 import static net.zerobuilder.modules.updater.Generator.copyBlock;
 import static net.zerobuilder.modules.updater.Generator.initVarUpdater;
-import static net.zerobuilder.modules.updater.Generator.thrownByProjections;
+import static net.zerobuilder.modules.updater.Generator.thrownByUpdaterMethod;
 import static net.zerobuilder.modules.updater.Generator.toBuilderParameter;
 import static net.zerobuilder.modules.updater.Generator.varUpdater;
 import static net.zerobuilder.modules.updater.RegularUpdater.moduleName;
@@ -40,7 +40,7 @@ final class InstanceWorld {
     ParameterSpec parameter = parameterSpec(description.context.type, "factory");
     MethodSpec method = methodBuilder(RegularUpdater.methodName(description) + "Factory")
         .addParameter(parameter)
-        .addTypeVariables(new HashSet<>(concat(
+        .addTypeVariables(new LinkedHashSet<>(concat(
             details.instanceTypeParameters,
             details.returnTypeParameters)))
         .returns(factoryType)
@@ -75,7 +75,7 @@ final class InstanceWorld {
             .addStatement("this.$L = $N", FACTORY, factory)
             .build())
         .addMethod(methodBuilder("updater")
-            .addExceptions(thrownByProjections(description))
+            .addExceptions(thrownByUpdaterMethod(description))
             .addParameter(toBuilderParameter(description))
             .addTypeVariables(details.typeParameters)
             .returns(updater.type())
@@ -0,0 +1,245 @@
+package net.zerobuilder.modules.updater;
+
+import com.palantir.javapoet.AnnotationSpec;
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import net.zerobuilder.compiler.generate.Bitmask;
+import net.zerobuilder.compiler.generate.DtoGoalDetails.ConstructorGoalDetails;
+import net.zerobuilder.compiler.generate.DtoGoalDetails.InstanceMethodGoalDetails;
+import net.zerobuilder.compiler.generate.DtoGoalDetails.StaticMethodGoalDetails;
+import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.ProjectedRegularGoalDescription;
+import net.zerobuilder.compiler.generate.DtoRegularParameter.ProjectedParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+import net.zerobuilder.compiler.generate.Reuse;
+
+import static com.palantir.javapoet.ClassName.OBJECT;
+import static com.palantir.javapoet.MethodSpec.constructorBuilder;
+import static com.palantir.javapoet.MethodSpec.methodBuilder;
+import static com.palantir.javapoet.TypeName.LONG;
+import static com.palantir.javapoet.TypeSpec.classBuilder;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.zerobuilder.compiler.generate.ZeroUtil.fieldSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.joinCodeBlocks;
+import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.parameterizedTypeName;
+import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
+import static net.zerobuilder.modules.updater.Generator.projection;
+import static net.zerobuilder.modules.updater.Generator.thrownByProjections;
+import static net.zerobuilder.modules.updater.RegularUpdater.implTypeParameters;
+import static net.zerobuilder.modules.updater.Updater.FACTORY;
+import static net.zerobuilder.modules.updater.Updater.dirtyMask;
+
+/**
+ * Sparse patches, see {@link GoalOption#PATCHES}.
+ * A patch is immutable. It holds a bit for each parameter that was set on the updater,
+ * and the values of these parameters only, in parameter order.
+ * The position of a value is the number of set bits below its own bit.
+ */
+final class Patches {
+
+  private static final String TOUCHED = "_touched";
+  private static final String VALUES = "_values";
+  private static final String SOURCE = "_source";
+  private static final String OTHER = "_other";
+
+  private static final TypeName OBJECT_ARRAY = ArrayTypeName.of(OBJECT);
+
+  static TypeName patchType(ProjectedRegularGoalDescription description) {
+    return parameterizedTypeName(rawPatchType(description), implTypeParameters(description.details));
+  }
+
+  private static ClassName rawPatchType(ProjectedRegularGoalDescription description) {
+    return description.context.generatedType.nestedClass(upcase(description.details.name()) + "Patch");
+  }
+
+  private static Bitmask touchedMask(ProjectedRegularGoalDescription description) {
+    return Bitmask.create(TOUCHED, description.parameters.size());
+  }
+
+  /**
+   * @return the updater method that captures the parameters that were set
+   */
+  static MethodSpec patchMethod(ProjectedRegularGoalDescription description) {
+    Bitmask dirty = dirtyMask(description);
+    CodeBlock.Builder code = CodeBlock.builder();
+    if (description.options.contains(GoalOption.REUSE)) {
+      code.add(Reuse.checkInUse());
+    }
+    code.addStatement("$T $N = new $T[$L]", OBJECT_ARRAY, VALUES, OBJECT, bitCount(dirty, CodeBlock.of("this")))
+        .addStatement("int _k = 0");
+    for (int i = 0; i < description.parameters.size(); i++) {
+      code.beginControlFlow("if ($L)", dirty.isSet(i))
+          .addStatement("$N[_k++] = this.$N", VALUES, description.parameters.get(i).name)
+          .endControlFlow();
+    }
+    return methodBuilder("patch")
+        .returns(patchType(description))
+        .addCode(code.build())
+        .addStatement("return new $T($L, $N)", patchType(description), words(dirty, CodeBlock.of("this")), VALUES)
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  static TypeSpec definePatch(ProjectedRegularGoalDescription description) {
+    return classBuilder(rawPatchType(description))
+        .addTypeVariables(implTypeParameters(description.details))
+        .addFields(fields(description))
+        .addMethod(constructor(description))
+        .addMethod(applyMethod(description))
+        .addMethod(mergeMethod(description))
+        .addModifiers(PUBLIC, STATIC, FINAL)
+        .build();
+  }
+
+  private static List<FieldSpec> fields(ProjectedRegularGoalDescription description) {
+    Bitmask touched = touchedMask(description);
+    List<FieldSpec> fields = new ArrayList<>(touched.words() + 1);
+    for (int w = 0; w < touched.words(); w++) {
+      fields.add(fieldSpec(LONG, touched.word(w), PRIVATE, FINAL));
+    }
+    fields.add(fieldSpec(OBJECT_ARRAY, VALUES, PRIVATE, FINAL));
+    return fields;
+  }
+
+  private static MethodSpec constructor(ProjectedRegularGoalDescription description) {
+    MethodSpec.Builder constructor = constructorBuilder();
+    for (FieldSpec field : fields(description)) {
+      constructor.addParameter(parameterSpec(field.type(), field.name()))
+          .addStatement("this.$N = $N", field, field);
+    }
+    return constructor.addModifiers(PRIVATE).build();
+  }
+
+  private static MethodSpec applyMethod(ProjectedRegularGoalDescription description) {
+    Bitmask touched = touchedMask(description);
+    ParameterSpec source = parameterSpec(description.details.type(), SOURCE);
+    CodeBlock.Builder code = CodeBlock.builder()
+        .addStatement("int _k = 0");
+    for (int i = 0; i < description.parameters.size(); i++) {
+      ProjectedParameter step = description.parameters.get(i);
+      code.addStatement("$T $N = $L ? $L : $L", step.type, step.name, touched.isSet(i),
+          value(step), projection(step, CodeBlock.of("$N", source)));
+    }
+    MethodSpec.Builder method = methodBuilder("apply");
+    if (needsUncheckedCast(description)) {
+      method.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+          .addMember("value", "$S", "unchecked")
+          .build());
+    }
+    if (description.details instanceof InstanceMethodGoalDetails) {
+      method.addParameter(parameterSpec(description.context.type, FACTORY));
+    }
+    return method.addParameter(source)
+        .returns(description.details.type())
+        .addExceptions(thrownTypes(description))
+        .addCode(code.build())
+        .addStatement("return $L", invoke(description))
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static CodeBlock value(ProjectedParameter step) {
+    if (OBJECT.equals(step.type)) {
+      return CodeBlock.of("this.$N[_k++]", VALUES);
+    }
+    return CodeBlock.of("($T) this.$N[_k++]", step.type, VALUES);
+  }
+
+  private static CodeBlock invoke(ProjectedRegularGoalDescription description) {
+    String arguments = String.join(", ", description.details.parameterNames());
+    return switch (description.details) {
+      case ConstructorGoalDetails constructor -> CodeBlock.of("new $T($L)", constructor.goalType, arguments);
+      case StaticMethodGoalDetails staticMethod -> CodeBlock.of("$T.$N($L)", description.context.type,
+          staticMethod.methodName, arguments);
+      case InstanceMethodGoalDetails instanceMethod -> CodeBlock.of("$N.$N($L)", FACTORY,
+          instanceMethod.methodName, arguments);
+    };
+  }
+
+  /**
+   * Values of {@code _other} win.
+   */
+  private static MethodSpec mergeMethod(ProjectedRegularGoalDescription description) {
+    Bitmask touched = touchedMask(description);
+    ParameterSpec other = parameterSpec(patchType(description), OTHER);
+    CodeBlock self = CodeBlock.of("this");
+    CodeBlock otherBlock = CodeBlock.of("$N", other);
+    List<CodeBlock> union = new ArrayList<>(touched.words());
+    for (int w = 0; w < touched.words(); w++) {
+      union.add(CodeBlock.of("this.$N | $N.$N", touched.word(w), other, touched.word(w)));
+    }
+    CodeBlock.Builder code = CodeBlock.builder()
+        .addStatement("$T $N = new $T[$L]", OBJECT_ARRAY, VALUES, OBJECT, union.stream()
+            .map(word -> CodeBlock.of("$T.bitCount($L)", Long.class, word))
+            .collect(joinCodeBlocks(" + ")))
+        .addStatement("int _i = 0")
+        .addStatement("int _j = 0")
+        .addStatement("int _k = 0");
+    for (int i = 0; i < description.parameters.size(); i++) {
+      code.beginControlFlow("if ($L)", touched.isSet(otherBlock, i))
+          .addStatement("$N[_k++] = $N.$N[_j++]", VALUES, other, VALUES)
+          .beginControlFlow("if ($L)", touched.isSet(self, i))
+          .addStatement("_i++")
+          .endControlFlow()
+          .nextControlFlow("else if ($L)", touched.isSet(self, i))
+          .addStatement("$N[_k++] = this.$N[_i++]", VALUES, VALUES)
+          .endControlFlow();
+    }
+    return methodBuilder("merge")
+        .addParameter(other)
+        .returns(patchType(description))
+        .addCode(code.build())
+        .addStatement("return new $T($L, $N)", patchType(description),
+            union.stream().collect(joinCodeBlocks(", ")), VALUES)
+        .addModifiers(PUBLIC)
+        .build();
+  }
+
+  private static CodeBlock bitCount(Bitmask mask, CodeBlock receiver) {
+    List<CodeBlock> blocks = new ArrayList<>(mask.words());
+    for (int w = 0; w < mask.words(); w++) {
+      blocks.add(CodeBlock.of("$T.bitCount($L.$N)", Long.class, receiver, mask.word(w)));
+    }
+    return blocks.stream().collect(joinCodeBlocks(" + "));
+  }
+
+  private static CodeBlock words(Bitmask mask, CodeBlock receiver) {
+    List<CodeBlock> blocks = new ArrayList<>(mask.words());
+    for (int w = 0; w < mask.words(); w++) {
+      blocks.add(CodeBlock.of("$L.$N", receiver, mask.word(w)));
+    }
+    return blocks.stream().collect(joinCodeBlocks(", "));
+  }
+
+  private static List<TypeName> thrownTypes(ProjectedRegularGoalDescription description) {
+    Set<TypeName> thrownTypes = new LinkedHashSet<>(description.thrownTypes);
+    thrownTypes.addAll(thrownByProjections(description));
+    return new ArrayList<>(thrownTypes);
+  }
+
+  private static boolean needsUncheckedCast(ProjectedRegularGoalDescription description) {
+    for (ProjectedParameter parameter : description.parameters) {
+      if (!(parameter.type instanceof ClassName) && !parameter.type.isPrimitive()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Patches() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
@@ -1,15 +1,18 @@
 package net.zerobuilder.modules.updater;
 
 import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
 import com.palantir.javapoet.MethodSpec;
 import com.palantir.javapoet.ParameterSpec;
 import com.palantir.javapoet.TypeName;
 import com.palantir.javapoet.TypeSpec;
 import com.palantir.javapoet.TypeVariableName;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
+import net.zerobuilder.compiler.generate.Bitmask;
 import net.zerobuilder.compiler.generate.DtoGoalDetails.AbstractRegularDetails;
 import net.zerobuilder.compiler.generate.DtoGoalDetails.ConstructorGoalDetails;
 import net.zerobuilder.compiler.generate.DtoGoalDetails.InstanceMethodGoalDetails;
@@ -17,6 +20,9 @@ import net.zerobuilder.compiler.generate.DtoGoalDetails.StaticMethodGoalDetails;
 import net.zerobuilder.compiler.generate.DtoModule.ProjectedModule;
 import net.zerobuilder.compiler.generate.DtoModuleOutput.ModuleOutput;
 import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.ProjectedRegularGoalDescription;
+import net.zerobuilder.compiler.generate.DtoRegularParameter.ProjectedParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+import net.zerobuilder.compiler.generate.Reuse;
 
 import static com.palantir.javapoet.MethodSpec.methodBuilder;
 import static com.palantir.javapoet.TypeSpec.classBuilder;
@@ -27,19 +33,36 @@ import static javax.lang.model.element.Modifier.STATIC;
 import static net.zerobuilder.compiler.generate.ZeroUtil.concat;
 import static net.zerobuilder.compiler.generate.ZeroUtil.constructor;
 import static net.zerobuilder.compiler.generate.ZeroUtil.downcase;
+import static net.zerobuilder.compiler.generate.ZeroUtil.emptyCodeBlock;
+import static net.zerobuilder.compiler.generate.ZeroUtil.joinCodeBlocks;
 import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
 import static net.zerobuilder.compiler.generate.ZeroUtil.parameterizedTypeName;
+import static net.zerobuilder.compiler.generate.ZeroUtil.rawClassName;
 import static net.zerobuilder.compiler.generate.ZeroUtil.simpleName;
 import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
 import static net.zerobuilder.modules.updater.Generator.goalMethod;
+import static net.zerobuilder.modules.updater.Generator.projection;
+import static net.zerobuilder.modules.updater.Generator.thrownByProjections;
 import static net.zerobuilder.modules.updater.InstanceWorld.factorySpec;
 import static net.zerobuilder.modules.updater.Updater.FACTORY;
+import static net.zerobuilder.modules.updater.Updater.SOURCE;
+import static net.zerobuilder.modules.updater.Updater.dirtyMask;
 
 public final class RegularUpdater implements ProjectedModule {
 
   static final String moduleName = "updater";
 
   private CodeBlock regularInvoke(AbstractRegularDetails details, ProjectedRegularGoalDescription description) {
+    if (description.options.contains(GoalOption.REUSE)) {
+      return CodeBlock.builder()
+          .add(Reuse.checkInUse())
+          .add(Reuse.releaseFinally(invoke(details, description), release(description)))
+          .build();
+    }
+    return invoke(details, description);
+  }
+
+  private CodeBlock invoke(AbstractRegularDetails details, ProjectedRegularGoalDescription description) {
     return switch (details) {
       case ConstructorGoalDetails constructor -> constructorCall(description, constructor);
       case StaticMethodGoalDetails staticMethod -> staticCall(description, staticMethod);
@@ -50,18 +73,21 @@ public final class RegularUpdater implements ProjectedModule {
   private final Function<ProjectedRegularGoalDescription, MethodSpec> doneMethod =
       description -> methodBuilder("build")
           .addModifiers(PUBLIC)
-          .addExceptions(description.thrownTypes)
+          .addExceptions(thrownByBuild(description))
           .returns(description.details.type())
           .addCode(regularInvoke(description.details, description))
           .build();
 
   private TypeSpec defineUpdater(ProjectedRegularGoalDescription description) {
-    return classBuilder(simpleName(implType(description)))
+    TypeSpec.Builder updater = classBuilder(simpleName(implType(description)))
         .addFields(Updater.fields(description))
         .addMethods(Updater.stepMethods(description))
         .addTypeVariables(implTypeParameters(description.details))
-        .addMethod(doneMethod.apply(description))
-        .addModifiers(PUBLIC, STATIC, FINAL)
+        .addMethod(doneMethod.apply(description));
+    if (description.options.contains(GoalOption.PATCHES)) {
+      updater.addMethod(Patches.patchMethod(description));
+    }
+    return updater.addModifiers(PUBLIC, STATIC, FINAL)
         .addMethod(constructor(PRIVATE))
         .build();
   }
@@ -76,11 +102,11 @@ public final class RegularUpdater implements ProjectedModule {
     return upcase(description.details.name()) + upcase(moduleName);
   }
 
-  private static List<TypeVariableName> implTypeParameters(AbstractRegularDetails details) {
+  static List<TypeVariableName> implTypeParameters(AbstractRegularDetails details) {
     return switch (details) {
       case ConstructorGoalDetails constructor -> constructor.instanceTypeParameters;
       case StaticMethodGoalDetails staticMethod -> List.of();
-      case InstanceMethodGoalDetails instanceMethod -> new ArrayList<>(new HashSet<>(concat(
+      case InstanceMethodGoalDetails instanceMethod -> new ArrayList<>(new LinkedHashSet<>(concat(
           instanceMethod.instanceTypeParameters,
           instanceMethod.typeParameters)));
     };
@@ -92,8 +118,9 @@ public final class RegularUpdater implements ProjectedModule {
     TypeName type = details.goalType;
     ParameterSpec varGoal = parameterSpec(type, '_' + downcase(simpleName(type)));
     CodeBlock.Builder builder = CodeBlock.builder();
-    return builder.addStatement("$T $N = $T.$N($L)", varGoal.type(), varGoal, description.context.type,
-            method, details.invocationParameters())
+    return builder.addStatement("$T $N = $L$T.$N($L)", varGoal.type(), varGoal, unchanged(description),
+            description.context.type,
+            method, invocationParameters(description))
         .addStatement("return $N", varGoal)
         .build();
   }
@@ -105,8 +132,8 @@ public final class RegularUpdater implements ProjectedModule {
     ParameterSpec varGoal = parameterSpec(type, '_' + downcase(simpleName(type)));
     CodeBlock.Builder builder = CodeBlock.builder();
     return builder
-        .addStatement("$T $N = this.$L.$N($L)", varGoal.type(), varGoal, FACTORY,
-            method, details.invocationParameters())
+        .addStatement("$T $N = $Lthis.$L.$N($L)", varGoal.type(), varGoal, unchanged(description), FACTORY,
+            method, invocationParameters(description))
         .addStatement("return $N", varGoal)
         .build();
   }
@@ -117,31 +144,87 @@ public final class RegularUpdater implements ProjectedModule {
     ParameterSpec varGoal = parameterSpec(type,
         '_' + downcase(simpleName(type)));
     CodeBlock.Builder builder = CodeBlock.builder();
-    return builder.addStatement("$T $N = new $T($L)", varGoal.type(), varGoal, type,
-            details.invocationParameters())
+    return builder.addStatement("$T $N = $Lnew $T($L)", varGoal.type(), varGoal, unchanged(description), type,
+            invocationParameters(description))
         .addStatement("return $N", varGoal)
         .build();
   }
 
+  private static List<TypeName> thrownByBuild(ProjectedRegularGoalDescription description) {
+    if (!description.options.contains(GoalOption.LAZY)) {
+      return description.thrownTypes;
+    }
+    Set<TypeName> thrownTypes = new LinkedHashSet<>(description.thrownTypes);
+    thrownTypes.addAll(thrownByProjections(description));
+    return new ArrayList<>(thrownTypes);
+  }
+
+  /**
+   * In lazy mode, unchanged values are read from the source instance.
+   */
+  private static CodeBlock invocationParameters(ProjectedRegularGoalDescription description) {
+    if (!description.options.contains(GoalOption.LAZY)) {
+      return CodeBlock.of(String.join(", ", description.details.parameterNames()));
+    }
+    Bitmask dirty = dirtyMask(description);
+    CodeBlock source = CodeBlock.of("this.$N", SOURCE);
+    return description.details.parameterNames().stream()
+        .map(name -> {
+          ProjectedParameter step = description.parameters.stream()
+              .filter(parameter -> parameter.name.equals(name))
+              .findFirst()
+              .orElseThrow();
+          int i = description.parameters.indexOf(step);
+          return CodeBlock.of("$L ? this.$N : $L", dirty.isSet(i), step.name, projection(step, source));
+        })
+        .collect(joinCodeBlocks(", "));
+  }
+
+  private static CodeBlock unchanged(ProjectedRegularGoalDescription description) {
+    if (!description.options.contains(GoalOption.PRESERVE_IDENTITY)) {
+      return emptyCodeBlock;
+    }
+    return CodeBlock.of("$L ? this.$N : ", dirtyMask(description).isEmpty(), SOURCE);
+  }
+
+  private static CodeBlock release(ProjectedRegularGoalDescription description) {
+    return Reuse.release(poolField(description), Updater.fields(description));
+  }
+
+  static FieldSpec poolField(ProjectedRegularGoalDescription description) {
+    return Reuse.poolField(rawClassName(implType(description)), methodName(description) + "Pool");
+  }
+
+  private static List<FieldSpec> cacheFields(ProjectedRegularGoalDescription description) {
+    return description.options.contains(GoalOption.REUSE) ?
+        List.of(poolField(description)) :
+        List.of();
+  }
+
   static String methodName(ProjectedRegularGoalDescription description) {
     return description.details.name() + upcase(moduleName);
   }
 
   private List<TypeSpec> types(AbstractRegularDetails details, ProjectedRegularGoalDescription description) {
-    return switch (details) {
+    List<TypeSpec> types = switch (details) {
       case ConstructorGoalDetails constructor -> List.of(defineUpdater(description));
       case StaticMethodGoalDetails staticMethod -> List.of(defineUpdater(description));
       case InstanceMethodGoalDetails instanceMethod -> List.of(
           defineUpdater(description),
           factorySpec(instanceMethod, description));
     };
+    if (!description.options.contains(GoalOption.PATCHES)) {
+      return types;
+    }
+    return concat(types, List.of(Patches.definePatch(description)));
   }
 
   @Override
   public ModuleOutput process(ProjectedRegularGoalDescription description) {
     return new ModuleOutput(
         goalMethod(description.details, description),
+        Withers.withers(description),
         types(description.details, description),
-        List.of());
+        cacheFields(description));
   }
 }
@@ -1,14 +1,19 @@
 package net.zerobuilder.modules.updater;
 
+import com.palantir.javapoet.CodeBlock;
 import com.palantir.javapoet.FieldSpec;
 import com.palantir.javapoet.MethodSpec;
 import com.palantir.javapoet.ParameterSpec;
 import com.palantir.javapoet.TypeName;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
+import net.zerobuilder.compiler.generate.Bitmask;
 import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.ProjectedRegularGoalDescription;
 import net.zerobuilder.compiler.generate.DtoRegularParameter.ProjectedParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+import net.zerobuilder.compiler.generate.Reuse;
 
 import static com.palantir.javapoet.MethodSpec.methodBuilder;
 import static java.util.stream.Collectors.toList;
@@ -17,12 +22,36 @@ import static javax.lang.model.element.Modifier.PUBLIC;
 import static net.zerobuilder.compiler.generate.DtoGoalDetails.isInstance;
 import static net.zerobuilder.compiler.generate.ZeroUtil.fieldSpec;
 import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.statement;
 import static net.zerobuilder.modules.updater.RegularUpdater.implType;
 
 final class Updater {
 
-  static final String IN_USE = "_currently_in_use";
   static final String FACTORY = "_factory";
+  static final String SOURCE = "_source";
+  private static final String DIRTY = "_dirty";
+
+  /**
+   * @param description goal description
+   * @return true if the updater keeps the source instance, and tracks changes
+   */
+  static boolean tracksChanges(ProjectedRegularGoalDescription description) {
+    return description.options.contains(GoalOption.PRESERVE_IDENTITY)
+        || description.options.contains(GoalOption.LAZY);
+  }
+
+  /**
+   * @param description goal description
+   * @return true if the updater records which steps were invoked
+   */
+  static boolean tracksSteps(ProjectedRegularGoalDescription description) {
+    return tracksChanges(description)
+        || description.options.contains(GoalOption.PATCHES);
+  }
+
+  static Bitmask dirtyMask(ProjectedRegularGoalDescription description) {
+    return Bitmask.create(DIRTY, description.parameters.size());
+  }
 
   static List<FieldSpec> fields(ProjectedRegularGoalDescription description) {
     List<FieldSpec> builder = new ArrayList<>();
@@ -34,6 +63,15 @@ final class Updater {
       TypeName type = step.type;
       builder.add(fieldSpec(type, name, PRIVATE));
     }
+    if (tracksChanges(description)) {
+      builder.add(fieldSpec(description.details.type(), SOURCE, PRIVATE));
+    }
+    if (tracksSteps(description)) {
+      builder.addAll(dirtyMask(description).fields());
+    }
+    if (description.options.contains(GoalOption.REUSE)) {
+      builder.add(Reuse.inUseField());
+    }
     return builder;
   }
 
@@ -51,15 +89,55 @@ final class Updater {
     String name = step.name;
     TypeName type = step.type;
     ParameterSpec parameter = parameterSpec(type, name);
-    return methodBuilder(name)
+    MethodSpec.Builder method = methodBuilder(name);
+    if (description.options.contains(GoalOption.REUSE)) {
+      method.addCode(Reuse.checkInUse());
+    }
+    return method
         .returns(implType(description))
         .addParameter(parameter)
-        .addStatement("this.$N = $N", fieldSpec(step.type, step.name), parameter)
+        .addCode(assignment(description, step, parameter))
         .addStatement("return this")
         .addModifiers(PUBLIC)
         .build();
   }
 
+  private static CodeBlock assignment(ProjectedRegularGoalDescription description,
+                                      ProjectedParameter step, ParameterSpec parameter) {
+    FieldSpec field = fieldSpec(step.type, step.name);
+    if (description.options.contains(GoalOption.LAZY)
+        || description.options.contains(GoalOption.PATCHES)
+        && !description.options.contains(GoalOption.PRESERVE_IDENTITY)) {
+      return CodeBlock.builder()
+          .addStatement("this.$N = $N", field, parameter)
+          .add(dirtyMask(description).set(description.parameters.indexOf(step)))
+          .build();
+    }
+    if (!description.options.contains(GoalOption.PRESERVE_IDENTITY)) {
+      return statement("this.$N = $N", field, parameter);
+    }
+    return CodeBlock.builder()
+        .beginControlFlow("if ($L)", differs(field, parameter))
+        .addStatement("this.$N = $N", field, parameter)
+        .add(dirtyMask(description).set(description.parameters.indexOf(step)))
+        .endControlFlow()
+        .build();
+  }
+
+  private static CodeBlock differs(FieldSpec field, ParameterSpec parameter) {
+    TypeName type = field.type();
+    if (type.equals(TypeName.FLOAT)) {
+      return CodeBlock.of("$T.compare(this.$N, $N) != 0", Float.class, field, parameter);
+    }
+    if (type.equals(TypeName.DOUBLE)) {
+      return CodeBlock.of("$T.compare(this.$N, $N) != 0", Double.class, field, parameter);
+    }
+    if (type.isPrimitive()) {
+      return CodeBlock.of("this.$N != $N", field, parameter);
+    }
+    return CodeBlock.of("!$T.equals(this.$N, $N)", Objects.class, field, parameter);
+  }
+
   private Updater() {
     throw new UnsupportedOperationException("no instances");
   }
@@ -0,0 +1,84 @@
+package net.zerobuilder.modules.updater;
+
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.TypeName;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod;
+import net.zerobuilder.compiler.generate.DtoProjectionInfo;
+import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.ProjectedRegularGoalDescription;
+import net.zerobuilder.compiler.generate.DtoRegularParameter.ProjectedParameter;
+import net.zerobuilder.compiler.generate.GoalOption;
+
+import static com.palantir.javapoet.MethodSpec.methodBuilder;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.zerobuilder.compiler.generate.ZeroUtil.joinCodeBlocks;
+import static net.zerobuilder.compiler.generate.ZeroUtil.parameterSpec;
+import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
+import static net.zerobuilder.modules.updater.Generator.instanceTypeParameters;
+import static net.zerobuilder.modules.updater.Generator.projection;
+
+/**
+ * Static {@code withX} methods for record updaters, see {@link GoalOption#WITHERS}.
+ * Each of these methods invokes the constructor directly; no updater instance is created.
+ */
+final class Withers {
+
+  private static final String SOURCE = "source";
+  private static final String VALUE = "value";
+
+  static List<BuilderMethod> withers(ProjectedRegularGoalDescription description) {
+    if (!description.options.contains(GoalOption.WITHERS)) {
+      return List.of();
+    }
+    List<BuilderMethod> withers = new ArrayList<>(description.parameters.size());
+    for (String name : description.details.parameterNames()) {
+      withers.add(new BuilderMethod(description.details.name(), wither(description, parameter(description, name))));
+    }
+    return withers;
+  }
+
+  private static MethodSpec wither(ProjectedRegularGoalDescription description, ProjectedParameter step) {
+    ParameterSpec source = parameterSpec(description.details.type(), SOURCE);
+    ParameterSpec value = parameterSpec(step.type, VALUE);
+    CodeBlock arguments = description.details.parameterNames().stream()
+        .map(name -> name.equals(step.name) ?
+            CodeBlock.of("$N", value) :
+            projection(parameter(description, name), CodeBlock.of("$N", source)))
+        .collect(joinCodeBlocks(", "));
+    return methodBuilder("with" + upcase(step.name))
+        .addTypeVariables(instanceTypeParameters(description.details))
+        .addParameter(source)
+        .addParameter(value)
+        .returns(description.details.type())
+        .addExceptions(thrownTypes(description, step))
+        .addStatement("return new $T($L)", description.details.type(), arguments)
+        .addModifiers(description.details.access(STATIC))
+        .build();
+  }
+
+  private static List<TypeName> thrownTypes(ProjectedRegularGoalDescription description, ProjectedParameter step) {
+    Set<TypeName> thrownTypes = new LinkedHashSet<>(description.thrownTypes);
+    for (ProjectedParameter parameter : description.parameters) {
+      if (parameter != step) {
+        thrownTypes.addAll(DtoProjectionInfo.thrownTypes(parameter.projectionInfo));
+      }
+    }
+    return new ArrayList<>(thrownTypes);
+  }
+
+  private static ProjectedParameter parameter(ProjectedRegularGoalDescription description, String name) {
+    return description.parameters.stream()
+        .filter(parameter -> parameter.name.equals(name))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private Withers() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
@@ -10,9 +10,10 @@ import net.zerobuilder.compiler.generate.DtoBeanParameter;
 import net.zerobuilder.compiler.generate.DtoBeanParameter.AbstractBeanParameter;
 import net.zerobuilder.compiler.generate.DtoBeanParameter.LoneGetter;
 import net.zerobuilder.compiler.generate.DtoGeneratorOutput.BuilderMethod;
+import net.zerobuilder.compiler.generate.GoalOption;
 
 import javax.lang.model.element.Modifier;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
@@ -38,10 +39,11 @@ final class Generator {
         .returns(implType(description))
         .addExceptions(thrownTypes(description,
             asList(
-                AbstractBeanParameter::getterThrownTypes,
+                parameter -> copied(parameter, description) ? parameter.getterThrownTypes() : List.of(),
                 AbstractBeanParameter::setterThrownTypes)))
         .addCode(initVarUpdater(varUpdater))
         .addCode(description.parameters.stream()
+            .filter(parameter -> copied(parameter, description))
             .map(parameter -> copy(parameter, description))
             .collect(joinCodeBlocks))
         .addStatement("return $N", varUpdater)
@@ -52,7 +54,7 @@ final class Generator {
 
   private static Set<TypeName> thrownTypes(BeanGoalDescription description,
                                            List<Function<AbstractBeanParameter, List<TypeName>>> functions) {
-    Set<TypeName> thrownTypes = new HashSet<>();
+    Set<TypeName> thrownTypes = new LinkedHashSet<>();
     for (Function<AbstractBeanParameter, List<TypeName>> function : functions) {
       thrownTypes.addAll(description.parameters.stream()
           .map(function)
@@ -63,6 +65,15 @@ final class Generator {
     return thrownTypes;
   }
 
+  /**
+   * With {@link GoalOption#LAZY_COLLECTIONS}, a setterless collection is not read,
+   * so a lazily loaded association stays unloaded.
+   */
+  private static boolean copied(AbstractBeanParameter parameter, BeanGoalDescription description) {
+    return !(parameter instanceof LoneGetter)
+        || !description.options.contains(GoalOption.LAZY_COLLECTIONS);
+  }
+
   private static CodeBlock copy(AbstractBeanParameter parameter, BeanGoalDescription description) {
     return switch (parameter) {
       case DtoBeanParameter.AccessorPair accessorPair -> copyRegular(description, accessorPair);
@@ -73,16 +84,12 @@ final class Generator {
   private static CodeBlock copyCollection(BeanGoalDescription description, LoneGetter step) {
     ClassName type = description.details.goalType;
     ParameterSpec parameter = parameterSpec(type, downcase(type.simpleName()));
-    ParameterSpec iterationVar = step.iterationVar(parameter);
     return CodeBlock.builder()
-        .beginControlFlow("for ($T $N : $N.$N())",
-            iterationVar.type(), iterationVar, parameter,
-            step.getter())
-        .addStatement("$N.$N.$N().add($N)", updaterInstance(description),
+        .addStatement("$N.$N.$N().addAll($N.$N())", updaterInstance(description),
             downcase(type.simpleName()),
             step.getter(),
-            iterationVar)
-        .endControlFlow()
+            parameter,
+            step.getter())
         .build();
   }
 
@@ -6,6 +6,7 @@ import com.palantir.javapoet.FieldSpec;
 import com.palantir.javapoet.MethodSpec;
 import com.palantir.javapoet.ParameterSpec;
 import com.palantir.javapoet.ParameterizedTypeName;
+import net.zerobuilder.compiler.generate.BulkAdd;
 import net.zerobuilder.compiler.generate.DtoBeanGoalDescription.BeanGoalDescription;
 import net.zerobuilder.compiler.generate.DtoBeanParameter.AbstractBeanParameter;
 import net.zerobuilder.compiler.generate.DtoBeanParameter.AccessorPair;
@@ -64,10 +65,8 @@ final class Updater {
         .addParameter(parameter)
         .addExceptions(step.getterThrownTypes)
         .addCode(clearCollection(description, step))
-        .beginControlFlow("for ($T $N : $N)", iterationVar.type(), iterationVar, name)
-        .addStatement("this.$N.$N().add($N)",
-            description.beanField, step.getter(), iterationVar)
-        .endControlFlow()
+        .addCode(BulkAdd.addAll(CodeBlock.of("this.$N.$N()", description.beanField, step.getter()),
+            parameter, iterationVar))
         .addStatement("return this")
         .addModifiers(PUBLIC)
         .build();
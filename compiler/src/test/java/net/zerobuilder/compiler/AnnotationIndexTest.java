@@ -0,0 +1,66 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class AnnotationIndexTest {
+
+  @Test
+  void largeClass() {
+    List<String> lines = new ArrayList<>(List.of(
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  final String foo;",
+        "  final int bar;",
+        "  @Updater",
+        "  @GoalName(\"copy\")",
+        "  static Doo create(String foo, int bar) {",
+        "    return new Doo(foo, bar);",
+        "  }"));
+    for (int i = 0; i < 2000; i++) {
+      lines.add("  int m" + i + "() { return " + i + "; }");
+    }
+    lines.addAll(List.of(
+        "  @Builder",
+        "  Doo(String foo, int bar) {",
+        "    this.foo = foo;",
+        "    this.bar = bar;",
+        "  }",
+        "}"));
+    Compilation compilation = simpleCompiler().compile(forSourceLines("test.Doo", lines));
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static CopyUpdater copyUpdater(Doo doo) {");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static DooBuilder.Foo dooBuilder() {");
+  }
+
+  @Test
+  void beanSubgoal() {
+    JavaFileObject bean = forSourceLines("test.Bean",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@BeanBuilder",
+        "public class Bean {",
+        "  private String foo;",
+        "  public String getFoo() { return foo; }",
+        "  public void setFoo(String foo) { this.foo = foo; }",
+        "  @Builder",
+        "  static Bean create() { return new Bean(); }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(bean);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("Bean goals may not have subgoals");
+  }
+}
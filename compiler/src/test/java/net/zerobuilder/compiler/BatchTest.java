@@ -0,0 +1,193 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class BatchTest {
+
+  @Test
+  void batch() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(batch = true)",
+        "record Doo(String foo, int bar) {",
+        "}");
+    JavaFileObject client = forSourceLines("test.Client",
+        "package test;",
+        "import java.util.List;",
+        "",
+        "class Client {",
+        "  static List<Doo> create() {",
+        "    return DooBuilders.dooBatch(2)",
+        "        .foo(List.of(\"a\", \"b\"))",
+        "        .bar(new int[]{1, 2})",
+        "        .parallel()",
+        "        .toList();",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo, client);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static DooBatch.Foo dooBatch(int n) {",
+        "    return new DooBatch(n)._loader;",
+        "  }");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static final class DooBatch {",
+        "    public static final int PARALLEL_THRESHOLD = 8192;",
+        "",
+        "    private final int _n;",
+        "",
+        "    private List<? extends String> foo;",
+        "",
+        "    private int[] bar;",
+        "",
+        "    private boolean _parallel;",
+        "",
+        "    private final Loader _loader = new Loader();",
+        "",
+        "    DooBatch(int n) {",
+        "      this._n = n;",
+        "    }",
+        "",
+        "    public DooBatch parallel() {",
+        "      this._parallel = true;",
+        "      return this;",
+        "    }",
+        "",
+        "    public Doo[] toArray() {",
+        "      Doo[] _result = new Doo[this._n];",
+        "      if (this._parallel && this._n >= PARALLEL_THRESHOLD) {",
+        "        IntStream.range(0, this._n).parallel().forEach(i -> _result[i] = new Doo(this.foo.get(i), this.bar[i]));",
+        "      } else {",
+        "        for (int i = 0; i < this._n; i++) {",
+        "          _result[i] = new Doo(this.foo.get(i), this.bar[i]);",
+        "        }",
+        "      }",
+        "      return _result;",
+        "    }",
+        "",
+        "    public List<Doo> toList() {",
+        "      return Collections.unmodifiableList(Arrays.asList(toArray()));",
+        "    }",
+        "",
+        "    public interface Foo {",
+        "      Bar foo(List<? extends String> foo);",
+        "    }",
+        "",
+        "    public interface Bar {",
+        "      DooBatch bar(int[] bar);",
+        "    }",
+        "",
+        "    private final class Loader implements Foo, Bar {",
+        "      @Override",
+        "      public Bar foo(List<? extends String> foo) {",
+        "        if (foo.size() != DooBatch.this._n) {",
+        "          throw new IllegalArgumentException(\"foo: expected \" + DooBatch.this._n + \" rows, got \" + foo.size());",
+        "        }",
+        "        DooBatch.this.foo = foo;",
+        "        return this;",
+        "      }",
+        "",
+        "      @Override",
+        "      public DooBatch bar(int[] bar) {",
+        "        if (bar.length != DooBatch.this._n) {",
+        "          throw new IllegalArgumentException(\"bar: expected \" + DooBatch.this._n + \" rows, got \" + bar.length);",
+        "        }",
+        "        DooBatch.this.bar = bar;",
+        "        return DooBatch.this;",
+        "      }",
+        "    }",
+        "  }");
+  }
+
+  @Test
+  void instanceGoal() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import java.io.IOException;",
+        "import java.util.List;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  @Builder(batch = true)",
+        "  @GoalName(\"tags\")",
+        "  List<String> tags(String first, long count) throws IOException {",
+        "    return List.of(first);",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static TagsBatch.First tagsBatch(Doo doo, int n) {",
+        "    return new TagsBatch(doo, n)._loader;",
+        "  }");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    private final Doo _doo;",
+        "",
+        "    private final int _n;",
+        "",
+        "    private List<? extends String> first;",
+        "",
+        "    private long[] count;",
+        "",
+        "    TagsBatch(Doo doo, int n) {",
+        "      this._doo = doo;",
+        "      this._n = n;",
+        "    }");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    @SuppressWarnings(\"unchecked\")",
+        "    public List<String>[] toArray() throws IOException {",
+        "      List<String>[] _result = (List<String>[]) new List<?>[this._n];",
+        "      for (int i = 0; i < this._n; i++) {",
+        "        _result[i] = this._doo.tags(this.first.get(i), this.count[i]);",
+        "      }",
+        "      return _result;",
+        "    }",
+        "",
+        "    public List<List<String>> toList() throws IOException {",
+        "      return Collections.unmodifiableList(Arrays.asList(toArray()));",
+        "    }");
+  }
+
+  @Test
+  void stepOrder() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  @Builder(batch = true)",
+        "  static Doo create(String foo, @Step(0) int bar) {",
+        "    return new Doo();",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static DooBatch.Bar dooBatch(int n) {");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "          _result[i] = Doo.create(this.foo.get(i), this.bar[i]);");
+  }
+
+  @Test
+  void reservedName() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(batch = true)",
+        "record Doo(String foo, int loader) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("This name is reserved by the batch: loader");
+  }
+}
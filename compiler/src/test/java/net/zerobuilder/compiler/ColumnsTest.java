@@ -0,0 +1,176 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class ColumnsTest {
+
+  @Test
+  void columns() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(columns = true)",
+        "record Doo(String foo, int bar) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static DooColumns dooColumns(int capacity) {",
+        "    return new DooColumns(capacity);",
+        "  }");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static final class DooColumns {",
+        "    private String[] foo;",
+        "",
+        "    private int[] bar;",
+        "",
+        "    private int _size;",
+        "",
+        "    private final Appender _appender = new Appender();",
+        "",
+        "    DooColumns(int capacity) {",
+        "      this.foo = new String[capacity];",
+        "      this.bar = new int[capacity];",
+        "    }",
+        "",
+        "    public Foo append() {",
+        "      if (this._size == this.foo.length) {",
+        "        grow();",
+        "      }",
+        "      return this._appender;",
+        "    }",
+        "",
+        "    private void grow() {",
+        "      int capacity = Math.max(16, (int) Math.min(2L * this._size, Integer.MAX_VALUE - 8));",
+        "      this.foo = Arrays.copyOf(this.foo, capacity);",
+        "      this.bar = Arrays.copyOf(this.bar, capacity);",
+        "    }",
+        "",
+        "    public int size() {",
+        "      return this._size;",
+        "    }",
+        "",
+        "    public String foo(int row) {",
+        "      Objects.checkIndex(row, this._size);",
+        "      return this.foo[row];",
+        "    }",
+        "",
+        "    public int bar(int row) {",
+        "      Objects.checkIndex(row, this._size);",
+        "      return this.bar[row];",
+        "    }",
+        "",
+        "    public Doo get(int row) {",
+        "      Objects.checkIndex(row, this._size);",
+        "      return new Doo(this.foo[row], this.bar[row]);",
+        "    }",
+        "",
+        "    public Spliterator<Doo> spliterator() {",
+        "      return IntStream.range(0, this._size).mapToObj(this::get).spliterator();",
+        "    }",
+        "",
+        "    public Spliterator<String> fooSpliterator() {",
+        "      return Spliterators.spliterator(this.foo, 0, this._size, Spliterator.ORDERED | Spliterator.IMMUTABLE);",
+        "    }",
+        "",
+        "    public Spliterator.OfInt barSpliterator() {",
+        "      return Spliterators.spliterator(this.bar, 0, this._size, Spliterator.ORDERED | Spliterator.IMMUTABLE);",
+        "    }",
+        "",
+        "    public interface Foo {",
+        "      Bar foo(String foo);",
+        "    }",
+        "",
+        "    public interface Bar {",
+        "      DooColumns bar(int bar);",
+        "    }",
+        "",
+        "    private final class Appender implements Foo, Bar {",
+        "      @Override",
+        "      public Bar foo(String foo) {",
+        "        DooColumns.this.foo[DooColumns.this._size] = foo;",
+        "        return this;",
+        "      }",
+        "",
+        "      @Override",
+        "      public DooColumns bar(int bar) {",
+        "        DooColumns.this.bar[DooColumns.this._size] = bar;",
+        "        DooColumns.this._size++;",
+        "        return DooColumns.this;",
+        "      }",
+        "    }",
+        "  }");
+  }
+
+  @Test
+  void nonReifiableComponents() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import java.util.List;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(columns = true)",
+        "record Doo(List<String> tags, int[] codes, short level, boolean flag) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    @SuppressWarnings(\"unchecked\")",
+        "    DooColumns(int capacity) {",
+        "      this.tags = (List<String>[]) new List<?>[capacity];",
+        "      this.codes = new int[capacity][];",
+        "      this.level = new short[capacity];",
+        "      this.flag = new boolean[capacity];",
+        "    }");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    public Spliterator<int[]> codesSpliterator() {",
+        "      return Spliterators.spliterator(this.codes, 0, this._size, Spliterator.ORDERED | Spliterator.IMMUTABLE);",
+        "    }",
+        "",
+        "    public Spliterator.OfInt levelSpliterator() {",
+        "      short[] _column = this.level;",
+        "      return IntStream.range(0, this._size).map(i -> _column[i]).spliterator();",
+        "    }",
+        "",
+        "    public Spliterator<Boolean> flagSpliterator() {",
+        "      boolean[] _column = this.flag;",
+        "      return IntStream.range(0, this._size).mapToObj(i -> _column[i]).spliterator();",
+        "    }");
+  }
+
+  @Test
+  void reservedName() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(columns = true)",
+        "record Doo(String get) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("This name is reserved by the columns: get");
+  }
+
+  @Test
+  void generics() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(columns = true)",
+        "record Doo<T>(T foo) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("A record with type variables cannot have columns.");
+  }
+}
@@ -0,0 +1,122 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class CompactTest {
+
+  @Test
+  void compactRecord() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(compact = true)",
+        "record Doo(String foo, int bar) {",
+        "}");
+    JavaFileObject client = forSourceLines("test.Client",
+        "package test;",
+        "",
+        "class Client {",
+        "  static Doo create() {",
+        "    return DooBuilders.dooBuilder().set(\"a\").set(1);",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo, client);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  @SuppressWarnings({",
+        "      \"unchecked\",",
+        "      \"rawtypes\"",
+        "  })",
+        "  public static CompactStep<String, CompactStep<Integer, Doo>> dooBuilder() {",
+        "    return (CompactStep) new DooBuilderImpl();",
+        "  }",
+        "",
+        "  private static final class DooBuilderImpl implements CompactStep<Object, Object> {",
+        "    private String foo;",
+        "",
+        "    private int _step;",
+        "",
+        "    DooBuilderImpl() {",
+        "    }",
+        "",
+        "    @Override",
+        "    @SuppressWarnings(\"unchecked\")",
+        "    public Object set(Object _value) {",
+        "      switch (this._step++) {",
+        "        case 0:",
+        "          this.foo = (String) _value;",
+        "          return this;",
+        "        case 1:",
+        "          int bar = (int) _value;",
+        "          Doo _doo = new Doo(foo, bar);",
+        "          return _doo;",
+        "        default:",
+        "          throw new IllegalStateException(\"all steps were already set\");",
+        "      }",
+        "    }",
+        "  }");
+  }
+
+  @Test
+  void compactReuse() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  @Builder(compact = true, reuse = true)",
+        "  @GoalName(\"doo\")",
+        "  static String create(String foo, long bar) {",
+        "    return foo + bar;",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    public Object set(Object _value) {",
+        "      if (!this._currently_in_use) {",
+        "        throw new IllegalStateException(\"released\");",
+        "      }",
+        "      switch (this._step++) {",
+        "        case 0:",
+        "          this.foo = (String) _value;",
+        "          return this;",
+        "        case 1:",
+        "          try {",
+        "            long bar = (long) _value;",
+        "            String _string = Doo.create(foo, bar);",
+        "            return _string;",
+        "          } finally {",
+        "            this.foo = null;",
+        "            this._step = 0;",
+        "            this._currently_in_use = false;");
+  }
+
+  @Test
+  void exceptionsNotCompact() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import java.io.IOException;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  @Builder(compact = true)",
+        "  @GoalName(\"doo\")",
+        "  static String create(String foo, long bar) throws IOException {",
+        "    return foo + bar;",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static DooBuilder.Foo dooBuilder() {");
+  }
+}
@@ -72,4 +72,19 @@ public class FailTest {
     assertThat(compilation).failed();
     assertThat(compilation).hadErrorContaining("Missing projection: foo");
   }
+
+  @Test
+  public void reuseGenerics() {
+    List<String> sourceLines = Arrays.asList(
+        "package test;",
+        "import net.zerobuilder.*;",
+        "class Centipede<E> {",
+        "  @Updater(reuse = true) Centipede(E a) {}",
+        "  E a() { return null; }",
+        "}");
+    JavaFileObject javaFile = forSourceLines("test.Centipede", sourceLines);
+    Compilation compilation = simpleCompiler().compile(javaFile);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("cannot be recycled");
+  }
 }
@@ -0,0 +1,201 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class FlyweightTest {
+
+  @Test
+  void flyweight() {
+    JavaFileObject tick = forSourceLines("test.Tick",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(flyweight = true)",
+        "record Tick(int size, long time, double price) {",
+        "}");
+    JavaFileObject client = forSourceLines("test.Client",
+        "package test;",
+        "import java.lang.foreign.Arena;",
+        "import java.lang.foreign.MemorySegment;",
+        "",
+        "class Client {",
+        "  static Tick roundTrip(Arena arena) {",
+        "    MemorySegment segment = TickBuilders.TickFlyweight.allocate(arena, 2);",
+        "    TickBuilders.TickFlyweight ticks = TickBuilders.tickFlyweight(segment);",
+        "    ticks.write(1).size(3).time(4L).price(5.0);",
+        "    return ticks.at(1).get();",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(tick, client);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.TickBuilders").containsLines(
+        "  public static TickFlyweight tickFlyweight(MemorySegment segment) {",
+        "    return new TickFlyweight(segment);",
+        "  }");
+    assertThat(compilation).generatedSourceFile("test.TickBuilders").containsLines(
+        "  public static final class TickFlyweight {",
+        "    public static final long BYTES = 24L;",
+        "",
+        "    public static final long ALIGNMENT = 8L;",
+        "",
+        "    private final MemorySegment _segment;",
+        "",
+        "    private long _offset;",
+        "",
+        "    private final Writer _writer = new Writer();",
+        "",
+        "    TickFlyweight(MemorySegment _segment) {",
+        "      this._segment = _segment;",
+        "    }",
+        "",
+        "    public static MemorySegment allocate(SegmentAllocator allocator, long count) {",
+        "      return allocator.allocate(BYTES * count, ALIGNMENT);",
+        "    }",
+        "",
+        "    public long count() {",
+        "      return this._segment.byteSize() / BYTES;",
+        "    }",
+        "",
+        "    public TickFlyweight at(long index) {",
+        "      this._offset = index * BYTES;",
+        "      return this;",
+        "    }",
+        "",
+        "    public Size write(long index) {",
+        "      this._offset = index * BYTES;",
+        "      return this._writer;",
+        "    }",
+        "",
+        "    public int size() {",
+        "      return this._segment.get(ValueLayout.JAVA_INT_UNALIGNED, this._offset + 16);",
+        "    }");
+    assertThat(compilation).generatedSourceFile("test.TickBuilders").containsLines(
+        "    public Tick get() {",
+        "      return new Tick(size(), time(), price());",
+        "    }",
+        "",
+        "    public interface Size {",
+        "      Time size(int size);",
+        "    }");
+    assertThat(compilation).generatedSourceFile("test.TickBuilders").containsLines(
+        "    private final class Writer implements Size, Time, Price {",
+        "      @Override",
+        "      public Time size(int size) {",
+        "        TickFlyweight.this._segment.set(ValueLayout.JAVA_INT_UNALIGNED, TickFlyweight.this._offset + 16, size);",
+        "        return this;",
+        "      }",
+        "",
+        "      @Override",
+        "      public Price time(long time) {",
+        "        TickFlyweight.this._segment.set(ValueLayout.JAVA_LONG_UNALIGNED, TickFlyweight.this._offset, time);",
+        "        return this;",
+        "      }",
+        "",
+        "      @Override",
+        "      public TickFlyweight price(double price) {",
+        "        TickFlyweight.this._segment.set(ValueLayout.JAVA_DOUBLE_UNALIGNED, TickFlyweight.this._offset + 8, price);",
+        "        return TickFlyweight.this;",
+        "      }",
+        "    }");
+  }
+
+  @Test
+  void booleanAndByte() {
+    JavaFileObject flags = forSourceLines("test.Flags",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(flyweight = true)",
+        "record Flags(boolean on, short code, byte level) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(flags);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.FlagsBuilders").containsLines(
+        "    public static final long BYTES = 4L;",
+        "",
+        "    public static final long ALIGNMENT = 2L;");
+    assertThat(compilation).generatedSourceFile("test.FlagsBuilders").containsLines(
+        "        FlagsFlyweight.this._segment.set(ValueLayout.JAVA_BOOLEAN, FlagsFlyweight.this._offset + 2, on);");
+    assertThat(compilation).generatedSourceFile("test.FlagsBuilders").containsLines(
+        "        FlagsFlyweight.this._segment.set(ValueLayout.JAVA_SHORT_UNALIGNED, FlagsFlyweight.this._offset, code);");
+    assertThat(compilation).generatedSourceFile("test.FlagsBuilders").containsLines(
+        "      return this._segment.get(ValueLayout.JAVA_BYTE, this._offset + 3);");
+  }
+
+  @Test
+  void referenceComponent() {
+    JavaFileObject tick = forSourceLines("test.Tick",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(flyweight = true)",
+        "record Tick(long time, String symbol) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(tick);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("A flyweight component must be primitive.");
+  }
+
+  @Test
+  void reservedName() {
+    JavaFileObject tick = forSourceLines("test.Tick",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(flyweight = true)",
+        "record Tick(long time, int count) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(tick);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("This name is reserved by the flyweight: count");
+  }
+
+  @Test
+  void writerName() {
+    JavaFileObject tick = forSourceLines("test.Tick",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(flyweight = true)",
+        "record Tick(long time, int writer) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(tick);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("This name is reserved by the flyweight: writer");
+  }
+
+  @Test
+  void generics() {
+    JavaFileObject tick = forSourceLines("test.Tick",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(flyweight = true)",
+        "record Tick<T>(long time, int size) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(tick);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("A record with type variables cannot have a flyweight.");
+  }
+
+  @Test
+  void sourceVersion() {
+    JavaFileObject tick = forSourceLines("test.Tick",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(flyweight = true)",
+        "record Tick(long time, int size) {",
+        "}");
+    Compilation compilation = simpleCompiler().withOptions("--release", "17").compile(tick);
+    assertThat(compilation).failed();
+    assertThat(compilation).hadErrorContaining("A flyweight uses java.lang.foreign, which needs source version 22 or later.");
+  }
+}
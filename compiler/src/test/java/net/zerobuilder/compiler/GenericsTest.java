@@ -78,4 +78,109 @@ class GenericsTest {
         "  }",
         "}");
   }
+
+  @Test
+  void staticMethodMutable() {
+    JavaFileObject cube = forSourceLines("cube.Fuchur",
+        "package cube;",
+        "import net.zerobuilder.*;",
+        "import java.util.Map;",
+        "import java.util.List;",
+        "import java.util.HashMap;",
+        "",
+        "final class Fuchur {",
+        "  @Builder(mutable = true)",
+        "  static <K, V extends Number> Map<K, V> multiKey(List<K> keys, V value) {",
+        "    Map<K, V> m = new HashMap<>();",
+        "    for (K key : keys) {",
+        "      m.put(key, value);",
+        "    }",
+        "    return m;",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(cube);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("cube.FuchurBuilders").containsLines(
+        "  public static MapBuilder.Keys mapBuilder() {",
+        "    return new MapBuilderImpl();",
+        "  }",
+        "",
+        "  @SuppressWarnings({",
+        "      \"unchecked\",",
+        "      \"rawtypes\"",
+        "  })",
+        "  private static final class MapBuilderImpl implements MapBuilder.Keys, MapBuilder.Value {",
+        "    private List keys;",
+        "",
+        "    MapBuilderImpl() {",
+        "    }",
+        "",
+        "    @Override",
+        "    public MapBuilder.Value keys(List keys) {",
+        "      this.keys = keys;",
+        "      return this;",
+        "    }",
+        "",
+        "    @Override",
+        "    public Map value(Number value) {",
+        "      return Fuchur.multiKey(keys, value);",
+        "    }",
+        "  }",
+        "",
+        "  public static final class MapBuilder {",
+        "    private MapBuilder() {",
+        "      throw new UnsupportedOperationException(\"no instances\");",
+        "    }",
+        "",
+        "    public interface Keys {",
+        "      <K> Value<K> keys(List<K> keys);",
+        "    }",
+        "",
+        "    public interface Value<K> {",
+        "      <V extends Number> Map<K, V> value(V value);",
+        "    }",
+        "  }",
+        "}");
+  }
+
+  @Test
+  void mutableObjectBound() {
+    JavaFileObject cube = forSourceLines("cube.Fuchur",
+        "package cube;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Fuchur {",
+        "  @Builder(mutable = true)",
+        "  @GoalName(\"max\")",
+        "  static <T extends Object & Comparable<T>, S extends T> T max(T first, S second) {",
+        "    return first.compareTo(second) < 0 ? second : first;",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(cube);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("cube.FuchurBuilders").containsLines(
+        "    private Object first;",
+        "",
+        "    MaxBuilderImpl() {",
+        "    }",
+        "",
+        "    @Override",
+        "    public MaxBuilder.Second first(Object first) {",
+        "      this.first = first;",
+        "      return this;",
+        "    }",
+        "",
+        "    @Override",
+        "    public Object second(Object second) {",
+        "      return Fuchur.max((Comparable) first, (Comparable) second);",
+        "    }");
+    assertThat(compilation).generatedSourceFile("cube.FuchurBuilders").containsLines(
+        "    public interface First {",
+        "      <T extends Object & Comparable<T>> Second<T> first(T first);",
+        "    }",
+        "",
+        "    public interface Second<T extends Object & Comparable<T>> {",
+        "      <S extends T> T second(S second);",
+        "    }");
+  }
 }
@@ -0,0 +1,130 @@
+package net.zerobuilder.compiler;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that Gradle treats the processor as isolating:
+ * Only the {@code *Builders} files of the changed types are regenerated.
+ */
+class IncrementalProcessingTest {
+
+  @TempDir
+  Path projectDir;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    String processorPath = Arrays.stream(System.getProperty("zerobuilder.processorPath").split(File.pathSeparator))
+        .map(path -> '"' + path.replace("\\", "\\\\") + '"')
+        .collect(Collectors.joining(", "));
+    write("settings.gradle.kts", "rootProject.name = \"incremental\"");
+    write("build.gradle.kts",
+        "plugins {",
+        "  id(\"java\")",
+        "}",
+        "dependencies {",
+        "  compileOnly(files(" + processorPath + "))",
+        "  annotationProcessor(files(" + processorPath + "))",
+        "}");
+    write("src/main/java/test/Foo.java",
+        "package test;",
+        "import net.zerobuilder.RecordBuilder;",
+        "@RecordBuilder",
+        "record Foo(String foo) {",
+        "}");
+    write("src/main/java/test/BarBase.java",
+        "package test;",
+        "class BarBase {",
+        "  private String base;",
+        "  public String getBase() { return base; }",
+        "  public void setBase(String base) { this.base = base; }",
+        "}");
+    write("src/main/java/test/Bar.java",
+        "package test;",
+        "import net.zerobuilder.BeanBuilder;",
+        "@BeanBuilder",
+        "public class Bar extends BarBase {",
+        "  private String bar;",
+        "  public String getBar() { return bar; }",
+        "  public void setBar(String bar) { this.bar = bar; }",
+        "}");
+  }
+
+  @Test
+  void changeRecord() throws IOException {
+    build();
+    String foo = generated("FooBuilders");
+    long bar = lastModified("BarBuilders");
+    write("src/main/java/test/Foo.java",
+        "package test;",
+        "import net.zerobuilder.RecordBuilder;",
+        "@RecordBuilder",
+        "record Foo(String foo, int baz) {",
+        "}");
+    BuildResult result = build();
+    assertFalse(result.getOutput().contains("Full recompilation is required"), result.getOutput());
+    assertNotEquals(foo, generated("FooBuilders"));
+    assertTrue(generated("FooBuilders").contains("baz"));
+    assertEquals(bar, lastModified("BarBuilders"));
+  }
+
+  @Test
+  void changeSuperclass() throws IOException {
+    build();
+    long foo = lastModified("FooBuilders");
+    write("src/main/java/test/BarBase.java",
+        "package test;",
+        "class BarBase {",
+        "  private String base;",
+        "  private int qux;",
+        "  public String getBase() { return base; }",
+        "  public void setBase(String base) { this.base = base; }",
+        "  public int getQux() { return qux; }",
+        "  public void setQux(int qux) { this.qux = qux; }",
+        "}");
+    BuildResult result = build();
+    assertFalse(result.getOutput().contains("Full recompilation is required"), result.getOutput());
+    assertTrue(generated("BarBuilders").contains("qux"));
+    assertEquals(foo, lastModified("FooBuilders"));
+  }
+
+  private BuildResult build() {
+    return GradleRunner.create()
+        .withProjectDir(projectDir.toFile())
+        .withArguments("compileJava", "--info")
+        .build();
+  }
+
+  private Path generatedFile(String simpleName) {
+    return projectDir.resolve("build/generated/sources/annotationProcessor/java/main/test/" + simpleName + ".java");
+  }
+
+  private String generated(String simpleName) throws IOException {
+    return Files.readString(generatedFile(simpleName));
+  }
+
+  private long lastModified(String simpleName) throws IOException {
+    return Files.getLastModifiedTime(generatedFile(simpleName)).toMillis();
+  }
+
+  private void write(String path, String... lines) throws IOException {
+    Path file = projectDir.resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, String.join("\n", lines) + "\n");
+  }
+}
@@ -0,0 +1,85 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class InheritedProjectionTest {
+
+  // the shared superclass is scanned once, but visibility depends on the package of the goal type
+  @Test
+  void sharedSuperclass() {
+    JavaFileObject base = forSourceLines("a.Base",
+        "package a;",
+        "",
+        "public abstract class Base {",
+        "  final String foo;",
+        "  protected Base(String foo) {",
+        "    this.foo = foo;",
+        "  }",
+        "  public String getFoo() {",
+        "    return foo;",
+        "  }",
+        "}");
+    JavaFileObject named = forSourceLines("a.Named",
+        "package a;",
+        "",
+        "public interface Named extends Upper, Lower {",
+        "}");
+    JavaFileObject upper = forSourceLines("a.Upper",
+        "package a;",
+        "",
+        "public interface Upper extends Root {",
+        "}");
+    JavaFileObject lower = forSourceLines("a.Lower",
+        "package a;",
+        "",
+        "public interface Lower extends Root {",
+        "}");
+    JavaFileObject root = forSourceLines("a.Root",
+        "package a;",
+        "",
+        "public interface Root {",
+        "  String getName();",
+        "}");
+    JavaFileObject doo = forSourceLines("a.Doo",
+        "package a;",
+        "import net.zerobuilder.*;",
+        "",
+        "public abstract class Doo extends Base implements Named {",
+        "  @Updater",
+        "  static Doo create(String foo, String name) {",
+        "    return null;",
+        "  }",
+        "  Doo(String foo) {",
+        "    super(foo);",
+        "  }",
+        "}");
+    JavaFileObject boo = forSourceLines("b.Boo",
+        "package b;",
+        "import net.zerobuilder.*;",
+        "",
+        "public abstract class Boo extends a.Base implements a.Named {",
+        "  @Updater",
+        "  static Boo create(String foo, String name) {",
+        "    return null;",
+        "  }",
+        "  Boo(String foo) {",
+        "    super(foo);",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(base, named, upper, lower, root, doo, boo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("a.DooBuilders").containsLines(
+        "    _updater.foo = doo.foo;",
+        "    _updater.name = doo.getName();");
+    assertThat(compilation).generatedSourceFile("b.BooBuilders").containsLines(
+        "    _updater.foo = boo.getFoo();",
+        "    _updater.name = boo.getName();");
+  }
+}
@@ -0,0 +1,83 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class InternTest {
+
+  @Test
+  void internRecord() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(intern = true)",
+        "record Doo(String foo, int bar) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  private static final Interner<Doo> dooBuilderInterner = new Interner<>(Interner.DEFAULT_CAPACITY);");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static Interner.Stats dooBuilderStats() {",
+        "    return dooBuilderInterner.stats();",
+        "  }");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    public Doo bar(int bar) {",
+        "      Object[] _key = {foo, bar};",
+        "      Doo _doo = dooBuilderInterner.get(_key);",
+        "      if (_doo == null) {",
+        "        _doo = dooBuilderInterner.putIfAbsent(_key, new Doo(foo, bar));",
+        "      }",
+        "      return _doo;",
+        "    }");
+  }
+
+  @Test
+  void internInstanceGoal() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  @Builder(intern = true)",
+        "  @GoalName(\"name\")",
+        "  String create(String foo) {",
+        "    return foo;",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "      Object[] _key = {this._doo, foo};",
+        "      String _string = nameBuilderInterner.get(_key);",
+        "      if (_string == null) {",
+        "        _string = nameBuilderInterner.putIfAbsent(_key, this._doo.create(foo));",
+        "      }");
+  }
+
+  @Test
+  void primitiveNotInterned() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  @Builder(intern = true)",
+        "  @GoalName(\"sum\")",
+        "  static int sum(int foo, int bar) {",
+        "    return foo + bar;",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "      int _integer = Doo.sum(foo, bar);");
+  }
+}
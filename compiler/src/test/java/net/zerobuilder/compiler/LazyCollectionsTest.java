@@ -0,0 +1,53 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class LazyCollectionsTest {
+
+  private static JavaFileObject hotel(String annotation) {
+    return forSourceLines("test.Hotel",
+        "package test;",
+        "import java.io.IOException;",
+        "import java.util.HashSet;",
+        "import java.util.Set;",
+        "import net.zerobuilder.*;",
+        "",
+        annotation,
+        "public class Hotel {",
+        "  private String name;",
+        "  private final Set<String> reviews = new HashSet<>();",
+        "  public String getName() { return name; }",
+        "  public void setName(String name) { this.name = name; }",
+        "  public Set<String> getReviews() throws IOException { return reviews; }",
+        "}");
+  }
+
+  @Test
+  void lazyCollections() {
+    Compilation compilation = simpleCompiler().compile(hotel("@BeanBuilder(lazyCollections = true)"));
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.HotelBuilders").containsLines(
+        "  public static HotelUpdater hotelUpdater(Hotel hotel) {",
+        "    HotelUpdater _updater = new HotelUpdater();",
+        "    _updater.hotel.setName(hotel.getName());",
+        "    return _updater;",
+        "  }");
+    assertThat(compilation).generatedSourceFile("test.HotelBuilders").containsLines(
+        "    public HotelUpdater reviews(Iterable<? extends String> reviews) throws IOException {");
+  }
+
+  @Test
+  void eagerCollections() {
+    Compilation compilation = simpleCompiler().compile(hotel("@BeanBuilder"));
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.HotelBuilders").containsLines(
+        "  public static HotelUpdater hotelUpdater(Hotel hotel) throws IOException {");
+  }
+}
@@ -0,0 +1,73 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class LazyUpdaterTest {
+
+  @Test
+  void updater() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import java.io.IOException;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  private final String foo;",
+        "  final int bar;",
+        "  @Updater(lazy = true)",
+        "  Doo(String foo, int bar) {",
+        "    this.foo = foo;",
+        "    this.bar = bar;",
+        "  }",
+        "  String getFoo() throws IOException {",
+        "    return foo;",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static DooUpdater dooUpdater(Doo doo) {",
+        "    DooUpdater _updater = new DooUpdater();",
+        "    _updater._source = doo;",
+        "    return _updater;",
+        "  }",
+        "",
+        "  public static final class DooUpdater {",
+        "    private String foo;",
+        "",
+        "    private int bar;",
+        "",
+        "    private Doo _source;",
+        "",
+        "    private long _dirty;",
+        "",
+        "    private DooUpdater() {",
+        "    }",
+        "",
+        "    public DooUpdater foo(String foo) {",
+        "      this.foo = foo;",
+        "      this._dirty |= 0x1L;",
+        "      return this;",
+        "    }",
+        "",
+        "    public DooUpdater bar(int bar) {",
+        "      this.bar = bar;",
+        "      this._dirty |= 0x2L;",
+        "      return this;",
+        "    }",
+        "",
+        "    public Doo build() throws IOException {",
+        "      Doo _doo = new Doo((this._dirty & 0x1L) != 0 ? this.foo : this._source.getFoo(), " +
+            "(this._dirty & 0x2L) != 0 ? this.bar : this._source.bar);",
+        "      return _doo;",
+        "    }",
+        "  }");
+  }
+}
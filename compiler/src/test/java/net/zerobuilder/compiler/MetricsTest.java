@@ -0,0 +1,46 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+
+  private final JavaFileObject doo = forSourceLines("test.Doo",
+      "package test;",
+      "import net.zerobuilder.*;",
+      "",
+      "@RecordBuilder",
+      "@RecordUpdater",
+      "record Doo(String foo, int bar) {",
+      "}");
+
+  @Test
+  void metrics() throws IOException {
+    Compilation compilation = simpleCompiler().withOptions("-Azerobuilder.metrics=true").compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).hadNoteContaining("zerobuilder: 1 types, 2 goals, 2 step interfaces");
+    String json = compilation.generatedFile(CLASS_OUTPUT, "", "META-INF/zerobuilder/metrics.json")
+        .orElseThrow()
+        .getCharContent(false)
+        .toString();
+    assertTrue(json.contains("\"types\": 1,"), json);
+    assertTrue(json.contains("\"goals\": 2,"), json);
+    assertTrue(json.contains("{\"type\": \"test.Doo\""), json);
+  }
+
+  @Test
+  void noMetrics() {
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertTrue(compilation.generatedFile(CLASS_OUTPUT, "", "META-INF/zerobuilder/metrics.json").isEmpty());
+  }
+}
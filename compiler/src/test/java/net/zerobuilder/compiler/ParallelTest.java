@@ -0,0 +1,43 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelTest {
+
+  @Test
+  void sameOutput() throws IOException {
+    List<JavaFileObject> sources = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      sources.add(forSourceLines("test.Doo" + i,
+          "package test;",
+          "import net.zerobuilder.*;",
+          "",
+          "@RecordBuilder",
+          "@RecordUpdater",
+          "record Doo" + i + "(String foo, int bar) {",
+          "}"));
+    }
+    Compilation parallel = simpleCompiler().compile(sources);
+    Compilation serial = simpleCompiler().withOptions("-Azerobuilder.parallel=false").compile(sources);
+    assertThat(parallel).succeeded();
+    assertThat(serial).succeeded();
+    assertEquals(serial.generatedSourceFiles().size(), parallel.generatedSourceFiles().size());
+    for (int i = 0; i < serial.generatedSourceFiles().size(); i++) {
+      JavaFileObject expected = serial.generatedSourceFiles().get(i);
+      JavaFileObject actual = parallel.generatedSourceFiles().get(i);
+      assertEquals(expected.getName(), actual.getName());
+      assertEquals(expected.getCharContent(false).toString(), actual.getCharContent(false).toString());
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class PatchesTest {
+
+  @Test
+  void patches() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  final String foo;",
+        "  final int bar;",
+        "  @Updater(patches = true)",
+        "  Doo(String foo, int bar) {",
+        "    this.foo = foo;",
+        "    this.bar = bar;",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static final class DooUpdater {",
+        "    private String foo;",
+        "",
+        "    private int bar;",
+        "",
+        "    private long _dirty;",
+        "",
+        "    private DooUpdater() {",
+        "    }",
+        "",
+        "    public DooUpdater foo(String foo) {",
+        "      this.foo = foo;",
+        "      this._dirty |= 0x1L;",
+        "      return this;",
+        "    }",
+        "",
+        "    public DooUpdater bar(int bar) {",
+        "      this.bar = bar;",
+        "      this._dirty |= 0x2L;",
+        "      return this;",
+        "    }",
+        "",
+        "    public Doo build() {",
+        "      Doo _doo = new Doo(foo, bar);",
+        "      return _doo;",
+        "    }",
+        "",
+        "    public DooPatch patch() {",
+        "      Object[] _values = new Object[Long.bitCount(this._dirty)];",
+        "      int _k = 0;",
+        "      if ((this._dirty & 0x1L) != 0) {",
+        "        _values[_k++] = this.foo;",
+        "      }",
+        "      if ((this._dirty & 0x2L) != 0) {",
+        "        _values[_k++] = this.bar;",
+        "      }",
+        "      return new DooPatch(this._dirty, _values);",
+        "    }",
+        "  }",
+        "",
+        "  public static final class DooPatch {",
+        "    private final long _touched;",
+        "",
+        "    private final Object[] _values;",
+        "",
+        "    private DooPatch(long _touched, Object[] _values) {",
+        "      this._touched = _touched;",
+        "      this._values = _values;",
+        "    }",
+        "",
+        "    public Doo apply(Doo _source) {",
+        "      int _k = 0;",
+        "      String foo = (this._touched & 0x1L) != 0 ? (String) this._values[_k++] : _source.foo;",
+        "      int bar = (this._touched & 0x2L) != 0 ? (int) this._values[_k++] : _source.bar;",
+        "      return new Doo(foo, bar);",
+        "    }",
+        "",
+        "    public DooPatch merge(DooPatch _other) {",
+        "      Object[] _values = new Object[Long.bitCount(this._touched | _other._touched)];",
+        "      int _i = 0;",
+        "      int _j = 0;",
+        "      int _k = 0;",
+        "      if ((_other._touched & 0x1L) != 0) {",
+        "        _values[_k++] = _other._values[_j++];",
+        "        if ((this._touched & 0x1L) != 0) {",
+        "          _i++;",
+        "        }",
+        "      } else if ((this._touched & 0x1L) != 0) {",
+        "        _values[_k++] = this._values[_i++];",
+        "      }",
+        "      if ((_other._touched & 0x2L) != 0) {",
+        "        _values[_k++] = _other._values[_j++];",
+        "        if ((this._touched & 0x2L) != 0) {",
+        "          _i++;",
+        "        }",
+        "      } else if ((this._touched & 0x2L) != 0) {",
+        "        _values[_k++] = this._values[_i++];",
+        "      }",
+        "      return new DooPatch(this._touched | _other._touched, _values);",
+        "    }",
+        "  }");
+  }
+
+  @Test
+  void preserveIdentity() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordUpdater(patches = true, preserveIdentity = true)",
+        "record Doo(String foo) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    public DooUpdater foo(String foo) {",
+        "      if (!Objects.equals(this.foo, foo)) {",
+        "        this.foo = foo;",
+        "        this._dirty |= 0x1L;",
+        "      }",
+        "      return this;",
+        "    }");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "      String foo = (this._touched & 0x1L) != 0 ? (String) this._values[_k++] : _source.foo();");
+  }
+
+  @Test
+  void instanceGoal() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import java.io.IOException;",
+        "import java.util.List;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  @Updater(patches = true)",
+        "  @GoalName(\"bar\")",
+        "  Bar create(List<String> foo) {",
+        "    return new Bar(foo);",
+        "  }",
+        "  static final class Bar {",
+        "    private final List<String> foo;",
+        "    Bar(List<String> foo) {",
+        "      this.foo = foo;",
+        "    }",
+        "    List<String> getFoo() throws IOException {",
+        "      return foo;",
+        "    }",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    @SuppressWarnings(\"unchecked\")",
+        "    public Doo.Bar apply(Doo _factory, Doo.Bar _source) throws IOException {",
+        "      int _k = 0;",
+        "      List<String> foo = (this._touched & 0x1L) != 0 ? (List<String>) this._values[_k++] : _source.getFoo();",
+        "      return _factory.create(foo);",
+        "    }");
+  }
+
+  @Test
+  void wideMask() {
+    List<String> lines = new ArrayList<>();
+    lines.add("package test;");
+    lines.add("import net.zerobuilder.*;");
+    lines.add("");
+    lines.add("@RecordUpdater(patches = true)");
+    StringBuilder components = new StringBuilder();
+    for (int i = 0; i < 70; i++) {
+      components.append(i == 0 ? "" : ", ").append("int a").append(i);
+    }
+    lines.add("record Doo(" + components + ") {");
+    lines.add("}");
+    Compilation compilation = simpleCompiler().compile(forSourceLines("test.Doo", lines));
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "      Object[] _values = new Object[Long.bitCount(this._dirty0) + Long.bitCount(this._dirty1)];");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "      return new DooPatch(this._dirty0, this._dirty1, _values);");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "      if ((_other._touched1 & 0x20L) != 0) {");
+  }
+}
@@ -0,0 +1,74 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class PreserveIdentityTest {
+
+  @Test
+  void updater() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  final String foo;",
+        "  final int bar;",
+        "  @Updater(preserveIdentity = true)",
+        "  Doo(String foo, int bar) {",
+        "    this.foo = foo;",
+        "    this.bar = bar;",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static DooUpdater dooUpdater(Doo doo) {",
+        "    DooUpdater _updater = new DooUpdater();",
+        "    _updater._source = doo;",
+        "    _updater.foo = doo.foo;",
+        "    _updater.bar = doo.bar;",
+        "    return _updater;",
+        "  }",
+        "",
+        "  public static final class DooUpdater {",
+        "    private String foo;",
+        "",
+        "    private int bar;",
+        "",
+        "    private Doo _source;",
+        "",
+        "    private long _dirty;",
+        "",
+        "    private DooUpdater() {",
+        "    }",
+        "",
+        "    public DooUpdater foo(String foo) {",
+        "      if (!Objects.equals(this.foo, foo)) {",
+        "        this.foo = foo;",
+        "        this._dirty |= 0x1L;",
+        "      }",
+        "      return this;",
+        "    }",
+        "",
+        "    public DooUpdater bar(int bar) {",
+        "      if (this.bar != bar) {",
+        "        this.bar = bar;",
+        "        this._dirty |= 0x2L;",
+        "      }",
+        "      return this;",
+        "    }",
+        "",
+        "    public Doo build() {",
+        "      Doo _doo = this._dirty == 0 ? this._source : new Doo(foo, bar);",
+        "      return _doo;",
+        "    }",
+        "  }");
+  }
+}
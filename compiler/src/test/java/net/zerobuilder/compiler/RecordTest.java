@@ -102,6 +102,28 @@ class RecordTest {
         "}");
   }
 
+  @Test
+  void withers() {
+    JavaFileObject point = forSourceLines("test.Point",
+        "package test;",
+        "",
+        "import net.zerobuilder.RecordUpdater;",
+        "",
+        "@RecordUpdater",
+        "record Point<E>(int x, E label) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(point);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.PointBuilders").containsLines(
+        "  public static <E> Point<E> withX(Point<E> source, int value) {",
+        "    return new Point<E>(value, source.label());",
+        "  }",
+        "",
+        "  public static <E> Point<E> withLabel(Point<E> source, E value) {",
+        "    return new Point<E>(source.x(), value);",
+        "  }");
+  }
+
   @Test
   void notRecord() {
     JavaFileObject businessAnalyst = forSourceLines("beans.VibeCoder",
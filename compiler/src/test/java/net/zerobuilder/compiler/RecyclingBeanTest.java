@@ -35,6 +35,7 @@ public class RecyclingBeanTest {
     assertThat(compilation).generatedSourceFile("beans.BusinessAnalystBuilders")
         .containsLines(
             "package beans;",
+            "import java.util.Collection;",
             "import javax.annotation.processing.Generated;",
             "",
             "public final class BusinessAnalystBuilders {",
@@ -49,9 +50,7 @@ public class RecyclingBeanTest {
             "  public static BusinessAnalystUpdater businessAnalystUpdater(BusinessAnalyst businessAnalyst) {",
             "    BusinessAnalystUpdater _updater = new BusinessAnalystUpdater();",
             "    _updater.businessAnalyst.setName(businessAnalyst.getName());",
-            "    for (String string : businessAnalyst.getNotes()) {",
-            "      _updater.businessAnalyst.getNotes().add(string);",
-            "    }",
+            "    _updater.businessAnalyst.getNotes().addAll(businessAnalyst.getNotes());",
             "    return _updater;",
             "  }",
             "",
@@ -69,8 +68,12 @@ public class RecyclingBeanTest {
             "",
             "    @Override",
             "    public BusinessAnalyst notes(Iterable<? extends String> notes) {",
-            "      for (String string : notes) {",
-            "        this.businessAnalyst.getNotes().add(string);",
+            "      if (notes instanceof Collection) {",
+            "        this.businessAnalyst.getNotes().addAll((Collection<? extends String>) notes);",
+            "      } else {",
+            "        for (String string : notes) {",
+            "          this.businessAnalyst.getNotes().add(string);",
+            "        }",
             "      }",
             "      BusinessAnalyst _businessAnalyst = this.businessAnalyst;",
             "      return _businessAnalyst;",
@@ -102,8 +105,12 @@ public class RecyclingBeanTest {
             "",
             "    public BusinessAnalystUpdater notes(Iterable<? extends String> notes) {",
             "      this.businessAnalyst.getNotes().clear();",
-            "      for (String string : notes) {",
-            "        this.businessAnalyst.getNotes().add(string);",
+            "      if (notes instanceof Collection) {",
+            "        this.businessAnalyst.getNotes().addAll((Collection<? extends String>) notes);",
+            "      } else {",
+            "        for (String string : notes) {",
+            "          this.businessAnalyst.getNotes().add(string);",
+            "        }",
             "      }",
             "      return this;",
             "    }",
@@ -0,0 +1,169 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class ReuseTest {
+
+  @Test
+  void builder() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  final String foo;",
+        "  final int bar;",
+        "  @Builder(reuse = true)",
+        "  Doo(String foo, int bar) {",
+        "    this.foo = foo;",
+        "    this.bar = bar;",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "public final class DooBuilders {",
+        "  private static final AtomicReferenceArray<DooBuilderImpl> dooBuilderPool = new AtomicReferenceArray<>(16);",
+        "",
+        "  private DooBuilders() {",
+        "    throw new UnsupportedOperationException(\"no instances\");",
+        "  }",
+        "",
+        "  public static DooBuilder.Foo dooBuilder() {",
+        "    DooBuilderImpl _builder = dooBuilderPool.getAndSet(Thread.currentThread().hashCode() & 15, null);",
+        "    if (_builder == null) {",
+        "      _builder = new DooBuilderImpl();",
+        "    }",
+        "    _builder._currently_in_use = true;",
+        "    return _builder;",
+        "  }",
+        "",
+        "  private static final class DooBuilderImpl implements DooBuilder.Foo, DooBuilder.Bar {",
+        "    private String foo;",
+        "",
+        "    private boolean _currently_in_use;",
+        "",
+        "    DooBuilderImpl() {",
+        "    }",
+        "",
+        "    @Override",
+        "    public DooBuilder.Bar foo(String foo) {",
+        "      if (!this._currently_in_use) {",
+        "        throw new IllegalStateException(\"released\");",
+        "      }",
+        "      this.foo = foo;",
+        "      return this;",
+        "    }",
+        "",
+        "    @Override",
+        "    public Doo bar(int bar) {",
+        "      if (!this._currently_in_use) {",
+        "        throw new IllegalStateException(\"released\");",
+        "      }",
+        "      try {",
+        "        Doo _doo = new Doo(foo, bar);",
+        "        return _doo;",
+        "      } finally {",
+        "        this.foo = null;",
+        "        this._currently_in_use = false;",
+        "        dooBuilderPool.compareAndSet(Thread.currentThread().hashCode() & 15, null, this);",
+        "      }",
+        "    }",
+        "  }");
+  }
+
+  @Test
+  void updater() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "final class Doo {",
+        "  final String foo;",
+        "  @Updater(reuse = true)",
+        "  Doo(String foo) {",
+        "    this.foo = foo;",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  private static final AtomicReferenceArray<DooUpdater> dooUpdaterPool = new AtomicReferenceArray<>(16);",
+        "",
+        "  public static DooUpdater dooUpdater(Doo doo) {",
+        "    DooUpdater _updater = dooUpdaterPool.getAndSet(Thread.currentThread().hashCode() & 15, null);",
+        "    if (_updater == null) {",
+        "      _updater = new DooUpdater();",
+        "    }",
+        "    _updater._currently_in_use = true;",
+        "    _updater.foo = doo.foo;",
+        "    return _updater;",
+        "  }");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    public DooUpdater foo(String foo) {",
+        "      if (!this._currently_in_use) {",
+        "        throw new IllegalStateException(\"released\");",
+        "      }",
+        "      this.foo = foo;",
+        "      return this;",
+        "    }");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    public Doo build() {",
+        "      if (!this._currently_in_use) {",
+        "        throw new IllegalStateException(\"released\");",
+        "      }",
+        "      try {",
+        "        Doo _doo = new Doo(foo);",
+        "        return _doo;",
+        "      } finally {",
+        "        this.foo = null;",
+        "        this._currently_in_use = false;",
+        "        dooUpdaterPool.compareAndSet(Thread.currentThread().hashCode() & 15, null, this);",
+        "      }",
+        "    }");
+  }
+
+  @Test
+  void compact() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(reuse = true, compact = true)",
+        "record Doo(String foo, int bar) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "      if (!this._currently_in_use) {",
+        "        throw new IllegalStateException(\"released\");",
+        "      }",
+        "      switch (this._step++) {");
+  }
+
+  @Test
+  void patch() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordUpdater(reuse = true, patches = true)",
+        "record Doo(String foo) {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    public DooPatch patch() {",
+        "      if (!this._currently_in_use) {",
+        "        throw new IllegalStateException(\"released\");",
+        "      }",
+        "      Object[] _values = new Object[Long.bitCount(this._dirty)];");
+  }
+}
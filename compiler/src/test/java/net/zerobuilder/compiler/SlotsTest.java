@@ -0,0 +1,121 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class SlotsTest {
+
+  @Test
+  void slotsRecord() {
+    JavaFileObject doo = forSourceLines("test.Doo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(slots = true)",
+        "record Doo(String foo, int bar) {",
+        "}");
+    JavaFileObject client = forSourceLines("test.Client",
+        "package test;",
+        "",
+        "class Client {",
+        "  static Doo create() {",
+        "    return DooBuilders.dooSlots()",
+        "        .setInt(DooBuilders.DooSlots.slot(\"bar\"), 1)",
+        "        .set(DooBuilders.DooSlots.slot(\"foo\"), \"a\")",
+        "        .build();",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().compile(doo, client);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static DooSlots dooSlots() {",
+        "    return new DooSlots();",
+        "  }");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static final class DooSlots {",
+        "    private String foo;",
+        "",
+        "    private int bar;",
+        "",
+        "    private long _set;",
+        "",
+        "    DooSlots() {",
+        "    }",
+        "",
+        "    public static int slot(String name) {",
+        "      switch (name) {",
+        "        case \"foo\":",
+        "          return 0;",
+        "        case \"bar\":",
+        "          return 1;",
+        "        default:",
+        "          return -1;",
+        "      }",
+        "    }",
+        "",
+        "    public DooSlots set(int slot, Object value) {",
+        "      switch (slot) {",
+        "        case 0:",
+        "          this.foo = (String) value;",
+        "          this._set |= 0x1L;",
+        "          return this;",
+        "        case 1:",
+        "          this.bar = (int) value;",
+        "          this._set |= 0x2L;",
+        "          return this;",
+        "        default:",
+        "          throw new IllegalArgumentException(\"no such slot: \" + slot);",
+        "      }",
+        "    }",
+        "",
+        "    public DooSlots setInt(int slot, int value) {",
+        "      switch (slot) {",
+        "        case 1:",
+        "          this.bar = value;",
+        "          this._set |= 0x2L;",
+        "          return this;",
+        "        default:",
+        "          throw new IllegalArgumentException(\"no int slot: \" + slot);",
+        "      }",
+        "    }",
+        "",
+        "    public Doo build() {",
+        "      if (!(this._set == 0x3L)) {",
+        "        if ((this._set & 0x1L) == 0) {",
+        "          throw new IllegalStateException(\"missing slot: foo\");",
+        "        }",
+        "        if ((this._set & 0x2L) == 0) {",
+        "          throw new IllegalStateException(\"missing slot: bar\");",
+        "        }",
+        "      }",
+        "      Doo _doo = new Doo(foo, bar);",
+        "      return _doo;",
+        "    }",
+        "  }");
+  }
+
+  @Test
+  void wideMask() {
+    StringBuilder components = new StringBuilder();
+    for (int i = 0; i < 70; i++) {
+      components.append(i == 0 ? "" : ", ").append("int c").append(i);
+    }
+    JavaFileObject wide = forSourceLines("test.Wide",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "@RecordBuilder(slots = true)",
+        "record Wide(" + components + ") {",
+        "}");
+    Compilation compilation = simpleCompiler().compile(wide);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.WideBuilders").containsLines(
+        "      if (!(this._set0 == -1L && this._set1 == 0x3fL)) {");
+  }
+}
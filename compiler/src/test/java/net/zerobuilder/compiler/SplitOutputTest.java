@@ -0,0 +1,88 @@
+package net.zerobuilder.compiler;
+
+import io.jbock.testing.compile.Compilation;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceLines;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+class SplitOutputTest {
+
+  private final JavaFileObject doo = forSourceLines("test.Doo",
+      "package test;",
+      "import net.zerobuilder.*;",
+      "",
+      "@RecordBuilder",
+      "@RecordUpdater",
+      "record Doo(String foo, int bar) {",
+      "}");
+
+  private final JavaFileObject client = forSourceLines("test.Client",
+      "package test;",
+      "",
+      "class Client {",
+      "  static Doo create() {",
+      "    Doo doo = DooBuilders.dooBuilder().foo(\"a\").bar(1);",
+      "    return DooBuilders.dooUpdater(doo).bar(2).build();",
+      "  }",
+      "}");
+
+  @Test
+  void split() {
+    Compilation compilation = simpleCompiler().withOptions("-Azerobuilder.split=true").compile(doo, client);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "    return Doo_DooBuilder.dooBuilder();");
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static Doo_DooUpdater.DooUpdater dooUpdater(Doo doo) {",
+        "    return Doo_DooUpdater.dooUpdater(doo);",
+        "  }");
+    assertThat(compilation).generatedSourceFile("test.Doo_DooBuilder").containsLines(
+        "public final class Doo_DooBuilder {");
+    assertThat(compilation).generatedSourceFile("test.Doo_DooUpdater").containsLines(
+        "public final class Doo_DooUpdater {");
+  }
+
+  @Test
+  void noCollision() {
+    JavaFileObject foo = forSourceLines("test.Foo",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "class Foo {",
+        "  @Builder",
+        "  @GoalName(\"barX\")",
+        "  static Foo create(String a) {",
+        "    return new Foo();",
+        "  }",
+        "}");
+    JavaFileObject fooBar = forSourceLines("test.FooBar",
+        "package test;",
+        "import net.zerobuilder.*;",
+        "",
+        "class FooBar {",
+        "  @Builder",
+        "  @GoalName(\"x\")",
+        "  static FooBar create(String a) {",
+        "    return new FooBar();",
+        "  }",
+        "}");
+    Compilation compilation = simpleCompiler().withOptions("-Azerobuilder.split=true").compile(foo, fooBar);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.Foo_BarXBuilder").containsLines(
+        "public final class Foo_BarXBuilder {");
+    assertThat(compilation).generatedSourceFile("test.FooBar_XBuilder").containsLines(
+        "public final class FooBar_XBuilder {");
+  }
+
+  @Test
+  void noSplit() {
+    Compilation compilation = simpleCompiler().compile(doo, client);
+    assertThat(compilation).succeeded();
+    assertThat(compilation).generatedSourceFile("test.DooBuilders").containsLines(
+        "  public static DooUpdater dooUpdater(Doo doo) {");
+  }
+}
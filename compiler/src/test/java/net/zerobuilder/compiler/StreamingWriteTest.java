@@ -0,0 +1,239 @@
+package net.zerobuilder.compiler;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.JavaFile;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import net.zerobuilder.compiler.generate.Access;
+import net.zerobuilder.compiler.generate.DtoContext.GoalContext;
+import net.zerobuilder.compiler.generate.DtoGeneratorInput.AbstractGoalInput;
+import net.zerobuilder.compiler.generate.DtoGeneratorInput.RegularSimpleGoalInput;
+import net.zerobuilder.compiler.generate.DtoGeneratorOutput.GeneratorOutput;
+import net.zerobuilder.compiler.generate.DtoGoalDetails.StaticMethodGoalDetails;
+import net.zerobuilder.compiler.generate.DtoRegularGoalDescription.SimpleRegularGoalDescription;
+import net.zerobuilder.compiler.generate.DtoRegularParameter;
+import net.zerobuilder.compiler.generate.DtoRegularParameter.SimpleParameter;
+import net.zerobuilder.compiler.generate.Generator;
+import net.zerobuilder.modules.builder.RegularBuilder;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static net.zerobuilder.compiler.Messages.JavadocMessages.generatedAnnotations;
+import static net.zerobuilder.compiler.generate.DtoContext.createContext;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingWriteTest {
+
+  private static final int GOALS = 300;
+  private static final int PARAMETERS = 40;
+
+  private static final ClassName TYPE = ClassName.get("test", "Large");
+  private static final ClassName GENERATED_TYPE = ClassName.get("test", "LargeBuilders");
+  private static final RegularBuilder MODULE_BUILDER = new RegularBuilder();
+
+  /**
+   * Writes a large {@link GeneratorOutput} through the processor's filer path.
+   * If the whole source was rendered to a string first, it would arrive in one large chunk.
+   */
+  @Test
+  void boundedWrites() throws IOException {
+    GeneratorOutput output = Generator.generate(largeContext());
+    ZeroProcessor.Source source = ZeroProcessor.source(output.typeSpec(generatedAnnotations()),
+        output.generatedType(), null);
+    DiscardingFiler filer = new DiscardingFiler();
+    ZeroProcessor processor = new ZeroProcessor();
+    processor.init(new FilerOnlyEnvironment(filer));
+    processor.write(source);
+    assertEquals(expectedLength(source.javaFile()), filer.written);
+    assertTrue(filer.written > 100L * ZeroProcessor.WRITE_BUFFER_SIZE,
+        "only " + filer.written + " characters written");
+    assertTrue(filer.largestChunk <= ZeroProcessor.WRITE_BUFFER_SIZE,
+        "largest chunk: " + filer.largestChunk + " characters");
+  }
+
+  @Test
+  void sameContent() throws IOException {
+    JavaFile javaFile = JavaFile.builder("test", TypeSpec.classBuilder("Small")
+            .addMethod(MethodSpec.methodBuilder("goal")
+                .addModifiers(PUBLIC, STATIC)
+                .addCode(CodeBlock.of("return;\n"))
+                .build())
+            .build())
+        .build();
+    StringBuilderWriter writer = new StringBuilderWriter();
+    ZeroProcessor.render(javaFile, writer);
+    assertEquals(javaFile.toString(), writer.sb.toString());
+  }
+
+  private static List<AbstractGoalInput> largeContext() {
+    GoalContext context = createContext(TYPE, GENERATED_TYPE);
+    List<String> names = new ArrayList<>(PARAMETERS);
+    List<SimpleParameter> parameters = new ArrayList<>(PARAMETERS);
+    for (int i = 0; i < PARAMETERS; i++) {
+      names.add("parameter" + i);
+      parameters.add(DtoRegularParameter.create("parameter" + i, TypeName.get(String.class)));
+    }
+    List<AbstractGoalInput> goals = new ArrayList<>(GOALS);
+    for (int i = 0; i < GOALS; i++) {
+      StaticMethodGoalDetails details = StaticMethodGoalDetails.create(
+          TYPE, "goal" + i, names, "create" + i, Access.PUBLIC, List.of());
+      goals.add(new RegularSimpleGoalInput(MODULE_BUILDER,
+          SimpleRegularGoalDescription.create(details, List.of(), parameters, context)));
+    }
+    return goals;
+  }
+
+  private static long expectedLength(JavaFile javaFile) throws IOException {
+    CountingWriter counter = new CountingWriter();
+    javaFile.writeTo(counter);
+    return counter.length;
+  }
+
+  private static class CountingWriter extends Writer {
+    long length;
+    int largestChunk;
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+      count(len);
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+      count(len);
+    }
+
+    private void count(int len) {
+      length += len;
+      largestChunk = Math.max(largestChunk, len);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * Counts the characters of the last source file, and discards them.
+   */
+  private static final class DiscardingFiler implements Filer {
+    long written;
+    int largestChunk;
+
+    @Override
+    public JavaFileObject createSourceFile(CharSequence name, Element... originatingElements) {
+      return new SimpleJavaFileObject(URI.create("string:///" + name.toString().replace('.', '/') + ".java"),
+          JavaFileObject.Kind.SOURCE) {
+        @Override
+        public Writer openWriter() {
+          return new CountingWriter() {
+            @Override
+            public void close() {
+              written = length;
+              DiscardingFiler.this.largestChunk = largestChunk;
+            }
+          };
+        }
+      };
+    }
+
+    @Override
+    public JavaFileObject createClassFile(CharSequence name, Element... originatingElements) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public FileObject createResource(JavaFileManager.Location location, CharSequence moduleAndPkg,
+                                     CharSequence relativeName, Element... originatingElements) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public FileObject getResource(JavaFileManager.Location location, CharSequence moduleAndPkg,
+                                  CharSequence relativeName) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private record FilerOnlyEnvironment(Filer filer) implements ProcessingEnvironment {
+
+    @Override
+    public Map<String, String> getOptions() {
+      return Map.of();
+    }
+
+    @Override
+    public Messager getMessager() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Filer getFiler() {
+      return filer;
+    }
+
+    @Override
+    public Elements getElementUtils() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Types getTypeUtils() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SourceVersion getSourceVersion() {
+      return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public Locale getLocale() {
+      return Locale.ROOT;
+    }
+  }
+
+  private static final class StringBuilderWriter extends Writer {
+    final StringBuilder sb = new StringBuilder();
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+      sb.append(cbuf, off, len);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
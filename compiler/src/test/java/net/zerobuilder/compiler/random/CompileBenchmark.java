@@ -0,0 +1,255 @@
+package net.zerobuilder.compiler.random;
+
+import net.zerobuilder.compiler.ZeroProcessor;
+import net.zerobuilder.compiler.random.SyntheticCodebase.Config;
+import net.zerobuilder.compiler.random.SyntheticCodebase.Source;
+
+import javax.annotation.processing.Completion;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Compiles a {@link SyntheticCodebase} with the {@link ZeroProcessor},
+ * and compares wall time, processor time and peak heap to a stored baseline.
+ *
+ * <p>Arguments, all optional:
+ * {@code --types=2000 --width=6 --generics=4 --inheritance=2 --seed=1 --runs=3 --tolerance=0.2
+ * --baseline=compile-benchmark.properties --update-baseline}
+ *
+ * <p>Exits with status 1 if any value is worse than the baseline by more than the tolerance.
+ */
+public final class CompileBenchmark {
+
+  private static final List<String> METRICS = List.of("wallMillis", "processorMillis", "peakHeapMb");
+
+  record Result(long wallMillis, long processorMillis, long peakHeapMb) {
+
+    long get(String metric) {
+      return switch (metric) {
+        case "wallMillis" -> wallMillis;
+        case "processorMillis" -> processorMillis;
+        case "peakHeapMb" -> peakHeapMb;
+        default -> throw new IllegalArgumentException(metric);
+      };
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    Map<String, String> options = parse(args);
+    Config config = new Config(
+        Integer.parseInt(options.getOrDefault("types", "2000")),
+        Integer.parseInt(options.getOrDefault("width", "6")),
+        Integer.parseInt(options.getOrDefault("generics", "4")),
+        Integer.parseInt(options.getOrDefault("inheritance", "2")),
+        Long.parseLong(options.getOrDefault("seed", "1")));
+    int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+    double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.2"));
+    Path baseline = Paths.get(options.getOrDefault("baseline",
+        System.getProperty("zerobuilder.baseline", "compile-benchmark.properties")));
+
+    Path dir = Files.createTempDirectory("zerobuilder-benchmark");
+    List<Path> files = writeSources(SyntheticCodebase.generate(config), dir.resolve("src"));
+    System.out.println(config + ": " + files.size() + " source files");
+    Result best = null;
+    for (int run = 0; run < runs; run++) {
+      Result result = compile(files, dir.resolve("out" + run));
+      System.out.println("run " + run + ": " + result);
+      if (best == null || result.wallMillis < best.wallMillis) {
+        best = result;
+      }
+    }
+    System.out.println("best: " + best);
+
+    if (options.containsKey("update-baseline")) {
+      store(baseline, config, best);
+      System.out.println("baseline written to " + baseline);
+      return;
+    }
+    if (!Files.exists(baseline)) {
+      System.out.println("no baseline at " + baseline + ", use --update-baseline to create it");
+      return;
+    }
+    Properties stored = load(baseline);
+    if (!config.toString().equals(stored.getProperty("config"))) {
+      System.out.println("baseline was created with a different config: " + stored.getProperty("config"));
+      return;
+    }
+    boolean regression = false;
+    for (String metric : METRICS) {
+      long expected = Long.parseLong(stored.getProperty(metric));
+      long actual = best.get(metric);
+      boolean worse = actual > expected * (1 + tolerance);
+      regression |= worse;
+      System.out.printf("%s %s: %d (baseline %d, %+.1f%%)%n", worse ? "REGRESSION" : "ok", metric,
+          actual, expected, expected == 0 ? 0d : 100d * (actual - expected) / expected);
+    }
+    if (regression) {
+      System.exit(1);
+    }
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--")) {
+        throw new IllegalArgumentException("unknown argument: " + arg);
+      }
+      int i = arg.indexOf('=');
+      if (i < 0) {
+        options.put(arg.substring(2), "");
+      } else {
+        options.put(arg.substring(2, i), arg.substring(i + 1));
+      }
+    }
+    return options;
+  }
+
+  private static List<Path> writeSources(List<Source> sources, Path dir) throws IOException {
+    List<Path> files = new ArrayList<>(sources.size());
+    for (Source source : sources) {
+      Path file = dir.resolve(source.qualifiedName().replace('.', '/') + ".java");
+      Files.createDirectories(file.getParent());
+      Files.writeString(file, source.content());
+      files.add(file);
+    }
+    return files;
+  }
+
+  private static Result compile(List<Path> files, Path out) throws IOException {
+    Files.createDirectories(out.resolve("classes"));
+    Files.createDirectories(out.resolve("generated"));
+    JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager fileManager = javac.getStandardFileManager(null, null, UTF_8)) {
+      DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+      TimingProcessor processor = new TimingProcessor(new ZeroProcessor());
+      JavaCompiler.CompilationTask task = javac.getTask(null, fileManager, diagnostics,
+          List.of("-d", out.resolve("classes").toString(),
+              "-s", out.resolve("generated").toString(),
+              "-classpath", System.getProperty("java.class.path")),
+          null,
+          fileManager.getJavaFileObjectsFromPaths(files));
+      task.setProcessors(List.of(processor));
+      System.gc();
+      List<MemoryPoolMXBean> heap = ManagementFactory.getMemoryPoolMXBeans().stream()
+          .filter(pool -> pool.getType() == MemoryType.HEAP)
+          .toList();
+      heap.forEach(MemoryPoolMXBean::resetPeakUsage);
+      long start = System.nanoTime();
+      boolean success = task.call();
+      long wall = System.nanoTime() - start;
+      long peak = heap.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+      if (!success) {
+        diagnostics.getDiagnostics().stream()
+            .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+            .limit(10)
+            .forEach(System.err::println);
+        throw new IllegalStateException("compilation failed");
+      }
+      return new Result(NANOSECONDS.toMillis(wall), NANOSECONDS.toMillis(processor.nanos), peak >> 20);
+    }
+  }
+
+  private static Properties load(Path file) throws IOException {
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(file)) {
+      properties.load(reader);
+    }
+    return properties;
+  }
+
+  private static void store(Path file, Config config, Result result) throws IOException {
+    Properties properties = new Properties();
+    properties.setProperty("config", config.toString());
+    for (String metric : METRICS) {
+      properties.setProperty(metric, Long.toString(result.get(metric)));
+    }
+    try (Writer writer = Files.newBufferedWriter(file)) {
+      properties.store(writer, "zerobuilder compile benchmark baseline, see CompileBenchmark");
+    }
+  }
+
+  /**
+   * Measures the time spent in {@link Processor#process}.
+   */
+  private static final class TimingProcessor implements Processor {
+
+    private final Processor delegate;
+    private long nanos;
+
+    TimingProcessor(Processor delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+      return delegate.getSupportedOptions();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+      return delegate.getSupportedAnnotationTypes();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+      return delegate.getSupportedSourceVersion();
+    }
+
+    @Override
+    public void init(ProcessingEnvironment processingEnv) {
+      long start = System.nanoTime();
+      delegate.init(processingEnv);
+      nanos += System.nanoTime() - start;
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+      long start = System.nanoTime();
+      try {
+        return delegate.process(annotations, roundEnv);
+      } finally {
+        nanos += System.nanoTime() - start;
+      }
+    }
+
+    @Override
+    public Iterable<? extends Completion> getCompletions(
+        Element element, AnnotationMirror annotation, ExecutableElement member, String userText) {
+      return delegate.getCompletions(element, annotation, member, userText);
+    }
+  }
+
+  private CompileBenchmark() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
@@ -0,0 +1,139 @@
+package net.zerobuilder.compiler.random;
+
+import com.palantir.javapoet.ClassName;
+import io.jbock.testing.compile.Compilation;
+import net.zerobuilder.compiler.random.SyntheticCodebase.Config;
+import net.zerobuilder.compiler.random.SyntheticCodebase.Source;
+
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static io.jbock.testing.compile.JavaFileObjects.forSourceString;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+
+/**
+ * Compiles a fixed corpus with the processor and prints a digest of every generated source file,
+ * one {@code name digest} line per file.
+ * The corpus consists of the sources of {@code basic-example}, random generic goals
+ * as in {@link RandomGenericsTest} and a small {@link SyntheticCodebase}.
+ * Used by {@link ReproducibilityTest}, which runs it in JVMs with different identity hash codes.
+ *
+ * <p>Arguments, all optional: {@code --basic-example=../basic-example/src/main/java --shuffle=0 --parallel=true}
+ */
+final class Reproducibility {
+
+  static final String BASIC_EXAMPLE = System.getProperty("zerobuilder.basicExample",
+      "../basic-example/src/main/java");
+
+  private static final int GENERIC_GOALS = 16;
+
+  private static final Config SYNTHETIC = new Config(40, 5, 4, 2, 1);
+
+  record Input(String qualifiedName, String content) {
+  }
+
+  public static void main(String[] args) {
+    Map<String, String> options = new TreeMap<>();
+    for (String arg : args) {
+      int i = arg.indexOf('=');
+      if (!arg.startsWith("--") || i < 0) {
+        throw new IllegalArgumentException("unknown argument: " + arg);
+      }
+      options.put(arg.substring(2, i), arg.substring(i + 1));
+    }
+    List<Input> corpus = shuffle(corpus(Paths.get(options.getOrDefault("basic-example", BASIC_EXAMPLE))),
+        Long.parseLong(options.getOrDefault("shuffle", "0")));
+    boolean parallel = Boolean.parseBoolean(options.getOrDefault("parallel", "true"));
+    digests(compile(corpus, parallel)).forEach((name, digest) -> System.out.println(name + ' ' + digest));
+  }
+
+  static List<Input> corpus(Path basicExample) {
+    List<Input> corpus = new ArrayList<>();
+    try (Stream<Path> files = Files.walk(basicExample)) {
+      for (Path file : files.filter(file -> file.toString().endsWith(".java")).sorted().toList()) {
+        String name = basicExample.relativize(file).toString().replace(file.getFileSystem().getSeparator(), ".");
+        corpus.add(new Input(name.substring(0, name.length() - ".java".length()), Files.readString(file)));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    for (int i = 0; i < GENERIC_GOALS; i++) {
+      ClassName type = ClassName.get("generic" + i, "Foo");
+      corpus.add(new Input(type.canonicalName(), "package " + type.packageName() + ";\n" +
+          new GenericGoals(new Random(i)).topLevelClass(type, "ABCD")));
+    }
+    for (Source source : SyntheticCodebase.generate(SYNTHETIC)) {
+      corpus.add(new Input(source.qualifiedName(), source.content()));
+    }
+    return corpus;
+  }
+
+  /**
+   * @param seed {@code 0} for the original order
+   */
+  static List<Input> shuffle(List<Input> corpus, long seed) {
+    List<Input> result = new ArrayList<>(corpus);
+    if (seed != 0) {
+      Collections.shuffle(result, new Random(seed));
+    }
+    return result;
+  }
+
+  /**
+   * @return generated source files by name
+   */
+  static SortedMap<String, String> compile(List<Input> corpus, boolean parallel) {
+    Compilation compilation = simpleCompiler()
+        .withOptions("-Azerobuilder.parallel=" + parallel)
+        .compile(corpus.stream()
+            .map(input -> forSourceString(input.qualifiedName(), input.content()))
+            .toList());
+    if (compilation.status() != Compilation.Status.SUCCESS) {
+      throw new IllegalStateException("compilation failed: " + compilation.errors());
+    }
+    SortedMap<String, String> result = new TreeMap<>();
+    for (JavaFileObject file : compilation.generatedSourceFiles()) {
+      try {
+        result.put(file.getName(), file.getCharContent(false).toString());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return result;
+  }
+
+  static SortedMap<String, String> digests(SortedMap<String, String> sources) {
+    SortedMap<String, String> result = new TreeMap<>();
+    sources.forEach((name, content) -> result.put(name, sha256(content)));
+    return result;
+  }
+
+  private static String sha256(String content) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(content.getBytes(UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Reproducibility() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
@@ -0,0 +1,83 @@
+package net.zerobuilder.compiler.random;
+
+import net.zerobuilder.compiler.random.Reproducibility.Input;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * The generated sources must not depend on hash codes, input order or threading,
+ * so that build caches can reuse the outputs of unchanged modules.
+ */
+class ReproducibilityTest {
+
+  private static List<Input> corpus;
+  private static SortedMap<String, String> expected;
+
+  @BeforeAll
+  static void compileOnce() {
+    corpus = Reproducibility.corpus(Paths.get(Reproducibility.BASIC_EXAMPLE));
+    expected = Reproducibility.compile(corpus, false);
+    assertFalse(expected.isEmpty());
+  }
+
+  @Test
+  void shuffledInputs() {
+    for (long seed = 1; seed <= 6; seed++) {
+      SortedMap<String, String> actual = Reproducibility.compile(Reproducibility.shuffle(corpus, seed), seed % 2 == 0);
+      assertEquals(expected.keySet(), actual.keySet());
+      for (String name : expected.keySet()) {
+        assertEquals(expected.get(name), actual.get(name), name);
+      }
+    }
+  }
+
+  /**
+   * {@code -XX:hashCode} selects how identity hash codes are generated:
+   * 0 global random, 3 sequential, 4 memory address, 5 thread-local xorshift (the default).
+   * Mode 2, a constant hash code, is left out: javac itself can't infer the diamonds
+   * in the generic goals then, even without the processor.
+   */
+  @Test
+  void identityHashCodes() throws IOException, InterruptedException {
+    SortedMap<String, String> digests = Reproducibility.digests(expected);
+    for (int mode : new int[]{0, 3, 4, 5}) {
+      assertEquals(digests, fork(mode), "-XX:hashCode=" + mode);
+    }
+  }
+
+  private static SortedMap<String, String> fork(int hashCodeMode) throws IOException, InterruptedException {
+    String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    List<String> command = new ArrayList<>(List.of(java,
+        "-XX:+UnlockExperimentalVMOptions",
+        "-XX:hashCode=" + hashCodeMode,
+        "-cp", System.getProperty("zerobuilder.testClasspath", System.getProperty("java.class.path")),
+        Reproducibility.class.getName(),
+        "--basic-example=" + Paths.get(Reproducibility.BASIC_EXAMPLE).toAbsolutePath(),
+        "--shuffle=" + hashCodeMode));
+    Process process = new ProcessBuilder(command)
+        .redirectError(ProcessBuilder.Redirect.INHERIT)
+        .start();
+    String output = new String(process.getInputStream().readAllBytes(), UTF_8);
+    assertEquals(0, process.waitFor(), String.join(" ", command));
+    SortedMap<String, String> result = new TreeMap<>();
+    for (String line : output.split("\n")) {
+      if (line.isBlank()) {
+        continue;
+      }
+      int i = line.lastIndexOf(' ');
+      result.put(line.substring(0, i), line.substring(i + 1).strip());
+    }
+    return result;
+  }
+}
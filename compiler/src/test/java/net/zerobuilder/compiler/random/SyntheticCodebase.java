@@ -0,0 +1,194 @@
+package net.zerobuilder.compiler.random;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.JavaFile;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import net.zerobuilder.BeanBuilder;
+import net.zerobuilder.Builder;
+import net.zerobuilder.Updater;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.palantir.javapoet.MethodSpec.constructorBuilder;
+import static com.palantir.javapoet.MethodSpec.methodBuilder;
+import static java.util.stream.Collectors.joining;
+import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static net.zerobuilder.compiler.generate.ZeroUtil.upcase;
+
+/**
+ * Generates a large number of annotated types, for compile time benchmarks.
+ * The same configuration always produces the same sources.
+ */
+final class SyntheticCodebase {
+
+  static final String PACKAGE = "synthetic";
+
+  private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+  private static final List<TypeName> TYPES = List.of(
+      ClassName.get(String.class),
+      TypeName.INT,
+      TypeName.LONG,
+      TypeName.BOOLEAN,
+      TypeName.DOUBLE,
+      ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(String.class)),
+      ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class), ClassName.get(Integer.class)));
+
+  /**
+   * @param types            total number of annotated types
+   * @param width            number of parameters per goal
+   * @param genericsDepth    number of type variables per generic goal, at least two
+   * @param inheritanceDepth number of superclasses per value class
+   * @param seed             random seed
+   */
+  record Config(int types, int width, int genericsDepth, int inheritanceDepth, long seed) {
+
+    Config {
+      if (types < 1 || width < 1 || genericsDepth < 2 || genericsDepth > LETTERS.length() || inheritanceDepth < 0) {
+        throw new IllegalArgumentException("invalid config: " + this);
+      }
+    }
+  }
+
+  record Source(String qualifiedName, String content) {
+  }
+
+  private final Config config;
+  private final Random random;
+
+  private SyntheticCodebase(Config config) {
+    this.config = config;
+    this.random = new Random(config.seed());
+  }
+
+  /**
+   * Types are generated in equal parts as value classes, generic goals, beans and records.
+   *
+   * @param config configuration
+   * @return the sources
+   */
+  static List<Source> generate(Config config) {
+    return new SyntheticCodebase(config).generate();
+  }
+
+  private List<Source> generate() {
+    List<Source> sources = new ArrayList<>();
+    GenericGoals genericGoals = new GenericGoals(random);
+    for (int i = 0; i < config.types(); i++) {
+      switch (i % 4) {
+        case 0 -> sources.addAll(valueHierarchy("Value" + i));
+        case 1 -> sources.add(source(genericGoals.topLevelClass(ClassName.get(PACKAGE, "Generic" + i),
+            LETTERS.substring(0, config.genericsDepth()))));
+        case 2 -> sources.add(source(bean("Bean" + i)));
+        default -> sources.add(record("Record" + i));
+      }
+    }
+    return sources;
+  }
+
+  private TypeName randomType() {
+    return TYPES.get(random.nextInt(TYPES.size()));
+  }
+
+  private static Source source(TypeSpec typeSpec) {
+    return new Source(PACKAGE + '.' + typeSpec.name(),
+        JavaFile.builder(PACKAGE, typeSpec).build().toString());
+  }
+
+  /**
+   * The value class is the last class in the hierarchy.
+   * The fields are distributed over all classes, so that the updater projects inherited fields.
+   */
+  private List<Source> valueHierarchy(String name) {
+    int levels = config.inheritanceDepth() + 1;
+    List<ParameterSpec> parameters = new ArrayList<>(config.width());
+    for (int i = 0; i < config.width(); i++) {
+      parameters.add(ParameterSpec.builder(randomType(), "p" + i).build());
+    }
+    List<Source> sources = new ArrayList<>(levels);
+    CodeBlock.Builder assignments = CodeBlock.builder();
+    ClassName superclass = null;
+    for (int level = 0; level < levels; level++) {
+      boolean isValue = level == levels - 1;
+      TypeSpec.Builder type = TypeSpec.classBuilder(isValue ? name : name + "Level" + level);
+      if (superclass != null) {
+        type.superclass(superclass);
+      }
+      for (int i = level; i < parameters.size(); i += levels) {
+        ParameterSpec parameter = parameters.get(i);
+        // a superclass field can't be final, because the value class assigns it
+        FieldSpec.Builder field = FieldSpec.builder(parameter.type(), parameter.name());
+        if (isValue) {
+          field.addModifiers(FINAL);
+        }
+        type.addField(field.build());
+        assignments.addStatement("this.$N = $N", parameter.name(), parameter);
+      }
+      if (isValue) {
+        type.addMethod(constructorBuilder()
+                .addAnnotation(Builder.class)
+                .addAnnotation(Updater.class)
+                .addParameters(parameters)
+                .addCode(assignments.build())
+                .build())
+            .addModifiers(FINAL);
+      } else {
+        type.addModifiers(ABSTRACT);
+      }
+      TypeSpec typeSpec = type.build();
+      sources.add(source(typeSpec));
+      superclass = ClassName.get(PACKAGE, typeSpec.name());
+    }
+    return sources;
+  }
+
+  private TypeSpec bean(String name) {
+    TypeSpec.Builder type = TypeSpec.classBuilder(name)
+        .addAnnotation(BeanBuilder.class)
+        .addModifiers(PUBLIC);
+    for (int i = 0; i < config.width(); i++) {
+      addProperty(type, randomType(), "p" + i);
+    }
+    return type.build();
+  }
+
+  private static void addProperty(TypeSpec.Builder type, TypeName propertyType, String name) {
+    type.addField(FieldSpec.builder(propertyType, name, PRIVATE).build());
+    String prefix = propertyType.equals(TypeName.BOOLEAN) ? "is" : "get";
+    type.addMethod(methodBuilder(prefix + upcase(name))
+        .returns(propertyType)
+        .addStatement("return $N", name)
+        .addModifiers(PUBLIC)
+        .build());
+    type.addMethod(methodBuilder("set" + upcase(name))
+        .addParameter(propertyType, name)
+        .addStatement("this.$N = $N", name, name)
+        .addModifiers(PUBLIC)
+        .build());
+  }
+
+  private Source record(String name) {
+    List<String> components = new ArrayList<>(config.width());
+    for (int i = 0; i < config.width(); i++) {
+      components.add(randomType() + " c" + i);
+    }
+    String content = "package " + PACKAGE + ";\n\n"
+        + "@net.zerobuilder.RecordBuilder\n"
+        + "@net.zerobuilder.RecordUpdater\n"
+        + "record " + name + "(" + components.stream().collect(joining(", ")) + ") {\n"
+        + "}\n";
+    return new Source(PACKAGE + '.' + name, content);
+  }
+}
@@ -0,0 +1,32 @@
+package net.zerobuilder.compiler.random;
+
+import io.jbock.testing.compile.Compilation;
+import net.zerobuilder.compiler.random.SyntheticCodebase.Config;
+import net.zerobuilder.compiler.random.SyntheticCodebase.Source;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.jbock.testing.compile.CompilationSubject.assertThat;
+import static io.jbock.testing.compile.JavaFileObjects.forSourceString;
+import static net.zerobuilder.compiler.Compilers.simpleCompiler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SyntheticCodebaseTest {
+
+  private final Config config = new Config(12, 5, 4, 2, 1);
+
+  @Test
+  void compiles() {
+    List<Source> sources = SyntheticCodebase.generate(config);
+    Compilation compilation = simpleCompiler().compile(sources.stream()
+        .map(source -> forSourceString(source.qualifiedName(), source.content()))
+        .toList());
+    assertThat(compilation).succeeded();
+  }
+
+  @Test
+  void deterministic() {
+    assertEquals(SyntheticCodebase.generate(config), SyntheticCodebase.generate(config));
+  }
+}
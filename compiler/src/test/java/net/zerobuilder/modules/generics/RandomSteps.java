@@ -0,0 +1,79 @@
+package net.zerobuilder.modules.generics;
+
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeVariableName;
+import com.palantir.javapoet.WildcardTypeName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Random type parameters and step types for {@link VarLife}.
+ * Bounds, wildcards, arrays, repeated type parameters and foreign type variables are all included.
+ */
+final class RandomSteps {
+
+  private static final ClassName LIST = ClassName.get(List.class);
+  private static final ClassName MAP = ClassName.get(Map.class);
+  private static final TypeVariableName FOREIGN = TypeVariableName.get("X");
+
+  private final Random random;
+
+  RandomSteps(Random random) {
+    this.random = random;
+  }
+
+  List<TypeVariableName> typeParameters(int count) {
+    List<TypeVariableName> builder = new ArrayList<>(count);
+    for (int k = 0; k < count; k++) {
+      if (k > 0 && random.nextInt(20) == 0) {
+        builder.add(builder.get(random.nextInt(k)));
+      } else if (k > 0 && random.nextInt(4) == 0) {
+        builder.add(TypeVariableName.get("T" + k, builder.get(random.nextInt(k))));
+      } else {
+        builder.add(TypeVariableName.get("T" + k));
+      }
+    }
+    return builder;
+  }
+
+  /**
+   * @param width number of steps, including the return type
+   */
+  List<TypeName> steps(List<TypeVariableName> typeParameters, int width) {
+    List<TypeName> builder = new ArrayList<>(width);
+    for (int i = 0; i < width; i++) {
+      builder.add(type(typeParameters, 2));
+    }
+    return builder;
+  }
+
+  private TypeName type(List<TypeVariableName> typeParameters, int depth) {
+    int choice = random.nextInt(depth == 0 ? 3 : 7);
+    return switch (choice) {
+      case 0 -> TypeName.INT;
+      case 1 -> typeParameters.get(random.nextInt(typeParameters.size()));
+      case 2 -> random.nextInt(8) == 0 ? FOREIGN : ClassName.get(String.class);
+      case 3 -> ParameterizedTypeName.get(LIST, argument(typeParameters, depth - 1));
+      case 4 -> ParameterizedTypeName.get(MAP, argument(typeParameters, depth - 1), argument(typeParameters, depth - 1));
+      case 5 -> ArrayTypeName.of(typeParameters.get(random.nextInt(typeParameters.size())));
+      default -> typeParameters.get(random.nextInt(typeParameters.size()));
+    };
+  }
+
+  private TypeName argument(List<TypeVariableName> typeParameters, int depth) {
+    TypeName type = type(typeParameters, depth);
+    if (type.isPrimitive()) {
+      return type.box();
+    }
+    if (random.nextInt(6) == 0) {
+      return WildcardTypeName.subtypeOf(type);
+    }
+    return type;
+  }
+}
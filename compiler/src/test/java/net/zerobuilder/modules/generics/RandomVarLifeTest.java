@@ -0,0 +1,38 @@
+package net.zerobuilder.modules.generics;
+
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeVariableName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares {@link VarLife} to {@link VarLifeReference} on random inputs.
+ */
+class RandomVarLifeTest {
+
+  private static final int RUNS = 2000;
+
+  @Test
+  void sameAsReference() {
+    Random seeds = new Random(16);
+    for (int run = 0; run < RUNS; run++) {
+      long seed = seeds.nextLong();
+      Random random = new Random(seed);
+      RandomSteps randomSteps = new RandomSteps(random);
+      // typeParams drops two steps, and an instance goal has one more step
+      int width = 3 + random.nextInt(12);
+      List<TypeVariableName> typeParameters = randomSteps.typeParameters(1 + random.nextInt(70));
+      List<TypeName> steps = randomSteps.steps(typeParameters, width);
+      boolean instance = random.nextBoolean();
+      VarLife actual = VarLife.create(typeParameters, steps, instance);
+      VarLifeReference expected = new VarLifeReference(typeParameters, steps, instance);
+      String message = "seed " + seed + ": " + typeParameters + " " + steps + " instance=" + instance;
+      assertEquals(expected.methodParams(), actual.methodParams(), message);
+      assertEquals(expected.typeParams(), actual.typeParams(), message);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package net.zerobuilder.modules.generics;
+
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeVariableName;
+
+import java.util.List;
+import java.util.Random;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Times {@link VarLife} against {@link VarLifeReference}
+ * over a grid of goal widths and type parameter counts.
+ *
+ * <p>Arguments, all optional:
+ * {@code --widths=4,16,64,256 --typeParameters=2,8,32,128 --iterations=200 --seed=1}
+ *
+ * <p>Prints one line per grid point, with the mean microseconds per goal.
+ */
+public final class VarLifeBenchmark {
+
+  public static void main(String[] args) {
+    int[] widths = {4, 16, 64, 256};
+    int[] counts = {2, 8, 32, 128};
+    int iterations = 200;
+    long seed = 1;
+    for (String arg : args) {
+      String value = arg.substring(arg.indexOf('=') + 1);
+      if (arg.startsWith("--widths=")) {
+        widths = ints(value);
+      } else if (arg.startsWith("--typeParameters=")) {
+        counts = ints(value);
+      } else if (arg.startsWith("--iterations=")) {
+        iterations = Integer.parseInt(value);
+      } else if (arg.startsWith("--seed=")) {
+        seed = Long.parseLong(value);
+      } else {
+        throw new IllegalArgumentException("unknown argument: " + arg);
+      }
+    }
+    System.out.printf("%8s %10s %14s %14s%n", "width", "typeParams", "bitset us", "reference us");
+    for (int width : widths) {
+      for (int count : counts) {
+        RandomSteps random = new RandomSteps(new Random(seed));
+        List<TypeVariableName> typeParameters = random.typeParameters(count);
+        List<TypeName> steps = random.steps(typeParameters, width);
+        // warm up both, then measure
+        run(typeParameters, steps, iterations, false);
+        run(typeParameters, steps, iterations, true);
+        long bitset = run(typeParameters, steps, iterations, false);
+        long reference = run(typeParameters, steps, iterations, true);
+        System.out.printf("%8d %10d %14.1f %14.1f%n", width, count,
+            micros(bitset, iterations), micros(reference, iterations));
+      }
+    }
+  }
+
+  private static long run(List<TypeVariableName> typeParameters, List<TypeName> steps,
+                          int iterations, boolean reference) {
+    long start = System.nanoTime();
+    int sink = 0;
+    for (int i = 0; i < iterations; i++) {
+      if (reference) {
+        VarLifeReference life = new VarLifeReference(typeParameters, steps, false);
+        sink += life.methodParams().size() + life.typeParams().size();
+      } else {
+        VarLife life = VarLife.create(typeParameters, steps, false);
+        sink += life.methodParams().size() + life.typeParams().size();
+      }
+    }
+    if (sink < 0) {
+      throw new AssertionError();
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static double micros(long nanos, int iterations) {
+    return NANOSECONDS.toMicros(nanos) / (double) iterations;
+  }
+
+  private static int[] ints(String csv) {
+    String[] tokens = csv.split(",");
+    int[] result = new int[tokens.length];
+    for (int i = 0; i < tokens.length; i++) {
+      result[i] = Integer.parseInt(tokens[i].trim());
+    }
+    return result;
+  }
+
+  private VarLifeBenchmark() {
+    throw new UnsupportedOperationException("no instances");
+  }
+}
@@ -1,3 +1,4 @@
 include("zerobuilder")
 include("compiler")
 include("basic-example")
+include("benchmarks")
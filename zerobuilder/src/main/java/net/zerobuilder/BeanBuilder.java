@@ -13,4 +13,12 @@ import static java.lang.annotation.RetentionPolicy.SOURCE;
 @Retention(SOURCE)
 @Target(TYPE)
 public @interface BeanBuilder {
+
+  /**
+   * Lazy collections: The updater method does not read the collections that have no setter.
+   * Such a collection is only written by its own step;
+   * if that step is not invoked, the copy keeps the collection that its constructor created.
+   * Use this for lazily loaded associations, like a JPA {@code @OneToMany(fetch = LAZY)}.
+   */
+  boolean lazyCollections() default false;
 }
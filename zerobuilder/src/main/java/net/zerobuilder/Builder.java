@@ -13,4 +13,66 @@ import static java.lang.annotation.RetentionPolicy.SOURCE;
 @Retention(SOURCE)
 @Target({METHOD, CONSTRUCTOR})
 public @interface Builder {
+
+  /**
+   * Only relevant if the goal has type parameters:
+   * Implement all steps of the generated builder by a single mutable object,
+   * rather than one immutable object per step.
+   * Such a builder instance must not be reused.
+   */
+  boolean mutable() default false;
+
+  /**
+   * Reuse builder instances: A builder instance is released after its final step has been invoked.
+   * Such a builder instance must not be used after that.
+   * Not allowed if the goal has type parameters.
+   */
+  boolean reuse() default false;
+
+  /**
+   * Generate a compact builder: Instead of one interface per step,
+   * all steps have the type {@link CompactStep}, and there is only one generated class per goal.
+   * The steps are unnamed, and primitive arguments are boxed.
+   * Each step may be invoked only once, see {@link CompactStep}.
+   * Has no effect if the goal has type parameters or declares exceptions.
+   * The generated code depends on {@link CompactStep} at runtime.
+   */
+  boolean compact() default false;
+
+  /**
+   * Intern the results: The final step looks up the arguments in a bounded, weakly held {@link Interner},
+   * and returns the cached instance if there is one.
+   * The goal is only invoked if there is no cached instance for equal arguments.
+   * Hit and eviction counts are available from the generated {@code fooBuilderStats()} method.
+   * Has no effect if the goal returns a primitive, {@code void}, an array or a parameterized type.
+   * The generated code depends on {@link Interner} at runtime.
+   */
+  boolean intern() default false;
+
+  /**
+   * Also generate a slot builder, for frameworks that set the arguments by name, in any order.
+   * The static method {@code fooSlots()} returns a new instance of {@code FooSlots}, which has:
+   * <ul>
+   *   <li>{@code static int slot(String name)}: the slot of a parameter, or {@code -1}</li>
+   *   <li>{@code set(int slot, Object value)}: set any argument</li>
+   *   <li>{@code setInt(int slot, int value)} etc.: set a primitive argument without boxing</li>
+   *   <li>{@code build()}: invoke the goal; throws {@link IllegalStateException} if an argument is missing</li>
+   * </ul>
+   * The slot of a parameter is its position in the regular builder.
+   * Has no effect if the goal has type parameters.
+   */
+  boolean slots() default false;
+
+  /**
+   * Also generate a batch builder, which invokes the goal for many rows of arguments.
+   * The static method {@code fooBatch(int n)} returns the first step of a {@code FooBatch}.
+   * Each step takes a whole column of {@code n} arguments: an array for a primitive parameter,
+   * a {@link java.util.List} otherwise. Lists should be random access.
+   * After the last step, {@code toArray()} or {@code toList()} invokes the goal once per row.
+   * With {@code parallel()}, batches of at least {@code FooBatch.PARALLEL_THRESHOLD} rows
+   * are split on the common fork/join pool.
+   * Has no effect if the goal has type parameters, or returns a primitive or {@code void}.
+   * There is no parallel mode if the goal declares exceptions.
+   */
+  boolean batch() default false;
 }
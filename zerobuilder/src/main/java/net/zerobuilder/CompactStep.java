@@ -0,0 +1,23 @@
+package net.zerobuilder;
+
+/**
+ * The only step type of a compact builder, see {@link Builder#compact()}.
+ * A goal with {@code n} parameters is built by {@code n} invocations of {@link #set(Object)}.
+ * The type arguments determine the order and the types of the arguments.
+ * All steps of a builder are the same object, which counts the invocations,
+ * so each step may be invoked only once: a step that is invoked again sets the next argument instead.
+ *
+ * @param <V> the type of the next argument
+ * @param <R> the next step, or the goal type
+ */
+public interface CompactStep<V, R> {
+
+  /**
+   * Sets the next argument, regardless of which step reference is used.
+   *
+   * @param value the next argument
+   * @return the next step, or the result of the goal
+   * @throws IllegalStateException if all arguments were already set
+   */
+  R set(V value);
+}
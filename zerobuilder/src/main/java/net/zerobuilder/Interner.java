@@ -0,0 +1,149 @@
+package net.zerobuilder;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonical instances of an interning builder, see {@link Builder#intern()}.
+ * The key is the array of goal arguments; keys are compared with {@link Arrays#equals(Object[], Object[])}.
+ *
+ * <p>The cache is a fixed size table, and each key has exactly one slot.
+ * A new key replaces whatever occupies its slot, so the number of entries is bounded by the capacity.
+ * The cached instances are only weakly reachable from the cache;
+ * the arguments in a key are strongly reachable until the entry is replaced.
+ * All methods are thread-safe and lock-free.
+ *
+ * @param <V> the goal type
+ */
+public final class Interner<V> {
+
+  /**
+   * The capacity of the generated interners.
+   */
+  public static final int DEFAULT_CAPACITY = 4096;
+
+  private final AtomicReferenceArray<Entry<V>> table;
+  private final int mask;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder collected = new LongAdder();
+
+  private static final class Entry<V> extends WeakReference<V> {
+    final int hash;
+    final Object[] key;
+
+    Entry(V value, int hash, Object[] key) {
+      super(value);
+      this.hash = hash;
+      this.key = key;
+    }
+
+    boolean matches(int hash, Object[] key) {
+      return this.hash == hash && Arrays.equals(this.key, key);
+    }
+  }
+
+  /**
+   * @param capacity number of slots, rounded up to a power of two
+   */
+  public Interner(int capacity) {
+    if (capacity <= 0 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("capacity: " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    this.table = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+  }
+
+  /**
+   * @param key goal arguments
+   * @return the canonical instance for these arguments, or {@code null}
+   */
+  public V get(Object[] key) {
+    int hash = hash(key);
+    Entry<V> entry = table.get(hash & mask);
+    if (entry != null && entry.matches(hash, key)) {
+      V value = entry.get();
+      if (value != null) {
+        hits.increment();
+        return value;
+      }
+    }
+    misses.increment();
+    return null;
+  }
+
+  /**
+   * Stores {@code value} as the canonical instance for {@code key},
+   * unless another thread has stored an instance for an equal key in the meantime.
+   *
+   * @param key   goal arguments, must not be modified afterwards
+   * @param value the new instance
+   * @return the canonical instance: either {@code value}, or the instance of the other thread
+   */
+  public V putIfAbsent(Object[] key, V value) {
+    int hash = hash(key);
+    int i = hash & mask;
+    Entry<V> fresh = new Entry<>(value, hash, key);
+    while (true) {
+      Entry<V> entry = table.get(i);
+      V previous = entry == null ? null : entry.get();
+      if (previous != null && entry.matches(hash, key)) {
+        return previous;
+      }
+      if (table.compareAndSet(i, entry, fresh)) {
+        if (entry != null) {
+          (previous == null ? collected : evictions).increment();
+        }
+        return value;
+      }
+    }
+  }
+
+  /**
+   * @return a snapshot of the counters
+   */
+  public Stats stats() {
+    int size = 0;
+    for (int i = 0; i < table.length(); i++) {
+      Entry<V> entry = table.get(i);
+      if (entry != null && entry.get() != null) {
+        size++;
+      }
+    }
+    return new Stats(hits.sum(), misses.sum(), evictions.sum(), collected.sum(), size, table.length());
+  }
+
+  private static int hash(Object[] key) {
+    int h = Arrays.hashCode(key);
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Counters of an {@link Interner}.
+   *
+   * @param hits      lookups that returned a cached instance
+   * @param misses    lookups that did not
+   * @param evictions live entries that were replaced by a different key
+   * @param collected entries that were replaced after their instance had been garbage collected
+   * @param size      entries with a live instance
+   * @param capacity  number of slots
+   */
+  public record Stats(long hits, long misses, long evictions, long collected, int size, int capacity) {
+
+    /**
+     * @return the fraction of lookups that returned a cached instance, or {@code 0} if there were none
+     */
+    public double hitRate() {
+      long lookups = hits + misses;
+      return lookups == 0 ? 0d : (double) hits / lookups;
+    }
+  }
+}
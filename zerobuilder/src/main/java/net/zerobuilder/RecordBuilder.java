@@ -9,4 +9,98 @@ import static java.lang.annotation.RetentionPolicy.SOURCE;
 @Retention(SOURCE)
 @Target(TYPE)
 public @interface RecordBuilder {
+
+  /**
+   * Only relevant if the record has type parameters:
+   * Implement all steps of the generated builder by a single mutable object,
+   * rather than one immutable object per step.
+   * Such a builder instance must not be reused.
+   */
+  boolean mutable() default false;
+
+  /**
+   * Reuse builder instances: A builder instance is released after its final step has been invoked.
+   * Such a builder instance must not be used after that.
+   * Not allowed if the record has type parameters.
+   */
+  boolean reuse() default false;
+
+  /**
+   * Generate a compact builder: Instead of one interface per step,
+   * all steps have the type {@link CompactStep}, and there is only one generated class per goal.
+   * The steps are unnamed, and primitive arguments are boxed.
+   * Each step may be invoked only once, see {@link CompactStep}.
+   * Has no effect if the goal has type parameters or declares exceptions.
+   * The generated code depends on {@link CompactStep} at runtime.
+   */
+  boolean compact() default false;
+
+  /**
+   * Intern the records: The final step looks up the components in a bounded, weakly held {@link Interner},
+   * and returns the cached record if there is one.
+   * The canonical constructor is only invoked if there is no cached record with equal components.
+   * Hit and eviction counts are available from the generated {@code fooBuilderStats()} method.
+   * Has no effect if the record has type parameters.
+   * The generated code depends on {@link Interner} at runtime.
+   */
+  boolean intern() default false;
+
+  /**
+   * Also generate a slot builder, for frameworks that set the arguments by name, in any order.
+   * The static method {@code fooSlots()} returns a new instance of {@code FooSlots}, which has:
+   * <ul>
+   *   <li>{@code static int slot(String name)}: the slot of a parameter, or {@code -1}</li>
+   *   <li>{@code set(int slot, Object value)}: set any argument</li>
+   *   <li>{@code setInt(int slot, int value)} etc.: set a primitive argument without boxing</li>
+   *   <li>{@code build()}: invoke the goal; throws {@link IllegalStateException} if an argument is missing</li>
+   * </ul>
+   * The slot of a parameter is its position in the regular builder.
+   * Has no effect if the record has type parameters.
+   */
+  boolean slots() default false;
+
+  /**
+   * Also generate a flyweight, which reads and writes the records in a {@code java.lang.foreign.MemorySegment}
+   * of fixed-size rows, without creating record instances.
+   * The static method {@code fooFlyweight(segment)} returns a {@code FooFlyweight}, which has:
+   * <ul>
+   *   <li>{@code static MemorySegment allocate(SegmentAllocator allocator, long count)}: space for {@code count} records</li>
+   *   <li>{@code write(long index)}: the first step of a writer, which has the same steps as the builder</li>
+   *   <li>{@code at(long index)} and a getter for each component: read a record in place</li>
+   *   <li>{@code get()}: create the record at the current index</li>
+   * </ul>
+   * All components must be primitive, and must not be named {@code at}, {@code write}, {@code count}, {@code get}
+   * or {@code writer}.
+   * Not allowed if the record has type parameters.
+   * Not allowed if the source version is lower than 22, because the generated code uses {@code java.lang.foreign}.
+   */
+  boolean flyweight() default false;
+
+  /**
+   * Also generate an append-only container that stores the records column by column, in one array per component.
+   * The arrays double in length when they are full.
+   * The static method {@code fooColumns(int capacity)} returns a new instance of {@code FooColumns}, which has:
+   * <ul>
+   *   <li>{@code append()}: the first step of an appender, which has the same steps as the builder;
+   *   the last step adds the row</li>
+   *   <li>{@code size()} and an accessor {@code foo(int row)} for each component</li>
+   *   <li>{@code get(int row)}: create the record in a row</li>
+   *   <li>{@code spliterator()} over the records, and {@code fooSpliterator()} over a column</li>
+   * </ul>
+   * The components must not be named {@code get} or {@code appender}.
+   * Not allowed if the record has type parameters.
+   */
+  boolean columns() default false;
+
+  /**
+   * Also generate a batch builder, which creates many records from columns of components.
+   * The static method {@code fooBatch(int n)} returns the first step of a {@code FooBatch}.
+   * Each step takes a whole column of {@code n} arguments: an array for a primitive parameter,
+   * a {@link java.util.List} otherwise. Lists should be random access.
+   * After the last step, {@code toArray()} or {@code toList()} invokes the canonical constructor once per row.
+   * With {@code parallel()}, batches of at least {@code FooBatch.PARALLEL_THRESHOLD} rows
+   * are split on the common fork/join pool.
+   * Has no effect if the record has type parameters.
+   */
+  boolean batch() default false;
 }
@@ -9,4 +9,32 @@ import static java.lang.annotation.RetentionPolicy.SOURCE;
 @Retention(SOURCE)
 @Target(TYPE)
 public @interface RecordUpdater {
+
+  /**
+   * Reuse updater instances: An updater instance is released after {@code build()} has been invoked.
+   * Such an updater instance must not be used after that.
+   * Not allowed if the record has type parameters.
+   */
+  boolean reuse() default false;
+
+  /**
+   * Preserve identity: If no value was changed, {@code build()} returns the original instance,
+   * rather than a copy of it.
+   * Values are compared with {@code equals}, or {@code ==} for primitives.
+   */
+  boolean preserveIdentity() default false;
+
+  /**
+   * Lazy projections: The updater method does not read any values from the original instance.
+   * Instead, {@code build()} reads only the values that were not changed.
+   * If {@link #preserveIdentity()} is also set, any step invocation counts as a change.
+   */
+  boolean lazy() default false;
+
+  /**
+   * Sparse patches: The updater gets a method {@code patch()}, which returns an immutable patch
+   * that holds only the values that were set.
+   * A patch can be applied to any instance, and merged with a later patch.
+   */
+  boolean patches() default false;
 }
@@ -9,6 +9,9 @@ import static java.lang.annotation.RetentionPolicy.SOURCE;
 
 /**
  * Request builder / updater reuse
+ *
+ * @deprecated This annotation has no effect.
+ * Use {@link Builder#reuse()} and {@link Updater#reuse()} instead.
  */
 @Deprecated(forRemoval = true)
 @Retention(SOURCE)